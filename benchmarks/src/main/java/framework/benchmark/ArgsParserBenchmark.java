@@ -0,0 +1,71 @@
+package framework.benchmark;
+
+import framework.command.parser.ArgsParser;
+import framework.command.parser.OptionTable;
+import framework.command.parser.ParsedArgs;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArgsParserBenchmark {
+
+    @Param({"1", "4", "16"})
+    private int argCount;
+
+    private String[] args;
+
+    private Set<String> options;
+
+    private String line;
+
+    private OptionTable optionTable;
+
+    private ParsedArgs parsedArgs;
+
+    @Setup
+    public void setUp() {
+        args = new String[argCount];
+        options = new HashSet<>();
+        for (int i = 0; i < argCount; i++) {
+            options.add("option" + i);
+            args[i] = String.format("--option%d=value%d", i, i);
+        }
+        line = "command " + String.join(" ", args);
+        optionTable = OptionTable.ofNames(options);
+        parsedArgs = optionTable.newParsedArgs();
+    }
+
+    @Benchmark
+    public Map<String, String> parseArgs() {
+        return ArgsParser.parseArgs(args, options);
+    }
+
+    @Benchmark
+    public ParsedArgs parseByOptionTable() {
+        return optionTable.parse(args, parsedArgs);
+    }
+
+    @Benchmark
+    public String[] tokenize() {
+        return ArgsParser.tokenize(line);
+    }
+}
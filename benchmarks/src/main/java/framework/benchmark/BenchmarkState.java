@@ -0,0 +1,55 @@
+package framework.benchmark;
+
+import framework.state.AbstractApplicationState;
+import framework.state.StateHelper;
+import org.apache.commons.math3.linear.RealMatrix;
+
+/**
+ * State matching benchmark-laboratory.properties
+ */
+public class BenchmarkState extends AbstractApplicationState {
+
+    private Double a;
+
+    private Integer n;
+
+    private RealMatrix m;
+
+    @Override
+    protected void initVariableNameToSettersMap() {
+        variableNameToSetter.put("a", StateHelper.getDoubleSetter("a", this::setA));
+        variableNameToSetter.put("n", StateHelper.getIntegerSetter("n", this::setN));
+        variableNameToSetter.put("m", StateHelper.getRealMatrixSetter("m", this::setM));
+    }
+
+    @Override
+    protected void initVariableNameToGettersMap() {
+        variableNameToGetter.put("a", this::getA);
+        variableNameToGetter.put("n", this::getN);
+        variableNameToGetter.put("m", this::getM);
+    }
+
+    public Double getA() {
+        return a;
+    }
+
+    public void setA(Double a) {
+        this.a = a;
+    }
+
+    public Integer getN() {
+        return n;
+    }
+
+    public void setN(Integer n) {
+        this.n = n;
+    }
+
+    public RealMatrix getM() {
+        return m;
+    }
+
+    public void setM(RealMatrix m) {
+        this.m = m;
+    }
+}
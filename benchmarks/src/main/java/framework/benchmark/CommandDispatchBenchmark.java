@@ -0,0 +1,58 @@
+package framework.benchmark;
+
+import framework.application.Application;
+import framework.console.StreamConsoleIO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures lookup of a command among commandCount registered ones, including parsing of its arguments.
+ * Output goes to a null stream
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CommandDispatchBenchmark {
+
+    private static final String[] ARGS = {"--x=1", "--y=2"};
+
+    @Param({"16", "256"})
+    private int commandCount;
+
+    private Application application;
+
+    private String commandName;
+
+    @Setup
+    public void setUp() {
+        Application.ApplicationBuilder builder =
+                new Application.ApplicationBuilder("/benchmark-laboratory.properties", new BenchmarkState())
+                        .setConsoleIO(new StreamConsoleIO(InputStream.nullInputStream(), OutputStream.nullOutputStream()));
+        for (int i = 0; i < commandCount; i++) {
+            builder.addCommand(new NoOpCommand("command" + i));
+        }
+        application = builder.build();
+        commandName = "command" + (commandCount - 1);
+    }
+
+    @Benchmark
+    public void executeCommand() {
+        application.executeCommand(commandName, ARGS);
+    }
+}
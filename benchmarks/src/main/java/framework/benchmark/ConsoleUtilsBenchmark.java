@@ -0,0 +1,73 @@
+package framework.benchmark;
+
+import framework.console.StreamConsoleIO;
+import framework.utils.ConsoleUtils;
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
+import org.apache.commons.math3.linear.RealMatrix;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Random;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures parsing of vector input and printing of a size x size matrix to a null stream
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConsoleUtilsBenchmark {
+
+    private static final int NUMBERS_AFTER_POINT = 6;
+
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private String numbers;
+
+    private RealMatrix matrix;
+
+    @Setup
+    public void setUp() {
+        ConsoleUtils.setConsoleIO(new StreamConsoleIO(InputStream.nullInputStream(), OutputStream.nullOutputStream()));
+        Random random = new Random(42);
+        StringJoiner joiner = new StringJoiner(" ");
+        for (int i = 0; i < size; i++) {
+            joiner.add(Double.toString(random.nextGaussian()));
+        }
+        numbers = joiner.toString();
+        double[][] data = new double[size][size];
+        for (double[] row : data) {
+            for (int j = 0; j < row.length; j++) {
+                row[j] = random.nextGaussian() * 1000;
+            }
+        }
+        matrix = new Array2DRowRealMatrix(data, false);
+    }
+
+    @Benchmark
+    public double[] convertStringToDoubleArray() {
+        return ConsoleUtils.convertStringToDoubleArray(numbers, size);
+    }
+
+    @Benchmark
+    public void printMatrix() {
+        ConsoleUtils.printMatrix(matrix, NUMBERS_AFTER_POINT);
+        ConsoleUtils.flush();
+    }
+}
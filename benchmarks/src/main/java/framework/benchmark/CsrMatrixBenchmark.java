@@ -0,0 +1,59 @@
+package framework.benchmark;
+
+import framework.matrix.CsrMatrix;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures product of random size x size sparse matrix with rowDensity nonzero entries per row by a vector
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CsrMatrixBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    @Param({"10"})
+    private int rowDensity;
+
+    private CsrMatrix matrix;
+
+    private double[] vector;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        CsrMatrix.Builder builder = new CsrMatrix.Builder(size, size, size * rowDensity);
+        for (int i = 0; i < size; i++) {
+            for (int k = 0; k < rowDensity; k++) {
+                builder.add(i, random.nextInt(size), random.nextDouble());
+            }
+        }
+        matrix = builder.build();
+        vector = new double[size];
+        Arrays.fill(vector, 1);
+    }
+
+    @Benchmark
+    public double[] operate() {
+        return matrix.operate(vector);
+    }
+}
@@ -0,0 +1,72 @@
+package framework.benchmark;
+
+import framework.utils.MatrixUtils;
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
+import org.apache.commons.math3.linear.RealMatrix;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures computing of powers of a random size x size matrix
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MatrixUtilsBenchmark {
+
+    @Param({"10", "100", "300"})
+    private int size;
+
+    @Param({"2", "10", "50"})
+    private int q;
+
+    private RealMatrix matrix;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        double[][] data = new double[size][size];
+        for (double[] row : data) {
+            for (int j = 0; j < row.length; j++) {
+                row[j] = random.nextDouble() / size;
+            }
+        }
+        matrix = new Array2DRowRealMatrix(data, false);
+    }
+
+    @Benchmark
+    public Map<Integer, RealMatrix> getPowerToMatrixInThatPower() {
+        return MatrixUtils.getPowerToMatrixInThatPower(matrix, q);
+    }
+
+    @Benchmark
+    public RealMatrix multiply() {
+        return matrix.multiply(matrix);
+    }
+
+    @Benchmark
+    public RealMatrix multiplyParallel() {
+        return MatrixUtils.multiplyParallel(matrix, matrix);
+    }
+
+    @Benchmark
+    public RealMatrix power() {
+        return MatrixUtils.power(matrix, q);
+    }
+}
@@ -0,0 +1,39 @@
+package framework.benchmark;
+
+import framework.command.AbstractRunnableCommand;
+import framework.command.parser.ParsedArgs;
+
+import javax.annotation.Nonnull;
+import java.util.Set;
+
+/**
+ * Command which only parses its arguments, so dispatch cost is not hidden by the work of the command
+ */
+public class NoOpCommand extends AbstractRunnableCommand {
+
+    private static final Set<String> OPTIONS = Set.of("x", "y");
+
+    public NoOpCommand(String name) {
+        super(name);
+    }
+
+    @Override
+    public void execute(String[] args) {
+        ParsedArgs parsedArgs = parseArgs(args);
+        if (parsedArgs.get("x") == null && parsedArgs.get("y") == null && args.length > 0) {
+            throw new IllegalStateException();
+        }
+    }
+
+    @Nonnull
+    @Override
+    public String getDescription() {
+        return "Does nothing";
+    }
+
+    @Nonnull
+    @Override
+    public Set<String> getOptions() {
+        return OPTIONS;
+    }
+}
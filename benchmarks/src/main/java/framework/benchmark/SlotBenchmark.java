@@ -0,0 +1,66 @@
+package framework.benchmark;
+
+import framework.state.AbstractApplicationState;
+import framework.state.slot.DoubleSlot;
+import framework.state.slot.IntSlot;
+import framework.utils.PropertyUtils;
+import framework.variable.holder.VariableHolder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures access to variables kept in slot store, by slot and by name
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SlotBenchmark {
+
+    private final AbstractApplicationState state = new AbstractApplicationState() {
+    };
+
+    private DoubleSlot doubleSlot;
+
+    private IntSlot intSlot;
+
+    private double doubleValue = 1.5;
+
+    @Setup
+    public void setUp() {
+        VariableHolder holder = new VariableHolder(PropertyUtils.readFromFile("/benchmark-laboratory.properties"));
+        state.setVariableHolder(holder);
+        doubleSlot = holder.getDoubleSlot("a");
+        intSlot = holder.getIntSlot("n");
+    }
+
+    @Benchmark
+    public double setDoubleBySlot() {
+        state.setDouble(doubleSlot, doubleValue);
+        return state.getDouble(doubleSlot);
+    }
+
+    @Benchmark
+    public int incrementIntBySlot() {
+        state.setInt(intSlot, state.getInt(intSlot) + 1);
+        return state.getInt(intSlot);
+    }
+
+    @Benchmark
+    public Object setDoubleByName() {
+        state.setVariable("a", doubleValue);
+        return state.getVariable("a");
+    }
+}
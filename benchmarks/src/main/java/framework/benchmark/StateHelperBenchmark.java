@@ -0,0 +1,69 @@
+package framework.benchmark;
+
+import framework.console.StreamConsoleIO;
+import framework.utils.ConsoleUtils;
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
+import org.apache.commons.math3.linear.RealMatrix;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures setting variables by name through setters created by {@link framework.state.StateHelper}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StateHelperBenchmark {
+
+    private final BenchmarkState state = new BenchmarkState();
+
+    private final RealMatrix matrix = new Array2DRowRealMatrix(2, 2);
+
+    private Double doubleValue = 1.5;
+
+    private Integer integerValue = 7;
+
+    @Setup
+    public void setUp() {
+        ConsoleUtils.setConsoleIO(new StreamConsoleIO(InputStream.nullInputStream(), OutputStream.nullOutputStream()));
+    }
+
+    @Benchmark
+    public Object setDouble() {
+        state.setVariable("a", doubleValue);
+        return state.getA();
+    }
+
+    @Benchmark
+    public Object setInteger() {
+        state.setVariable("n", integerValue);
+        return state.getN();
+    }
+
+    @Benchmark
+    public Object setMatrix() {
+        state.setVariable("m", matrix);
+        return state.getM();
+    }
+
+    @Benchmark
+    public Object setWithInvalidType() {
+        state.setVariable("a", integerValue);
+        return state.getA();
+    }
+}
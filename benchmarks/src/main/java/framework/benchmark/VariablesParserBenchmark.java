@@ -0,0 +1,71 @@
+package framework.benchmark;
+
+import framework.variable.entity.Variable;
+import framework.variable.parser.VariablesParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures parsing of generated properties with variableCount variables of mixed types
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VariablesParserBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    private int variableCount;
+
+    private Properties properties;
+
+    @Setup
+    public void setUp() {
+        properties = new Properties();
+        properties.setProperty("application.name", "benchmark");
+        for (int i = 0; i < variableCount; i++) {
+            String name = "var" + i;
+            String prefix = "variable." + name + ".";
+            properties.setProperty(prefix + "name", name);
+            properties.setProperty(prefix + "description", "Variable number " + i);
+            properties.setProperty(prefix + "constraint-violation-message", "Invalid value of " + name);
+            switch (i % 4) {
+                case 0:
+                    properties.setProperty(prefix + "type", "DOUBLE");
+                    break;
+                case 1:
+                    properties.setProperty(prefix + "type", "VECTOR");
+                    properties.setProperty(prefix + "vector-length", "3");
+                    break;
+                case 2:
+                    properties.setProperty(prefix + "type", "MATRIX");
+                    properties.setProperty(prefix + "matrix-row-count", "3");
+                    properties.setProperty(prefix + "matrix-column-count", "3");
+                    break;
+                default:
+                    properties.setProperty(prefix + "type", "INTEGER");
+                    properties.setProperty(prefix + "cannot-be-set-from-input", "true");
+            }
+        }
+    }
+
+    @Benchmark
+    public Map<String, Variable> getVariableNameToVariable() {
+        return VariablesParser.getVariableNameToVariable(properties);
+    }
+}
@@ -3,60 +3,395 @@ package framework.application;
 import framework.application.info.ApplicationInfoPrinter;
 import framework.command.*;
 import framework.command.holder.CommandHolder;
-import framework.command.holder.CommandHolderAware;
+import framework.command.holder.CommandTrie;
+import framework.command.parser.ArgsParser;
+import framework.command.parser.CommandInvocation;
+import framework.command.parser.OptionTable;
+import framework.command.parser.ParsedArgs;
+import framework.console.ConsoleIO;
 import framework.enums.PropertyName;
 import framework.exception.LaboratoryFrameworkException;
+import framework.job.JobConsoleIO;
+import framework.job.JobManager;
+import framework.metrics.CommandMetrics;
+import framework.metrics.MetricsRegistry;
+import framework.snapshot.StateSnapshot;
 import framework.state.ApplicationState;
-import framework.state.ApplicationStateAware;
 import framework.utils.ConsoleUtils;
 import framework.utils.PropertyUtils;
+import framework.utils.ValidationUtils;
 import framework.variable.holder.VariableHolder;
-import framework.variable.holder.VariableHolderAware;
+import framework.variable.parser.VariablesCache;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.LineNumberReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.NoSuchElementException;
 import java.util.Properties;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 public class Application {
 
-    private final Map<String, RunnableCommand> commands;
+    public static final int EXIT_STATUS_SUCCESS = 0;
+
+    public static final int EXIT_STATUS_FAILURE = 1;
+
+    private static final String SCRIPT_COMMENT_PREFIX = "#";
+
+    /**
+     * Flag that may be added to any command to execute it asynchronously. Jobs share application state
+     * with other commands, so every command which uses the state (see {@link RunnableCommand#isUsingState()})
+     * is executed under the state lock. Job waits while another such command or reloading of properties file
+     * is running, command executed in the foreground fails as busy instead. Commands which only read the state,
+     * like get, do not take the lock and may be executed while a job is running.
+     * Commands of a line take the lock one by one, so another command may run between them
+     */
+    public static final String ASYNC_FLAG = "--async";
+
+    /**
+     * Option through which result of command is piped into the next one
+     */
+    private static final String VARIABLE_OPTION = "var";
+
+    private final CommandTrie<RunnableCommand> dispatchTable;
+
+    private final Map<RunnableCommand, OptionTable> optionTables;
 
     private final Properties applicationProperties;
 
-    private Application(Map<String, RunnableCommand> commands, Properties applicationProperties) {
-        this.commands = commands;
+    private final ConsoleIO consoleIO;
+
+    private final JobManager jobManager;
+
+    private final MetricsRegistry metricsRegistry;
+
+    private final Lock stateLock;
+
+    private Application(CommandTrie<RunnableCommand> dispatchTable, Map<RunnableCommand, OptionTable> optionTables,
+                        Properties applicationProperties, ConsoleIO consoleIO, JobManager jobManager,
+                        MetricsRegistry metricsRegistry, Lock stateLock) {
+        this.dispatchTable = dispatchTable;
+        this.optionTables = optionTables;
         this.applicationProperties = applicationProperties;
+        this.consoleIO = consoleIO;
+        this.jobManager = jobManager;
+        this.metricsRegistry = metricsRegistry;
+        this.stateLock = stateLock;
     }
 
+    /**
+     * Listens for the console input until the end of it is reached
+     */
     public void start() {
         String applicationName = applicationProperties.getProperty(PropertyName.APPLICATION_NAME.getName());
         String leftSideOfCommandLine = String.format("%s ->", applicationName);
         while (true) {
-            ConsoleUtils.print(leftSideOfCommandLine);
-            listenForTheInput();
+            consoleIO.print(leftSideOfCommandLine);
+            consoleIO.flush();
+            if (!listenForTheInput()) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return false if the end of input has been reached
+     */
+    private boolean listenForTheInput() {
+        String line = consoleIO.readLine();
+        if (line == null) {
+            return false;
+        }
+        try {
+            executeLine(line);
+        } catch (LaboratoryFrameworkException e) {
+            consoleIO.println(e.getMessage());
+        } finally {
+            consoleIO.flush();
+        }
+        return true;
+    }
+
+    /**
+     * Executes commands from script file line by line without printing prompt.
+     * Empty lines and lines starting with '#' are skipped
+     *
+     * @param scriptPath - path to script file in UTF-8
+     * @return {@link #EXIT_STATUS_SUCCESS} if all lines were executed without errors,
+     * {@link #EXIT_STATUS_FAILURE} otherwise
+     * @throws LaboratoryFrameworkException if script cannot be read
+     */
+    public int runScript(Path scriptPath) throws LaboratoryFrameworkException {
+        ValidationUtils.requireNonNull(scriptPath, "Script path is not specified");
+        try (BufferedReader reader = Files.newBufferedReader(scriptPath, StandardCharsets.UTF_8)) {
+            return runReader(reader);
+        } catch (IOException e) {
+            throw new LaboratoryFrameworkException(e);
+        }
+    }
+
+    /**
+     * Executes commands from supplied stream line by line without printing prompt.
+     * Stream is read until the end, but not closed.
+     *
+     * @see #runScript(Path)
+     */
+    public int runStream(InputStream inputStream) throws LaboratoryFrameworkException {
+        ValidationUtils.requireNonNull(inputStream, "Input stream is not specified");
+        return runReader(new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Commands read their own input (e.g. values for 'set') from the same reader,
+     * so such input must follow the command in the script and is counted in line numbers of reported failures
+     */
+    private int runReader(BufferedReader reader) {
+        LineNumberReader lineReader = new LineNumberReader(reader);
+        ConsoleIO scriptIO = consoleIO.withInput(lineReader);
+        ConsoleIO previousConsoleIO = ConsoleUtils.getConsoleIO();
+        ConsoleUtils.setConsoleIO(scriptIO);
+        try {
+            return runScriptLines(scriptIO, lineReader);
+        } finally {
+            ConsoleUtils.setConsoleIO(previousConsoleIO);
+            consoleIO.flush();
         }
     }
 
-    private void listenForTheInput() {
-        String input = ConsoleUtils.readLine().trim();
-        if (!input.isEmpty()) {
-            String[] parts = input.split("\\s+");
-            if (parts.length > 0) {
-                String[] args = new String[parts.length - 1];
-                System.arraycopy(parts, 1, args, 0, args.length);
-                executeCommand(parts[0], args);
+    private int runScriptLines(ConsoleIO scriptIO, LineNumberReader lineReader) {
+        int exitStatus = EXIT_STATUS_SUCCESS;
+        String line;
+        while ((line = scriptIO.readLine()) != null) {
+            int lineNumber = lineReader.getLineNumber();
+            if (line.trim().startsWith(SCRIPT_COMMENT_PREFIX)) {
+                continue;
+            }
+            try {
+                if (!executeLine(line)) {
+                    exitStatus = EXIT_STATUS_FAILURE;
+                }
+            } catch (RuntimeException e) {
+                consoleIO.println(String.format("Line %d: %s", lineNumber, e.getMessage()));
+                exitStatus = EXIT_STATUS_FAILURE;
             }
         }
+        return exitStatus;
     }
 
-    public void executeCommand(String commandName, String[] args) {
-        final RunnableCommand runnableCommand = commands.get(commandName);
-        if (runnableCommand == null) {
-            ConsoleUtils.print(String.format("Unknown command: %s%n", commandName));
+    /**
+     * Line may contain several commands separated by {@value ArgsParser#SEQUENCE_OPERATOR} and pipelines joined by
+     * {@value ArgsParser#PIPE_OPERATOR}. The whole line is resolved and validated before the first command is executed,
+     * then it is executed as a single unit, asynchronously if any command has {@link #ASYNC_FLAG}.
+     * Arguments of a single command are validated by the command itself. Unit stops at the first failed command
+     *
+     * @return false if line is invalid, true otherwise
+     * @throws LaboratoryFrameworkException if command executed synchronously has failed
+     */
+    private boolean executeLine(String line) {
+        List<CommandInvocation> invocations;
+        try {
+            invocations = ArgsParser.parseLine(line);
+        } catch (LaboratoryFrameworkException e) {
+            consoleIO.println(e.getMessage());
+            return false;
+        }
+        return execute(invocations);
+    }
+
+    /**
+     * Executes command, asynchronously if {@link #ASYNC_FLAG} is present in args.
+     * Command may be specified by its name, alias or unique prefix of them
+     *
+     * @return false if command is unknown or has failed, failure is printed
+     */
+    public boolean executeCommand(String commandName, String[] args) {
+        try {
+            return execute(List.of(new CommandInvocation(commandName, args, false)));
+        } catch (LaboratoryFrameworkException e) {
+            consoleIO.println(e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean execute(List<CommandInvocation> invocations) {
+        if (invocations.isEmpty()) {
+            return true;
+        }
+        RunnableCommand[] stageCommands = new RunnableCommand[invocations.size()];
+        CommandMetrics[] stageMetrics = new CommandMetrics[invocations.size()];
+        String[][] stageArgs = new String[invocations.size()][];
+        boolean async = false;
+        String previousResult = null;
+        for (int i = 0; i < stageCommands.length; i++) {
+            CommandInvocation invocation = invocations.get(i);
+            RunnableCommand runnableCommand = dispatchTable.find(invocation.getCommandName());
+            if (runnableCommand == null) {
+                printUnknownCommand(invocation.getCommandName());
+                return false;
+            }
+            String[] args = removeAsyncFlag(invocation.getArgs());
+            async |= args != invocation.getArgs();
+            if (stageCommands.length == 1) {
+                stageCommands[i] = runnableCommand;
+                stageArgs[i] = args;
+                break;
+            }
+            try {
+                if (invocation.isPiped()) {
+                    args = pipe(invocations.get(i - 1), previousResult, runnableCommand, args);
+                }
+                ParsedArgs parsedArgs = optionTables.get(runnableCommand).parse(args);
+                previousResult = runnableCommand.getResultVariableName() != null
+                        ? runnableCommand.getResultVariableName()
+                        : getVariableOption(parsedArgs);
+            } catch (LaboratoryFrameworkException e) {
+                consoleIO.println(String.format("%s: %s", runnableCommand.getName(), e.getMessage()));
+                return false;
+            }
+            stageCommands[i] = runnableCommand;
+            stageArgs[i] = args;
+        }
+        for (int i = 0; i < stageCommands.length; i++) {
+            stageMetrics[i] = metricsRegistry.getCommandMetrics(stageCommands[i].getName());
+        }
+        Runnable unit = () -> {
+            for (int i = 0; i < stageCommands.length; i++) {
+                executeTimed(stageCommands[i], stageArgs[i], stageMetrics[i]);
+            }
+        };
+        if (async) {
+            jobManager.submit(toCommandLine(invocations, stageCommands, stageArgs), unit);
+        } else {
+            unit.run();
+        }
+        return true;
+    }
+
+    /**
+     * Execution is recorded as failed if command has thrown exception, the exception is rethrown.
+     * Waiting for the state lock is not included in latency
+     */
+    private void executeTimed(RunnableCommand runnableCommand, String[] args, CommandMetrics metrics) {
+        boolean usingState = runnableCommand.isUsingState();
+        if (usingState) {
+            lockState();
+        }
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            runnableCommand.execute(args);
+            failed = false;
+        } finally {
+            metrics.record(System.nanoTime() - start, failed);
+            if (usingState) {
+                stateLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Job waits for the state lock, command executed in the foreground never parks the console thread
+     *
+     * @throws LaboratoryFrameworkException if state is busy and command is executed in the foreground,
+     *                                      or job has been interrupted while waiting, e.g. it is cancelled
+     */
+    private void lockState() throws LaboratoryFrameworkException {
+        if (stateLock.tryLock()) {
             return;
         }
-        runnableCommand.execute(args);
+        if (JobManager.getCurrentJob() == null) {
+            throw new LaboratoryFrameworkException(
+                    "Application state is busy: try again when running job finishes, wait for it or cancel it");
+        }
+        try {
+            stateLock.lockInterruptibly();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LaboratoryFrameworkException("Waiting for application state has been interrupted", e);
+        }
+    }
+
+    /**
+     * @return args with {@link #VARIABLE_OPTION} set to result of the previous command, unless it is already supplied
+     * @throws LaboratoryFrameworkException if previous command has no result or command cannot receive it
+     */
+    private static String[] pipe(CommandInvocation previous, String previousResult, RunnableCommand command,
+                                 String[] args) throws LaboratoryFrameworkException {
+        String variablePrefix = ArgsParser.OPTION_PREFIX + VARIABLE_OPTION + "=";
+        for (String arg : args) {
+            if (arg.startsWith(variablePrefix)) {
+                return args;
+            }
+        }
+        ValidationUtils.requireNonNull(previousResult,
+                String.format("Command %s has no result to pipe", previous.getCommandName()));
+        ValidationUtils.requireTrue(command.getOptions().contains(VARIABLE_OPTION),
+                String.format("Command %s cannot receive piped variable", command.getName()));
+        String[] out = new String[args.length + 1];
+        out[0] = variablePrefix + previousResult;
+        System.arraycopy(args, 0, out, 1, args.length);
+        return out;
+    }
+
+    private static String getVariableOption(ParsedArgs parsedArgs) {
+        return parsedArgs.getTable().indexOf(VARIABLE_OPTION) < 0 ? null : parsedArgs.get(VARIABLE_OPTION);
+    }
+
+    private static String toCommandLine(List<CommandInvocation> invocations, RunnableCommand[] stageCommands,
+                                        String[][] stageArgs) {
+        StringBuilder out = new StringBuilder();
+        for (int i = 0; i < stageCommands.length; i++) {
+            if (i > 0) {
+                out.append(invocations.get(i).isPiped() ? " | " : "; ");
+            }
+            out.append(stageCommands[i].getName());
+            for (String arg : stageArgs[i]) {
+                out.append(' ').append(arg);
+            }
+        }
+        return out.toString();
+    }
+
+    private void printUnknownCommand(String commandName) {
+        List<String> candidates = dispatchTable.getCandidates(commandName);
+        if (candidates.size() > 1) {
+            consoleIO.print(String.format("Ambiguous command: %s (%s)%n", commandName, String.join(", ", candidates)));
+        } else {
+            consoleIO.print(String.format("Unknown command: %s%n", commandName));
+        }
+    }
+
+    /**
+     * @return the same array if there is no {@link #ASYNC_FLAG} in it, otherwise copy without the flag
+     */
+    private static String[] removeAsyncFlag(String[] args) {
+        int asyncFlagCount = 0;
+        for (String arg : args) {
+            if (ASYNC_FLAG.equals(arg)) {
+                asyncFlagCount++;
+            }
+        }
+        if (asyncFlagCount == 0) {
+            return args;
+        }
+        String[] out = new String[args.length - asyncFlagCount];
+        int i = 0;
+        for (String arg : args) {
+            if (!ASYNC_FLAG.equals(arg)) {
+                out[i++] = arg;
+            }
+        }
+        return out;
     }
 
     public static final class ApplicationBuilder {
@@ -69,6 +404,16 @@ public class Application {
 
         private final Map<String, RunnableCommand> commands = new ConcurrentHashMap<>();
 
+        private final Map<String, String> aliases = new ConcurrentHashMap<>();
+
+        private ConsoleIO consoleIO;
+
+        private Path snapshotToRestore;
+
+        private Path propertiesFile;
+
+        private Path parseCacheDirectory;
+
         public ApplicationBuilder(ApplicationState state) throws LaboratoryFrameworkException {
             this(DEFAULT_PROPERTY_PATH_STRING, state);
         }
@@ -87,31 +432,114 @@ public class Application {
             return this;
         }
 
-        private void injectHolders(Object target, ApplicationState state, VariableHolder variableHolder,
-                                   CommandHolder commandHolder) {
-            if (target instanceof ApplicationStateAware) {
-                ((ApplicationStateAware) target).setApplicationState(state);
-            }
-            if (target instanceof VariableHolderAware) {
-                ((VariableHolderAware) target).setVariableHolder(variableHolder);
-            }
-            if (target instanceof CommandHolderAware) {
-                ((CommandHolderAware) target).setCommandHolder(commandHolder);
-            }
+        /**
+         * @param alias       - another name of command, which may be abbreviated as well as command names
+         * @param commandName - name of command added by {@link #addCommand(RunnableCommand)} or a default one
+         */
+        public ApplicationBuilder addAlias(String alias, String commandName) {
+            ValidationUtils.requireNotEmpty(alias, "Alias must not be empty");
+            ValidationUtils.requireNotEmpty(commandName, "Command name must not be empty");
+            aliases.put(alias, commandName);
+            return this;
+        }
+
+        /**
+         * @param consoleIO - console used by application and all commands, by default {@link ConsoleUtils#getConsoleIO()}
+         */
+        public ApplicationBuilder setConsoleIO(ConsoleIO consoleIO) {
+            ValidationUtils.requireNonNull(consoleIO, "Console must not be null");
+            this.consoleIO = consoleIO;
+            return this;
+        }
+
+        /**
+         * @param snapshotPath - snapshot created by 'snapshot' command, which will be restored
+         *                     on {@link #build()} if the file exists
+         */
+        public ApplicationBuilder setSnapshotToRestore(Path snapshotPath) {
+            ValidationUtils.requireNonNull(snapshotPath, "Snapshot path must not be null");
+            this.snapshotToRestore = snapshotPath;
+            return this;
+        }
+
+        /**
+         * @param propertiesFile - .properties configuration file in file system, which is used instead of
+         *                       the classpath resource and is reloaded on every change
+         */
+        public ApplicationBuilder setPropertiesFile(Path propertiesFile) {
+            ValidationUtils.requireNonNull(propertiesFile, "Properties file must not be null");
+            this.propertiesFile = propertiesFile;
+            return this;
+        }
+
+        /**
+         * @param parseCacheDirectory - directory where parsed variables are cached, see {@link VariablesCache}
+         */
+        public ApplicationBuilder setParseCacheDirectory(Path parseCacheDirectory) {
+            ValidationUtils.requireNonNull(parseCacheDirectory, "Parse cache directory must not be null");
+            this.parseCacheDirectory = parseCacheDirectory;
+            return this;
         }
 
         public Application build() {
-            Properties applicationProperties = PropertyUtils.readFromFile(propertiesPath);
-            final VariableHolder variableHolder = new VariableHolder(applicationProperties);
+            byte[] propertiesContent = propertiesFile == null
+                    ? PropertyUtils.readContentFromFile(propertiesPath)
+                    : PropertyUtils.readContentFromPath(propertiesFile);
+            Properties applicationProperties = PropertyUtils.readFromContent(propertiesContent);
+            final VariableHolder variableHolder = parseCacheDirectory == null
+                    ? new VariableHolder(applicationProperties)
+                    : new VariableHolder(VariablesCache.getVariableNameToVariable(propertiesContent,
+                    applicationProperties, parseCacheDirectory));
             ApplicationInfoPrinter infoPrinter = new ApplicationInfoPrinter(applicationProperties);
+            final ConsoleIO io = wrapForJobs(consoleIO == null ? ConsoleUtils.getConsoleIO() : consoleIO);
+            ConsoleUtils.setConsoleIO(io);
+            final JobManager jobManager = new JobManager(io);
 
             addDefaultCommands(infoPrinter);
-            final CommandHolder commandHolder = new CommandHolder(commands);
+            final CommandHolder commandHolder = new CommandHolder(commands, aliases);
+            final CommandTrie<RunnableCommand> dispatchTable = createDispatchTable();
+
+            final MetricsRegistry metricsRegistry = new MetricsRegistry();
+            final Lock stateLock = new ReentrantLock();
+            final Injector injector = new Injector(variableHolder, commandHolder, io, jobManager, metricsRegistry);
+            injector.inject(state, state);
+            injector.inject(infoPrinter, state);
+            commands.values().forEach(e -> injector.inject(e, state));
+            if (snapshotToRestore != null && Files.exists(snapshotToRestore)) {
+                int count = StateSnapshot.restore(snapshotToRestore, state, variableHolder);
+                io.println(String.format("Restored %d variables from %s", count, snapshotToRestore));
+            }
+            if (propertiesFile != null) {
+                new PropertiesReloader(propertiesFile, applicationProperties, variableHolder, infoPrinter, state, io,
+                        stateLock).start();
+            }
+            Map<RunnableCommand, OptionTable> optionTables = new IdentityHashMap<>();
+            commands.values().forEach(e -> optionTables.put(e, e.getOptionTable()));
+            return new Application(dispatchTable, optionTables, applicationProperties, io, jobManager, metricsRegistry,
+                    stateLock);
+        }
 
-            injectHolders(state, state, variableHolder, commandHolder);
-            injectHolders(infoPrinter, state, variableHolder, commandHolder);
-            commands.values().forEach(e -> injectHolders(e, state, variableHolder, commandHolder));
-            return new Application(commands, applicationProperties);
+        /**
+         * @throws LaboratoryFrameworkException if alias refers to unknown command or hides name of another command
+         */
+        private CommandTrie<RunnableCommand> createDispatchTable() throws LaboratoryFrameworkException {
+            Map<String, RunnableCommand> keyToCommand = new HashMap<>(commands);
+            aliases.forEach((alias, commandName) -> {
+                RunnableCommand command = commands.get(commandName);
+                ValidationUtils.requireNonNull(command,
+                        String.format("Alias %s refers to unknown command %s", alias, commandName));
+                ValidationUtils.requireFalse(commands.containsKey(alias),
+                        String.format("Alias %s is the name of another command", alias));
+                keyToCommand.put(alias, command);
+            });
+            return new CommandTrie<>(keyToCommand);
+        }
+
+        /**
+         * Output of jobs started with {@link #ASYNC_FLAG} is tagged by {@link JobConsoleIO}
+         */
+        private static ConsoleIO wrapForJobs(ConsoleIO io) {
+            return io instanceof JobConsoleIO ? io : new JobConsoleIO(io);
         }
 
         private void addDefaultCommands(ApplicationInfoPrinter infoPrinter) {
@@ -120,6 +548,14 @@ public class Application {
             addCommand(new ExitCommand());
             addCommand(new SetVariableCommand());
             addCommand(new GetVariableCommand());
+            addCommand(new LoadVariableCommand());
+            addCommand(new SaveVariableCommand());
+            addCommand(new SnapshotCommand());
+            addCommand(new RestoreCommand());
+            addCommand(new JobsCommand());
+            addCommand(new WaitCommand());
+            addCommand(new CancelCommand());
+            addCommand(new StatsCommand());
         }
 
     }
@@ -0,0 +1,59 @@
+package framework.application;
+
+import framework.command.holder.CommandHolder;
+import framework.command.holder.CommandHolderAware;
+import framework.console.ConsoleIO;
+import framework.console.ConsoleIOAware;
+import framework.job.JobManager;
+import framework.job.JobManagerAware;
+import framework.metrics.MetricsRegistry;
+import framework.metrics.MetricsRegistryAware;
+import framework.state.ApplicationState;
+import framework.state.ApplicationStateAware;
+import framework.variable.holder.VariableHolder;
+import framework.variable.holder.VariableHolderAware;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Class injects application-wide components into objects that implement corresponding '*Aware' interfaces
+ */
+@Getter
+@RequiredArgsConstructor
+public final class Injector {
+
+    private final VariableHolder variableHolder;
+
+    private final CommandHolder commandHolder;
+
+    private final ConsoleIO consoleIO;
+
+    private final JobManager jobManager;
+
+    private final MetricsRegistry metricsRegistry;
+
+    public void inject(Object target, ApplicationState state) {
+        if (target instanceof ApplicationStateAware) {
+            ((ApplicationStateAware) target).setApplicationState(state);
+        }
+        if (target instanceof VariableHolderAware) {
+            ((VariableHolderAware) target).setVariableHolder(variableHolder);
+        }
+        if (target instanceof CommandHolderAware) {
+            ((CommandHolderAware) target).setCommandHolder(commandHolder);
+        }
+        if (target instanceof ConsoleIOAware) {
+            ((ConsoleIOAware) target).setConsoleIO(consoleIO);
+        }
+        if (target instanceof JobManagerAware) {
+            ((JobManagerAware) target).setJobManager(jobManager);
+        }
+        if (target instanceof MetricsRegistryAware) {
+            ((MetricsRegistryAware) target).setMetricsRegistry(metricsRegistry);
+        }
+        if (target instanceof InjectorAware) {
+            ((InjectorAware) target).setInjector(this);
+        }
+    }
+
+}
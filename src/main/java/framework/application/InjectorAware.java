@@ -0,0 +1,7 @@
+package framework.application;
+
+public interface InjectorAware {
+
+    void setInjector(Injector injector);
+
+}
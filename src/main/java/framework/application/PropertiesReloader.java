@@ -0,0 +1,187 @@
+package framework.application;
+
+import framework.application.info.ApplicationInfoPrinter;
+import framework.console.ConsoleIO;
+import framework.enums.PropertyName;
+import framework.exception.LaboratoryFrameworkException;
+import framework.state.AbstractApplicationState;
+import framework.state.ApplicationState;
+import framework.utils.PropertyUtils;
+import framework.variable.entity.Variable;
+import framework.variable.holder.VariableHolder;
+import framework.variable.parser.VariablesParser;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Watches properties file and applies its changes to the running application. Only 'variable' groups
+ * whose keys or values have changed are parsed again, the new definitions are swapped into {@link VariableHolder}
+ * at once and greeting of {@link ApplicationInfoPrinter} is rebuilt. Values of changed variables are kept
+ * if they are still compatible with the new definitions, otherwise values kept in the slot store are cleared.
+ * If the file cannot be parsed, the current definitions are kept. File is parsed in the watching thread,
+ * but changes are applied under the state lock of application, so they do not interleave with commands
+ */
+final class PropertiesReloader implements Runnable {
+
+    /**
+     * Editors often write file in several steps, so events are collected during this delay before reloading
+     */
+    private static final long SETTLE_DELAY_MILLIS = 100;
+
+    private final Path path;
+
+    private final VariableHolder variableHolder;
+
+    private final ApplicationInfoPrinter infoPrinter;
+
+    private final ApplicationState state;
+
+    private final ConsoleIO consoleIO;
+
+    private final Lock stateLock;
+
+    private Properties current;
+
+    PropertiesReloader(Path path, Properties current, VariableHolder variableHolder, ApplicationInfoPrinter infoPrinter,
+                       ApplicationState state, ConsoleIO consoleIO, Lock stateLock) {
+        this.path = path.toAbsolutePath();
+        this.current = current;
+        this.variableHolder = variableHolder;
+        this.infoPrinter = infoPrinter;
+        this.state = state;
+        this.consoleIO = consoleIO;
+        this.stateLock = stateLock;
+    }
+
+    /**
+     * Starts watching in a daemon thread
+     */
+    void start() {
+        Thread thread = new Thread(this, "properties-reloader");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void run() {
+        try (WatchService watchService = FileSystems.getDefault().newWatchService()) {
+            path.getParent().register(watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            while (!Thread.currentThread().isInterrupted()) {
+                WatchKey key = watchService.take();
+                Thread.sleep(SETTLE_DELAY_MILLIS);
+                boolean changed = isFileChanged(key);
+                for (WatchKey next = watchService.poll(); next != null; next = watchService.poll()) {
+                    changed |= isFileChanged(next);
+                }
+                if (changed) {
+                    reload();
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            consoleIO.println(String.format("Cannot watch %s: %s", path, e.getMessage()));
+        }
+    }
+
+    private boolean isFileChanged(WatchKey key) {
+        boolean out = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW || path.getFileName().equals(event.context())) {
+                out = true;
+            }
+        }
+        key.reset();
+        return out;
+    }
+
+    private void reload() throws InterruptedException {
+        try {
+            Properties reloaded = PropertyUtils.readFromPath(path);
+            Map<String, Map<String, String>> oldGroups = getVariableGroups(current);
+            Map<String, Map<String, String>> newGroups = getVariableGroups(reloaded);
+            Set<String> changedGroups = new TreeSet<>();
+            Set<String> allGroups = new HashSet<>(oldGroups.keySet());
+            allGroups.addAll(newGroups.keySet());
+            for (String group : allGroups) {
+                if (!Objects.equals(oldGroups.get(group), newGroups.get(group))) {
+                    changedGroups.add(group);
+                }
+            }
+            Properties changed = new Properties();
+            for (String group : changedGroups) {
+                newGroups.getOrDefault(group, new HashMap<>()).forEach(changed::setProperty);
+            }
+            Map<String, Variable> parsed = VariablesParser.getVariableNameToVariable(changed);
+            stateLock.lockInterruptibly();
+            try {
+                infoPrinter.reload(reloaded);
+                variableHolder.updateVariables(variables -> {
+                    Map<String, Variable> out = new HashMap<>(variables);
+                    out.keySet().removeAll(changedGroups);
+                    out.putAll(parsed);
+                    return out;
+                });
+                parsed.values().forEach(this::dropIncompatibleValue);
+            } finally {
+                stateLock.unlock();
+            }
+            current = reloaded;
+            if (!changedGroups.isEmpty()) {
+                consoleIO.println(String.format("Reloaded %s, changed variables: %s",
+                        path.getFileName(), String.join(", ", changedGroups)));
+            }
+        } catch (LaboratoryFrameworkException e) {
+            consoleIO.println(String.format("Cannot reload %s: %s", path.getFileName(), e.getMessage()));
+        }
+    }
+
+    private void dropIncompatibleValue(Variable variable) {
+        Object value;
+        try {
+            value = state.getVariable(variable.getName());
+        } catch (LaboratoryFrameworkException e) {
+            return;
+        }
+        if (variable.isCompatibleWith(value)) {
+            return;
+        }
+        if (state instanceof AbstractApplicationState
+                && ((AbstractApplicationState) state).clearVariable(variable.getName())) {
+            consoleIO.println(String.format("Value of %s has been cleared, it does not correspond with new definition",
+                    variable.getName()));
+        } else {
+            consoleIO.println(String.format("Value of %s does not correspond with new definition", variable.getName()));
+        }
+    }
+
+    /**
+     * @return variable name to keys and values of its group
+     */
+    private static Map<String, Map<String, String>> getVariableGroups(Properties properties) {
+        Map<String, Map<String, String>> out = new HashMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            if (key.startsWith(PropertyName.VARIABLE_PREFIX.getName())) {
+                out.computeIfAbsent(PropertyName.extractVariableName(key), k -> new HashMap<>())
+                        .put(key, properties.getProperty(key));
+            }
+        }
+        return out;
+    }
+}
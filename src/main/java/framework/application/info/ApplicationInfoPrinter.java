@@ -3,10 +3,11 @@ package framework.application.info;
 import framework.command.NamedCommand;
 import framework.command.holder.CommandHolder;
 import framework.command.holder.CommandHolderAware;
+import framework.console.ConsoleIO;
+import framework.console.ConsoleIOAware;
 import framework.enums.PropertyName;
 import framework.enums.VariableType;
 import framework.exception.LaboratoryFrameworkException;
-import framework.utils.ConsoleUtils;
 import framework.utils.ValidationUtils;
 import framework.variable.entity.MatrixVariable;
 import framework.variable.entity.Variable;
@@ -15,33 +16,48 @@ import framework.variable.holder.VariableHolder;
 import framework.variable.holder.VariableHolderAware;
 import lombok.Setter;
 
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
+import java.util.TreeMap;
 
 /**
  * Class is created to build and print greeting and manual
  */
 @Setter
-public class ApplicationInfoPrinter implements CommandHolderAware, VariableHolderAware {
+public class ApplicationInfoPrinter implements CommandHolderAware, VariableHolderAware, ConsoleIOAware {
 
-    private final String greeting;
+    private volatile String greeting;
 
     private CommandHolder commandHolder;
 
     private VariableHolder variableHolder;
 
+    private ConsoleIO consoleIO;
+
     public ApplicationInfoPrinter(Properties applicationProperties) {
         this.greeting = buildGreeting(applicationProperties);
     }
 
+    /**
+     * Rebuilds greeting from reloaded properties, variables are always taken from {@link VariableHolder}
+     *
+     * @throws LaboratoryFrameworkException if any 'application' parameter in properties is null or empty
+     */
+    public void reload(Properties applicationProperties) throws LaboratoryFrameworkException {
+        this.greeting = buildGreeting(applicationProperties);
+    }
+
     public void printManual() {
-        ConsoleUtils.println(buildManual());
+        consoleIO.println(buildManual());
     }
 
     public void printGreeting() {
-        ConsoleUtils.println(this.greeting);
+        consoleIO.println(this.greeting);
     }
 
     private String buildGreeting(Properties applicationProperties) {
@@ -106,7 +122,8 @@ public class ApplicationInfoPrinter implements CommandHolderAware, VariableHolde
             if (length > 0) {
                 destination.append(String.format("\tLength: %d%n", length));
             }
-        } else if (variable.getType() == VariableType.MATRIX && Objects.equals(variable.getClass(), MatrixVariable.class)) {
+        } else if ((variable.getType() == VariableType.MATRIX || variable.getType() == VariableType.SPARSE_MATRIX)
+                && Objects.equals(variable.getClass(), MatrixVariable.class)) {
             int rowCount = ((MatrixVariable) variable).getRowCount();
             if (rowCount > 0) {
                 destination.append(String.format("\tRow count: %d%n", rowCount));
@@ -123,12 +140,19 @@ public class ApplicationInfoPrinter implements CommandHolderAware, VariableHolde
      */
     private void appendCommandsPart(StringBuilder destination, CommandHolder commandHolder) {
         Map<String, ? extends NamedCommand> commands = commandHolder.getCommands();
+        Map<String, List<String>> commandNameToAliases = new HashMap<>();
+        new TreeMap<>(commandHolder.getAliases()).forEach((alias, commandName) ->
+                commandNameToAliases.computeIfAbsent(commandName, k -> new ArrayList<>()).add(alias));
         destination.append(String.format("Commands:%n"));
         commands.values().stream()
                 .sorted(Comparator.comparing(NamedCommand::getName))
                 .forEach(e -> {
                     destination.append(String.format("* %s:%n", e.getName()));
                     destination.append(String.format("\tDescription: %s%n", e.getDescription()));
+                    List<String> aliases = commandNameToAliases.get(e.getName());
+                    if (aliases != null) {
+                        destination.append(String.format("\tAliases: %s%n", String.join(", ", aliases)));
+                    }
                     if (!e.getOptions().isEmpty()) {
                         destination.append(String.format("\tOptions: %s%n", String.join(", ", e.getOptions())));
                     }
@@ -2,32 +2,48 @@ package framework.command;
 
 import framework.command.holder.CommandHolder;
 import framework.command.holder.CommandHolderAware;
-import framework.command.parser.ArgsParser;
+import framework.command.parser.OptionTable;
+import framework.command.parser.ParsedArgs;
+import framework.console.ConsoleIO;
+import framework.console.ConsoleIOAware;
 import framework.state.ApplicationState;
 import framework.state.ApplicationStateAware;
 import framework.utils.ValidationUtils;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 
-import java.util.Map;
-
 @Getter
 @Setter
 @RequiredArgsConstructor
 public abstract class AbstractRunnableCommand
-        implements RunnableCommand, ApplicationStateAware, CommandHolderAware {
+        implements RunnableCommand, ApplicationStateAware, CommandHolderAware, ConsoleIOAware {
 
     protected CommandHolder commandHolder;
 
     protected ApplicationState applicationState;
 
+    protected ConsoleIO consoleIO;
+
     private final String name;
 
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private OptionTable compiledOptions;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final ThreadLocal<ParsedArgs> parsedArgs = ThreadLocal.withInitial(() -> compiledOptions.newParsedArgs());
+
+    /**
+     * Holder is injected once, when application is built, so options are compiled here
+     */
     @Override
     public void setCommandHolder(CommandHolder holder) {
         ValidationUtils.requireNonNull(holder);
         this.commandHolder = holder;
+        this.compiledOptions = getOptionTable();
     }
 
     @Override
@@ -36,10 +52,17 @@ public abstract class AbstractRunnableCommand
         this.applicationState = state;
     }
 
-    protected final Map<String, String> parseArgs (String[] args) {
-        ValidationUtils.requireNonNull(commandHolder, "Command holder is not injected");
-        NamedCommand command = commandHolder.getCommand(name);
-        ValidationUtils.requireNonNull(command, String.format("No such command: %s", name));
-        return ArgsParser.parseArgs(args, command.getOptions());
+    @Override
+    public void setConsoleIO(ConsoleIO consoleIO) {
+        ValidationUtils.requireNonNull(consoleIO);
+        this.consoleIO = consoleIO;
+    }
+
+    /**
+     * @return arguments parsed by {@link #getOptionTable()}, structure is reused by the next call in the same thread
+     */
+    protected final ParsedArgs parseArgs(String[] args) {
+        ValidationUtils.requireNonNull(compiledOptions, "Command holder is not injected");
+        return compiledOptions.parse(args, parsedArgs.get());
     }
 }
@@ -0,0 +1,81 @@
+package framework.command;
+
+import framework.command.parser.OptionSpec;
+import framework.command.parser.OptionTable;
+import framework.command.parser.ParsedArgs;
+import framework.enums.OptionType;
+import framework.exception.LaboratoryFrameworkException;
+import framework.job.Job;
+import framework.job.JobManager;
+import framework.job.JobManagerAware;
+import framework.utils.ValidationUtils;
+import lombok.Setter;
+
+import javax.annotation.Nonnull;
+import java.util.Set;
+
+@Setter
+public class CancelCommand extends AbstractRunnableCommand
+        implements JobManagerAware {
+
+    private static final OptionTable OPTIONS = new OptionTable(
+            new OptionSpec("job", OptionType.INTEGER));
+
+    private JobManager jobManager;
+
+    public CancelCommand() {
+        super("cancel");
+    }
+
+    @Override
+    public void execute(String[] args) {
+        assertFieldsArePresent();
+        ParsedArgs parsedArgs = parseArgs(args);
+        if (!parsedArgs.isPresent("job")) {
+            throw new LaboratoryFrameworkException(getConstraintViolationMessage());
+        }
+        int jobId = parsedArgs.getInt("job");
+        Job job = jobManager.getJob(jobId);
+        if (job == null) {
+            throw new LaboratoryFrameworkException(String.format("Unknown job: %s", jobId));
+        }
+        if (!jobManager.cancel(job)) {
+            consoleIO.println(String.format("%sis already %s", job.getTag(), job.getStatus()));
+        }
+    }
+
+    @Override
+    public boolean isUsingState() {
+        return false;
+    }
+
+    @Nonnull
+    @Override
+    public String getDescription() {
+        return "Cancels job by interrupting it. Example: cancel --job=1";
+    }
+
+    @Nonnull
+    @Override
+    public Set<String> getOptions() {
+        return OPTIONS.getNames();
+    }
+
+    @Nonnull
+    @Override
+    public OptionTable getOptionTable() {
+        return OPTIONS;
+    }
+
+    @Nonnull
+    @Override
+    public String getConstraintViolationMessage() {
+        return "Command requires 1 argument: the id of job to be cancelled";
+    }
+
+    private void assertFieldsArePresent() throws LaboratoryFrameworkException {
+        ValidationUtils.requireNonNull(jobManager, "Job manager must not be null");
+        ValidationUtils.requireNonNull(commandHolder, "Command holder must not be null");
+        ValidationUtils.requireNonNull(consoleIO, "Console must not be null");
+    }
+}
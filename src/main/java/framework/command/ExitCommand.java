@@ -1,16 +1,31 @@
 package framework.command;
 
+import framework.console.ConsoleIO;
+import framework.console.ConsoleIOAware;
+import lombok.Setter;
+
 import javax.annotation.Nonnull;
 
-public class ExitCommand implements RunnableCommand {
+@Setter
+public class ExitCommand implements RunnableCommand, ConsoleIOAware {
 
     private static final String NAME = "exit";
 
+    private ConsoleIO consoleIO;
+
     @Override
     public void execute(String[] args) {
+        if (consoleIO != null) {
+            consoleIO.flush();
+        }
         System.exit(0);
     }
 
+    @Override
+    public boolean isUsingState() {
+        return false;
+    }
+
     @Nonnull
     @Override
     public String getName() {
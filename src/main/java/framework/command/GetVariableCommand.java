@@ -1,14 +1,15 @@
 package framework.command;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
+import framework.command.parser.OptionSpec;
+import framework.command.parser.OptionTable;
+import framework.command.parser.ParsedArgs;
+import framework.enums.OptionType;
 import framework.enums.VariableType;
 import framework.exception.LaboratoryFrameworkException;
+import framework.matrix.CsrMatrix;
 import framework.utils.ConsoleUtils;
-import framework.utils.ConverterUtils;
+import framework.utils.JsonUtils;
 import framework.utils.ValidationUtils;
-import framework.variable.entity.Variable;
 import framework.variable.holder.VariableHolder;
 import framework.variable.holder.VariableHolderAware;
 import lombok.Setter;
@@ -17,8 +18,6 @@ import org.apache.commons.math3.linear.RealMatrix;
 import org.apache.commons.math3.linear.RealVector;
 
 import javax.annotation.Nonnull;
-import java.util.HashSet;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 
@@ -26,6 +25,15 @@ import java.util.Set;
 public class GetVariableCommand extends AbstractRunnableCommand
         implements VariableHolderAware {
 
+    private static final String FORMAT_TEXT = "text";
+
+    private static final String FORMAT_JSON = "json";
+
+    private static final OptionTable OPTIONS = new OptionTable(
+            new OptionSpec("var"),
+            new OptionSpec("precision", OptionType.INTEGER, "3"),
+            new OptionSpec("format", OptionType.STRING, FORMAT_TEXT));
+
     private VariableHolder variableHolder;
 
     public GetVariableCommand() {
@@ -35,32 +43,45 @@ public class GetVariableCommand extends AbstractRunnableCommand
     @Override
     public void execute(String[] args) {
         assertFieldsArePresent();
-        try {
-            Map<String, String> parsedArgs = parseArgs(args);
-            String variableName = parsedArgs.get("var");
-            if (assertVariableIsKnown(variableName)) {
-                Object value = applicationState.getVariable(variableName);
-                int precision = getPrecision(parsedArgs);
-                printVariable(variableName, precision, value);
-            }
-        } catch (LaboratoryFrameworkException ex) {
-            ConsoleUtils.println(ex.getMessage());
+        ParsedArgs parsedArgs = parseArgs(args);
+        String variableName = parsedArgs.get("var");
+        assertVariableIsKnown(variableName);
+        Object value = applicationState.getVariable(variableName);
+        String format = parsedArgs.get("format");
+        if (FORMAT_JSON.equals(format)) {
+            printJson(value);
+        } else if (FORMAT_TEXT.equals(format)) {
+            printVariable(variableName, parsedArgs.getInt("precision"), value);
+        } else {
+            throw new LaboratoryFrameworkException(String.format("Unknown format: %s", format));
         }
     }
 
+    /**
+     * Variable is only read, so it may be inspected while a job is computing
+     */
+    @Override
+    public boolean isUsingState() {
+        return false;
+    }
+
     @Nonnull
     @Override
     public String getDescription() {
-        return "Returns value of variable with supplied name. Example: get variable-name";
+        return "Returns value of variable with supplied name, --format=json prints it as JSON. "
+                + "Example: get variable-name";
     }
 
     @Nonnull
     @Override
     public Set<String> getOptions() {
-        Set<String> options = new HashSet<>();
-        options.add("var");
-        options.add("precision");
-        return options;
+        return OPTIONS.getNames();
+    }
+
+    @Nonnull
+    @Override
+    public OptionTable getOptionTable() {
+        return OPTIONS;
     }
 
     @Nonnull
@@ -69,18 +90,12 @@ public class GetVariableCommand extends AbstractRunnableCommand
         return "Command requires 1 argument: the name of variable to get";
     }
 
-    private boolean assertVariableIsKnown(String variableName) {
+    private void assertVariableIsKnown(String variableName) throws LaboratoryFrameworkException {
         if (variableName == null) {
             NamedCommand runnableCommand = commandHolder.getCommand("get");
-            ConsoleUtils.println(runnableCommand.getConstraintViolationMessage());
-            return false;
+            throw new LaboratoryFrameworkException(runnableCommand.getConstraintViolationMessage());
         }
-        Variable variable = variableHolder.getVariable(variableName);
-        if (variable == null) {
-            ConsoleUtils.println("Unknown variable");
-            return false;
-        }
-        return true;
+        ValidationUtils.requireNonNull(variableHolder.getVariable(variableName), "Unknown variable");
     }
 
     private void printVariable(String variableName, int precision, Object value) {
@@ -90,6 +105,10 @@ public class GetVariableCommand extends AbstractRunnableCommand
             ConsoleUtils.printInterval(interval);
             return;
         }
+        if (value instanceof CsrMatrix) {
+            ConsoleUtils.printSparseMatrix((CsrMatrix) value, precision);
+            return;
+        }
         if (value instanceof RealMatrix) {
             RealMatrix matrix = (RealMatrix) value;
             ConsoleUtils.printMatrix(matrix, precision);
@@ -101,29 +120,32 @@ public class GetVariableCommand extends AbstractRunnableCommand
             return;
         }
         if (variableHolder.getVariable(variableName).getType() == VariableType.OBJECT) {
-            ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
-            try {
-                String s = objectMapper.writeValueAsString(value);
-                ConsoleUtils.println(s);
-                return;
-            } catch (JsonProcessingException e) {
-                throw new LaboratoryFrameworkException(e);
-            }
+            JsonUtils.writeValue(consoleIO.asWriter(), value);
+            return;
         }
-        ConsoleUtils.println(String.format("%s = %s", variableName, value));
+        consoleIO.println(String.format("%s = %s", variableName, value));
     }
 
-    private int getPrecision(Map<String, String> parsedArgs) {
-        String precision = parsedArgs.get("precision");
-        if (precision == null) {
-            return 3;
+    /**
+     * Matrices and vectors are printed as arrays of numbers with full precision, other values by Jackson
+     */
+    private void printJson(Object value) {
+        ValidationUtils.requireNonNull(value);
+        if (value instanceof CsrMatrix) {
+            JsonUtils.writeSparseMatrix(consoleIO.asWriter(), (CsrMatrix) value);
+        } else if (value instanceof RealMatrix) {
+            JsonUtils.writeMatrix(consoleIO.asWriter(), (RealMatrix) value);
+        } else if (value instanceof RealVector) {
+            JsonUtils.writeVector(consoleIO.asWriter(), (RealVector) value);
+        } else {
+            JsonUtils.writeValue(consoleIO.asWriter(), value);
         }
-        return ConverterUtils.integerFromString(precision);
     }
 
     private void assertFieldsArePresent() throws LaboratoryFrameworkException {
         ValidationUtils.requireNonNull(variableHolder, "Variable holder must not be null");
         ValidationUtils.requireNonNull(applicationState, "Application state must not be null");
         ValidationUtils.requireNonNull(commandHolder, "Command holder must not be null");
+        ValidationUtils.requireNonNull(consoleIO, "Console must not be null");
     }
 }
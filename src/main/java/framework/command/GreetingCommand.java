@@ -17,6 +17,11 @@ public class GreetingCommand implements RunnableCommand {
         infoPrinter.printGreeting();
     }
 
+    @Override
+    public boolean isUsingState() {
+        return false;
+    }
+
     @Nonnull
     @Override
     public String getName() {
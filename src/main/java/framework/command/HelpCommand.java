@@ -16,6 +16,11 @@ public class HelpCommand implements RunnableCommand {
         infoPrinter.printManual();
     }
 
+    @Override
+    public boolean isUsingState() {
+        return false;
+    }
+
     @Nonnull
     @Override
     public String getName() {
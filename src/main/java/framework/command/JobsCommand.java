@@ -0,0 +1,53 @@
+package framework.command;
+
+import framework.exception.LaboratoryFrameworkException;
+import framework.job.Job;
+import framework.job.JobManager;
+import framework.job.JobManagerAware;
+import framework.utils.ValidationUtils;
+import lombok.Setter;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+
+@Setter
+public class JobsCommand extends AbstractRunnableCommand
+        implements JobManagerAware {
+
+    private JobManager jobManager;
+
+    public JobsCommand() {
+        super("jobs");
+    }
+
+    @Override
+    public void execute(String[] args) {
+        assertFieldsArePresent();
+        List<Job> jobs = jobManager.getJobs();
+        if (jobs.isEmpty()) {
+            consoleIO.println("No jobs");
+            return;
+        }
+        for (Job job : jobs) {
+            String progress = job.getProgress() < 0 ? "-" : String.format("%.1f%%", job.getProgress() * 100);
+            consoleIO.println(String.format("%d\t%s\t%s\t%d ms\t%s", job.getId(), job.getStatus(), progress,
+                    job.getElapsedMillis(), job.getCommandLine()));
+        }
+    }
+
+    @Override
+    public boolean isUsingState() {
+        return false;
+    }
+
+    @Nonnull
+    @Override
+    public String getDescription() {
+        return "Prints id, status, progress, elapsed time and command of every job started with --async flag";
+    }
+
+    private void assertFieldsArePresent() throws LaboratoryFrameworkException {
+        ValidationUtils.requireNonNull(jobManager, "Job manager must not be null");
+        ValidationUtils.requireNonNull(consoleIO, "Console must not be null");
+    }
+}
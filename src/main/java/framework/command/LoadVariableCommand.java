@@ -0,0 +1,103 @@
+package framework.command;
+
+import framework.command.parser.OptionSpec;
+import framework.command.parser.OptionTable;
+import framework.command.parser.ParsedArgs;
+import framework.enums.VariableType;
+import framework.exception.LaboratoryFrameworkException;
+import framework.utils.ConverterUtils;
+import framework.utils.MatrixMarketUtils;
+import framework.utils.NpyUtils;
+import framework.utils.ValidationUtils;
+import framework.variable.entity.MatrixVariable;
+import framework.variable.entity.Variable;
+import framework.variable.entity.VectorVariable;
+import framework.variable.holder.VariableHolder;
+import framework.variable.holder.VariableHolderAware;
+import lombok.Setter;
+
+import javax.annotation.Nonnull;
+import java.nio.file.Path;
+import java.util.Set;
+
+@Setter
+public class LoadVariableCommand extends AbstractRunnableCommand
+        implements VariableHolderAware {
+
+    private static final OptionTable OPTIONS = new OptionTable(
+            new OptionSpec("var"),
+            new OptionSpec("file"));
+
+    private VariableHolder variableHolder;
+
+    public LoadVariableCommand() {
+        super("load");
+    }
+
+    @Override
+    public void execute(String[] args) {
+        assertFieldsArePresent();
+        ParsedArgs parsedArgs = parseArgs(args);
+        String variableName = parsedArgs.get("var");
+        String file = parsedArgs.get("file");
+        if (variableName == null || file == null) {
+            throw new LaboratoryFrameworkException(getConstraintViolationMessage());
+        }
+        Variable variable = variableHolder.getVariable(variableName);
+        if (variable == null) {
+            throw new LaboratoryFrameworkException("Unknown variable");
+        }
+        if (variable.isCannotBeSetFromInput()) {
+            throw new LaboratoryFrameworkException("You cannot set this variable from input");
+        }
+        applicationState.setVariable(variableName, readValue(variable, ConverterUtils.pathFromString(file)));
+    }
+
+    @Nonnull
+    @Override
+    public String getDescription() {
+        return "Loads value of MATRIX or VECTOR variable from .npy file or SPARSE_MATRIX variable "
+                + "from Matrix Market file. Example: load --var=variable-name --file=path";
+    }
+
+    @Nonnull
+    @Override
+    public Set<String> getOptions() {
+        return OPTIONS.getNames();
+    }
+
+    @Nonnull
+    @Override
+    public OptionTable getOptionTable() {
+        return OPTIONS;
+    }
+
+    @Nonnull
+    @Override
+    public String getConstraintViolationMessage() {
+        return "Command requires 2 arguments: the name of variable to be loaded and the path to file";
+    }
+
+    private Object readValue(Variable variable, Path path) throws LaboratoryFrameworkException {
+        if (variable.getType() == VariableType.MATRIX) {
+            MatrixVariable matrixVariable = (MatrixVariable) variable;
+            return NpyUtils.readMatrix(path, matrixVariable.getRowCount(), matrixVariable.getColumnCount());
+        }
+        if (variable.getType() == VariableType.SPARSE_MATRIX) {
+            MatrixVariable matrixVariable = (MatrixVariable) variable;
+            return MatrixMarketUtils.readMatrix(path, matrixVariable.getRowCount(), matrixVariable.getColumnCount());
+        }
+        if (variable.getType() == VariableType.VECTOR) {
+            VectorVariable vectorVariable = (VectorVariable) variable;
+            return NpyUtils.readVector(path, vectorVariable.getLength());
+        }
+        throw new LaboratoryFrameworkException("Only MATRIX, SPARSE_MATRIX and VECTOR variables can be loaded");
+    }
+
+    private void assertFieldsArePresent() throws LaboratoryFrameworkException {
+        ValidationUtils.requireNonNull(variableHolder, "Variable holder must not be null");
+        ValidationUtils.requireNonNull(applicationState, "Application state must not be null");
+        ValidationUtils.requireNonNull(commandHolder, "Command holder must not be null");
+        ValidationUtils.requireNonNull(consoleIO, "Console must not be null");
+    }
+}
@@ -0,0 +1,18 @@
+package framework.command;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+
+/**
+ * Command whose outputs depend only on its arguments and values of input variables,
+ * so it can be wrapped by {@link MemoizingCommand}
+ */
+public interface MemoizableCommand extends RunnableCommand {
+
+    @Nonnull
+    List<String> getInputVariableNames();
+
+    @Nonnull
+    List<String> getOutputVariableNames();
+
+}
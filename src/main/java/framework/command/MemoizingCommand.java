@@ -0,0 +1,289 @@
+package framework.command;
+
+import framework.application.Injector;
+import framework.application.InjectorAware;
+import framework.command.parser.OptionTable;
+import framework.console.ConsoleIO;
+import framework.console.ConsoleIOAware;
+import framework.exception.LaboratoryFrameworkException;
+import framework.state.AbstractApplicationState;
+import framework.state.ApplicationState;
+import framework.state.ApplicationStateAware;
+import framework.utils.HashUtils;
+import framework.utils.ValidationUtils;
+import org.apache.commons.math3.linear.RealMatrix;
+import org.apache.commons.math3.linear.RealVector;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Wraps {@link MemoizableCommand} and replays its outputs into the state instead of executing it,
+ * if it has already been executed with the same arguments and values of input variables.
+ * Values are compared by contents, see {@link HashUtils}. At most maxSize results are kept,
+ * the least recently used one is evicted first.
+ * Results are kept only if state is {@link AbstractApplicationState}, whose sets of variables are tracked.
+ * Delegate reports failure by throwing {@link LaboratoryFrameworkException} (see {@link RunnableCommand#execute}),
+ * then nothing is cached and {@link #lastKey} stays null, so the next call executes it again.
+ * Outputs of a call which has returned normally are kept only if the delegate has set every one of them
+ * during the call, otherwise some of them would be values left by an earlier call.
+ * Repeated execution without changes of inputs does not even hash them,
+ * therefore values of variables must be replaced by setVariable, not mutated in place.
+ * With other states the delegate is always executed
+ */
+@ThreadSafe
+public class MemoizingCommand implements RunnableCommand, ApplicationStateAware, ConsoleIOAware, InjectorAware {
+
+    private final MemoizableCommand delegate;
+
+    private final Set<String> inputNames;
+
+    private final Set<String> outputNames;
+
+    private final Map<Key, Object[]> cache;
+
+    private final Consumer<String> variableListener = this::onVariableSet;
+
+    private ApplicationState applicationState;
+
+    private ConsoleIO consoleIO;
+
+    /**
+     * Whether outputs in the state may not correspond with inputs and arguments of {@link #lastKey}
+     */
+    private volatile boolean stateChanged = true;
+
+    /**
+     * Thread that writes outputs of the delegate, its writes of outputs do not change the state
+     */
+    private volatile Thread outputWriter;
+
+    private Key lastKey;
+
+    /**
+     * Whether state notifies {@link #variableListener}, without it neither changes nor written outputs are known
+     */
+    private volatile boolean tracking;
+
+    /**
+     * Outputs set by the delegate during the current execution, accessed only by {@link #outputWriter}
+     */
+    private final Set<String> writtenOutputs = new HashSet<>();
+
+    /**
+     * @param maxSize - max count of kept results
+     */
+    public MemoizingCommand(MemoizableCommand delegate, int maxSize) {
+        ValidationUtils.requireNonNull(delegate, "Command must not be null");
+        ValidationUtils.requireGreaterThan(maxSize, 0, "Max size of cache must be > 0");
+        this.delegate = delegate;
+        this.inputNames = new HashSet<>(delegate.getInputVariableNames());
+        this.outputNames = new HashSet<>(delegate.getOutputVariableNames());
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Object[]> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    @Override
+    public synchronized void execute(String[] args) {
+        ValidationUtils.requireNonNull(applicationState, "Application state must not be null");
+        ValidationUtils.requireNonNull(consoleIO, "Console must not be null");
+        if (!tracking) {
+            delegate.execute(args);
+            return;
+        }
+        if (!stateChanged && lastKey != null && Arrays.equals(lastKey.args, args)) {
+            consoleIO.println(String.format("Inputs of %s have not changed, results are up to date", getName()));
+            return;
+        }
+        stateChanged = false;
+        lastKey = null;
+        Key key = new Key(args.clone(), readVariables(delegate.getInputVariableNames()));
+        Object[] outputs = cache.get(key);
+        writtenOutputs.clear();
+        outputWriter = Thread.currentThread();
+        try {
+            if (outputs != null) {
+                replay(outputs);
+                consoleIO.println(String.format("Results of %s have been replayed from cache", getName()));
+            } else {
+                delegate.execute(args);
+                if (!writtenOutputs.containsAll(outputNames)) {
+                    return;
+                }
+                outputs = readVariables(delegate.getOutputVariableNames());
+                cache.put(key, outputs);
+            }
+            lastKey = key;
+        } finally {
+            outputWriter = null;
+        }
+    }
+
+    /**
+     * Removes all kept results
+     */
+    public synchronized void clear() {
+        cache.clear();
+        lastKey = null;
+    }
+
+    public synchronized int size() {
+        return cache.size();
+    }
+
+    @Nonnull
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Nonnull
+    @Override
+    public String getDescription() {
+        return delegate.getDescription();
+    }
+
+    @Nonnull
+    @Override
+    public Set<String> getOptions() {
+        return delegate.getOptions();
+    }
+
+    @Nonnull
+    @Override
+    public OptionTable getOptionTable() {
+        return delegate.getOptionTable();
+    }
+
+    @Nullable
+    @Override
+    public String getResultVariableName() {
+        return delegate.getResultVariableName();
+    }
+
+    @Nonnull
+    @Override
+    public String getConstraintViolationMessage() {
+        return delegate.getConstraintViolationMessage();
+    }
+
+    @Override
+    public void setApplicationState(ApplicationState state) {
+        ValidationUtils.requireNonNull(state);
+        if (applicationState instanceof AbstractApplicationState) {
+            ((AbstractApplicationState) applicationState).removeVariableListener(variableListener);
+        }
+        this.applicationState = state;
+        this.tracking = state instanceof AbstractApplicationState;
+        if (tracking) {
+            ((AbstractApplicationState) state).addVariableListener(variableListener);
+        }
+    }
+
+    @Override
+    public void setConsoleIO(ConsoleIO consoleIO) {
+        ValidationUtils.requireNonNull(consoleIO);
+        this.consoleIO = consoleIO;
+    }
+
+    /**
+     * Injects application components into the wrapped command
+     */
+    @Override
+    public void setInjector(Injector injector) {
+        ValidationUtils.requireNonNull(injector);
+        ValidationUtils.requireNonNull(applicationState, "Application state must be injected before injector");
+        injector.inject(delegate, applicationState);
+    }
+
+    private void onVariableSet(String variableName) {
+        boolean writtenByDelegate = outputWriter == Thread.currentThread();
+        if (outputNames.contains(variableName) && writtenByDelegate) {
+            writtenOutputs.add(variableName);
+        }
+        if (inputNames.contains(variableName) || outputNames.contains(variableName) && !writtenByDelegate) {
+            stateChanged = true;
+        }
+    }
+
+    private Object[] readVariables(List<String> variableNames) throws LaboratoryFrameworkException {
+        Object[] out = new Object[variableNames.size()];
+        for (int i = 0; i < out.length; i++) {
+            out[i] = copyIfMutable(applicationState.getVariable(variableNames.get(i)));
+        }
+        return out;
+    }
+
+    private void replay(Object[] outputs) {
+        List<String> outputVariableNames = delegate.getOutputVariableNames();
+        for (int i = 0; i < outputs.length; i++) {
+            applicationState.setVariable(outputVariableNames.get(i), copyIfMutable(outputs[i]));
+        }
+    }
+
+    private static Object copyIfMutable(Object value) {
+        if (value instanceof RealMatrix) {
+            return ((RealMatrix) value).copy();
+        }
+        if (value instanceof RealVector) {
+            return ((RealVector) value).copy();
+        }
+        return value;
+    }
+
+    private static final class Key {
+
+        private final String[] args;
+
+        private final Object[] inputs;
+
+        private final int hash;
+
+        private Key(String[] args, Object[] inputs) {
+            this.args = args;
+            this.inputs = inputs;
+            int h = Arrays.hashCode(args);
+            for (Object input : inputs) {
+                h = 31 * h + HashUtils.structuralHash(input);
+            }
+            this.hash = h;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            if (hash != key.hash || !Arrays.equals(args, key.args)) {
+                return false;
+            }
+            for (int i = 0; i < inputs.length; i++) {
+                if (!HashUtils.structuralEquals(inputs[i], key.inputs[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package framework.command;
 
+import framework.command.parser.OptionTable;
+
 import javax.annotation.Nonnull;
-import java.util.HashSet;
+import javax.annotation.Nullable;
+import java.util.Collections;
 import java.util.Set;
 
 public interface NamedCommand {
@@ -16,7 +19,25 @@ public interface NamedCommand {
 
     @Nonnull
     default Set<String> getOptions() {
-        return new HashSet<>();
+        return Collections.emptySet();
+    }
+
+    /**
+     * @return options with their types and defaults, by default every option from {@link #getOptions()}
+     * is of type STRING. Table is compiled once, when command is injected into application
+     */
+    @Nonnull
+    default OptionTable getOptionTable() {
+        return OptionTable.ofNames(getOptions());
+    }
+
+    /**
+     * @return name of variable which command writes its result to, it is passed as --var to the next command
+     * of pipeline. Null if command has no result, then --var of this command is passed if it is supplied
+     */
+    @Nullable
+    default String getResultVariableName() {
+        return null;
     }
 
     @Nonnull
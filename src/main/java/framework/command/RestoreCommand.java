@@ -0,0 +1,72 @@
+package framework.command;
+
+import framework.command.parser.OptionSpec;
+import framework.command.parser.OptionTable;
+import framework.command.parser.ParsedArgs;
+import framework.exception.LaboratoryFrameworkException;
+import framework.snapshot.StateSnapshot;
+import framework.utils.ConverterUtils;
+import framework.utils.ValidationUtils;
+import framework.variable.holder.VariableHolder;
+import framework.variable.holder.VariableHolderAware;
+import lombok.Setter;
+
+import javax.annotation.Nonnull;
+import java.util.Set;
+
+@Setter
+public class RestoreCommand extends AbstractRunnableCommand
+        implements VariableHolderAware {
+
+    private static final OptionTable OPTIONS = new OptionTable(
+            new OptionSpec("file"));
+
+    private VariableHolder variableHolder;
+
+    public RestoreCommand() {
+        super("restore");
+    }
+
+    @Override
+    public void execute(String[] args) {
+        assertFieldsArePresent();
+        ParsedArgs parsedArgs = parseArgs(args);
+        String file = parsedArgs.get("file");
+        if (file == null) {
+            throw new LaboratoryFrameworkException(getConstraintViolationMessage());
+        }
+        int count = StateSnapshot.restore(ConverterUtils.pathFromString(file), applicationState, variableHolder);
+        consoleIO.println(String.format("Restored %d variables from %s", count, file));
+    }
+
+    @Nonnull
+    @Override
+    public String getDescription() {
+        return "Restores values of variables from binary file created by snapshot command. Example: restore --file=path";
+    }
+
+    @Nonnull
+    @Override
+    public Set<String> getOptions() {
+        return OPTIONS.getNames();
+    }
+
+    @Nonnull
+    @Override
+    public OptionTable getOptionTable() {
+        return OPTIONS;
+    }
+
+    @Nonnull
+    @Override
+    public String getConstraintViolationMessage() {
+        return "Command requires 1 argument: the path to snapshot file";
+    }
+
+    private void assertFieldsArePresent() throws LaboratoryFrameworkException {
+        ValidationUtils.requireNonNull(variableHolder, "Variable holder must not be null");
+        ValidationUtils.requireNonNull(applicationState, "Application state must not be null");
+        ValidationUtils.requireNonNull(commandHolder, "Command holder must not be null");
+        ValidationUtils.requireNonNull(consoleIO, "Console must not be null");
+    }
+}
@@ -1,7 +1,21 @@
 package framework.command;
 
+import framework.exception.LaboratoryFrameworkException;
+
 public interface RunnableCommand extends NamedCommand {
 
+    /**
+     * @throws LaboratoryFrameworkException if command has failed, its message is printed by application
+     *                                      and script which has executed the command exits with failure status
+     */
     void execute(String[] args);
 
+    /**
+     * @return false if command does not access application state or only reads it, then it is executed
+     * without the state lock, e.g. while a job started with --async is running and may be writing the state
+     */
+    default boolean isUsingState() {
+        return true;
+    }
+
 }
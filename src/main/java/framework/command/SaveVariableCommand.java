@@ -0,0 +1,91 @@
+package framework.command;
+
+import framework.command.parser.OptionSpec;
+import framework.command.parser.OptionTable;
+import framework.command.parser.ParsedArgs;
+import framework.exception.LaboratoryFrameworkException;
+import framework.matrix.CsrMatrix;
+import framework.utils.ConverterUtils;
+import framework.utils.MatrixMarketUtils;
+import framework.utils.NpyUtils;
+import framework.utils.ValidationUtils;
+import framework.variable.holder.VariableHolder;
+import framework.variable.holder.VariableHolderAware;
+import lombok.Setter;
+import org.apache.commons.math3.linear.RealMatrix;
+import org.apache.commons.math3.linear.RealVector;
+
+import javax.annotation.Nonnull;
+import java.util.Set;
+
+@Setter
+public class SaveVariableCommand extends AbstractRunnableCommand
+        implements VariableHolderAware {
+
+    private static final OptionTable OPTIONS = new OptionTable(
+            new OptionSpec("var"),
+            new OptionSpec("file"));
+
+    private VariableHolder variableHolder;
+
+    public SaveVariableCommand() {
+        super("save");
+    }
+
+    @Override
+    public void execute(String[] args) {
+        assertFieldsArePresent();
+        ParsedArgs parsedArgs = parseArgs(args);
+        String variableName = parsedArgs.get("var");
+        String file = parsedArgs.get("file");
+        if (variableName == null || file == null) {
+            throw new LaboratoryFrameworkException(getConstraintViolationMessage());
+        }
+        if (variableHolder.getVariable(variableName) == null) {
+            throw new LaboratoryFrameworkException("Unknown variable");
+        }
+        Object value = applicationState.getVariable(variableName);
+        if (value instanceof CsrMatrix) {
+            MatrixMarketUtils.writeMatrix(ConverterUtils.pathFromString(file), (CsrMatrix) value);
+        } else if (value instanceof RealMatrix) {
+            NpyUtils.writeMatrix(ConverterUtils.pathFromString(file), (RealMatrix) value);
+        } else if (value instanceof RealVector) {
+            NpyUtils.writeVector(ConverterUtils.pathFromString(file), (RealVector) value);
+        } else {
+            throw new LaboratoryFrameworkException(
+                    "Only MATRIX, SPARSE_MATRIX and VECTOR variables with value can be saved");
+        }
+    }
+
+    @Nonnull
+    @Override
+    public String getDescription() {
+        return "Saves value of MATRIX or VECTOR variable to .npy file or SPARSE_MATRIX variable "
+                + "to Matrix Market file. Example: save --var=variable-name --file=path";
+    }
+
+    @Nonnull
+    @Override
+    public Set<String> getOptions() {
+        return OPTIONS.getNames();
+    }
+
+    @Nonnull
+    @Override
+    public OptionTable getOptionTable() {
+        return OPTIONS;
+    }
+
+    @Nonnull
+    @Override
+    public String getConstraintViolationMessage() {
+        return "Command requires 2 arguments: the name of variable to be saved and the path to file";
+    }
+
+    private void assertFieldsArePresent() throws LaboratoryFrameworkException {
+        ValidationUtils.requireNonNull(variableHolder, "Variable holder must not be null");
+        ValidationUtils.requireNonNull(applicationState, "Application state must not be null");
+        ValidationUtils.requireNonNull(commandHolder, "Command holder must not be null");
+        ValidationUtils.requireNonNull(consoleIO, "Console must not be null");
+    }
+}
@@ -1,5 +1,7 @@
 package framework.command;
 
+import framework.command.parser.OptionSpec;
+import framework.command.parser.OptionTable;
 import framework.enums.VariableType;
 import framework.exception.LaboratoryFrameworkException;
 import framework.utils.ConsoleUtils;
@@ -20,6 +22,9 @@ import java.util.function.Supplier;
 public class SetVariableCommand extends AbstractRunnableCommand
         implements VariableHolderAware {
 
+    private static final OptionTable OPTIONS = new OptionTable(
+            new OptionSpec("var"));
+
     private VariableHolder variableHolder;
 
     private final Map<VariableType, Supplier<Object>> variableTypeToValueSupplierMap =
@@ -33,23 +38,20 @@ public class SetVariableCommand extends AbstractRunnableCommand
     @Override
     public void execute(String[] args) {
         assertFieldsArePresent();
-        Optional<String> variableNameHolder = getVariableNameFromArgs(args);
-        if (variableNameHolder.isEmpty()) {
+        String variableName = parseArgs(args).get("var");
+        if (variableName == null) {
             NamedCommand runnableCommand = commandHolder.getCommand("set");
-            ConsoleUtils.println(runnableCommand.getConstraintViolationMessage());
-            return;
+            throw new LaboratoryFrameworkException(runnableCommand.getConstraintViolationMessage());
         }
-        Variable variable = variableHolder.getVariable(variableNameHolder.get());
+        Variable variable = variableHolder.getVariable(variableName);
         if (variable == null) {
-            ConsoleUtils.println("Unknown variable");
-            return;
+            throw new LaboratoryFrameworkException("Unknown variable");
         }
         if (variable.isCannotBeSetFromInput() || variable.getType() == VariableType.OBJECT) {
-            ConsoleUtils.println("You cannot set this variable from input");
-            return;
+            throw new LaboratoryFrameworkException("You cannot set this variable from input");
         }
         Object result = getValueForValue(variable);
-        applicationState.setVariable(variableNameHolder.get(), result);
+        applicationState.setVariable(variableName, result);
     }
 
     @Nonnull
@@ -61,29 +63,19 @@ public class SetVariableCommand extends AbstractRunnableCommand
     @Nonnull
     @Override
     public Set<String> getOptions() {
-        Set<String> options = new HashSet<>();
-        options.add("var");
-        return options;
+        return OPTIONS.getNames();
     }
 
     @Nonnull
     @Override
-    public String getConstraintViolationMessage() {
-        return "Command requires 1 argument: the name of variable to be set";
+    public OptionTable getOptionTable() {
+        return OPTIONS;
     }
 
-    private Optional<String> getVariableNameFromArgs(String[] args) {
-        Map<String, String> parsedArgs;
-        try {
-            parsedArgs = parseArgs(args);
-        } catch (LaboratoryFrameworkException ex) {
-            ConsoleUtils.println(ex.getMessage());
-            return Optional.empty();
-        }
-        NamedCommand runnableCommand = commandHolder.getCommand("set");
-        String paramName = runnableCommand.getOptions().iterator().next();
-        String variableName = parsedArgs.get(paramName);
-        return Optional.ofNullable(variableName);
+    @Nonnull
+    @Override
+    public String getConstraintViolationMessage() {
+        return "Command requires 1 argument: the name of variable to be set";
     }
 
     private Object getValueForValue(Variable variable) {
@@ -94,6 +86,10 @@ public class SetVariableCommand extends AbstractRunnableCommand
             case MATRIX:
                 MatrixVariable matrixVariable = (MatrixVariable) variable;
                 return ConsoleUtils.askForMatrixRepeatedly(matrixVariable.getRowCount(), matrixVariable.getColumnCount());
+            case SPARSE_MATRIX:
+                MatrixVariable sparseMatrixVariable = (MatrixVariable) variable;
+                return ConsoleUtils.askForSparseMatrixRepeatedly(sparseMatrixVariable.getRowCount(),
+                        sparseMatrixVariable.getColumnCount());
             case POLYNOMIAL_FUNCTION:
                 PolynomialFunctionVariable polynomialFunction = (PolynomialFunctionVariable) variable;
                 return ConsoleUtils.askForPolynomialFunctionRepeatedly(polynomialFunction.getMaxDegree());
@@ -121,5 +117,6 @@ public class SetVariableCommand extends AbstractRunnableCommand
         ValidationUtils.requireNonNull(variableHolder, "Variable holder must not be null");
         ValidationUtils.requireNonNull(applicationState, "Application state must not be null");
         ValidationUtils.requireNonNull(commandHolder, "Command holder must not be null");
+        ValidationUtils.requireNonNull(consoleIO, "Console must not be null");
     }
 }
@@ -0,0 +1,111 @@
+package framework.command;
+
+import framework.command.parser.OptionSpec;
+import framework.command.parser.OptionTable;
+import framework.command.parser.ParsedArgs;
+import framework.enums.OptionType;
+import framework.exception.LaboratoryFrameworkException;
+import framework.metrics.CommandStats;
+import framework.metrics.MetricsRegistry;
+import framework.metrics.MetricsRegistryAware;
+import framework.utils.ConverterUtils;
+import framework.utils.ValidationUtils;
+import lombok.Setter;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Set;
+
+@Setter
+public class StatsCommand extends AbstractRunnableCommand
+        implements MetricsRegistryAware {
+
+    private static final String FORMAT_TABLE = "table";
+
+    private static final String FORMAT_JSON = "json";
+
+    private static final double NANOS_IN_MILLI = 1_000_000.0;
+
+    private static final OptionTable OPTIONS = new OptionTable(
+            new OptionSpec("format", OptionType.STRING, FORMAT_TABLE),
+            new OptionSpec("file"),
+            new OptionSpec("reset", OptionType.BOOLEAN));
+
+    private MetricsRegistry metricsRegistry;
+
+    public StatsCommand() {
+        super("stats");
+    }
+
+    @Override
+    public void execute(String[] args) {
+        assertFieldsArePresent();
+        try {
+            ParsedArgs parsedArgs = parseArgs(args);
+            String format = parsedArgs.get("format");
+            String file = parsedArgs.get("file");
+            if (file != null) {
+                Files.writeString(ConverterUtils.pathFromString(file), metricsRegistry.toJson(), StandardCharsets.UTF_8);
+            } else if (FORMAT_JSON.equals(format)) {
+                consoleIO.println(metricsRegistry.toJson());
+            } else if (FORMAT_TABLE.equals(format)) {
+                printTable(metricsRegistry.getStats());
+            } else {
+                throw new LaboratoryFrameworkException(String.format("Unknown format: %s", format));
+            }
+            if (parsedArgs.getBoolean("reset")) {
+                metricsRegistry.reset();
+            }
+        } catch (IOException e) {
+            throw new LaboratoryFrameworkException(e);
+        }
+    }
+
+    @Override
+    public boolean isUsingState() {
+        return false;
+    }
+
+    @Nonnull
+    @Override
+    public String getDescription() {
+        return "Prints count, errors and latencies in ms of every executed command. "
+                + "Example: stats --format=json, stats --file=stats.json or stats --reset";
+    }
+
+    @Nonnull
+    @Override
+    public Set<String> getOptions() {
+        return OPTIONS.getNames();
+    }
+
+    @Nonnull
+    @Override
+    public OptionTable getOptionTable() {
+        return OPTIONS;
+    }
+
+    private void printTable(List<CommandStats> stats) {
+        if (stats.isEmpty()) {
+            consoleIO.println("No commands have been executed");
+            return;
+        }
+        StringBuilder table = new StringBuilder("command\tcount\terrors\tmean\tp50\tp99\tmax");
+        for (CommandStats e : stats) {
+            table.append(System.lineSeparator())
+                    .append(String.format("%s\t%d\t%d\t%.3f\t%.3f\t%.3f\t%.3f", e.getCommand(), e.getCount(),
+                            e.getErrors(), e.getMeanNanos() / NANOS_IN_MILLI, e.getP50Nanos() / NANOS_IN_MILLI,
+                            e.getP99Nanos() / NANOS_IN_MILLI, e.getMaxNanos() / NANOS_IN_MILLI));
+        }
+        consoleIO.println(table.toString());
+    }
+
+    private void assertFieldsArePresent() throws LaboratoryFrameworkException {
+        ValidationUtils.requireNonNull(metricsRegistry, "Metrics registry must not be null");
+        ValidationUtils.requireNonNull(commandHolder, "Command holder must not be null");
+        ValidationUtils.requireNonNull(consoleIO, "Console must not be null");
+    }
+}
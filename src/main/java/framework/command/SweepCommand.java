@@ -0,0 +1,321 @@
+package framework.command;
+
+import framework.application.Injector;
+import framework.application.InjectorAware;
+import framework.command.parser.OptionSpec;
+import framework.command.parser.OptionTable;
+import framework.command.parser.ParsedArgs;
+import framework.console.ConsoleIO;
+import framework.console.ConsoleIOAware;
+import framework.enums.VariableType;
+import framework.exception.LaboratoryFrameworkException;
+import framework.state.ApplicationState;
+import framework.utils.ConsoleUtils;
+import framework.utils.ConverterUtils;
+import framework.utils.ValidationUtils;
+import framework.variable.entity.Variable;
+import framework.variable.holder.VariableHolder;
+import framework.variable.holder.VariableHolderAware;
+import lombok.Setter;
+import org.apache.commons.math3.linear.RealMatrix;
+import org.apache.commons.math3.linear.RealVector;
+
+import javax.annotation.Nonnull;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Command runs laboratory for every value of one variable in parallel. For every value a new state is created
+ * by the supplied factory, values of variables that can be set from input are copied into it from the current state,
+ * then the swept variable is set and a new run command created by the supplied factory is executed.
+ * Runs have no console input, so they fail if they ask for values.
+ * Chosen variables of every state are printed as a table, a point is reported as error if its swept variable
+ * cannot be set, its run fails or leaves any chosen variable without value
+ */
+@Setter
+public class SweepCommand extends AbstractRunnableCommand
+        implements VariableHolderAware, InjectorAware {
+
+    private static final OptionTable OPTIONS = new OptionTable(
+            new OptionSpec("var"),
+            new OptionSpec("values"),
+            new OptionSpec("from"),
+            new OptionSpec("to"),
+            new OptionSpec("step"),
+            new OptionSpec("collect"));
+
+    private static final String VALUE_SEPARATOR = ",";
+
+    private static final int MAX_POINT_COUNT = 10_000;
+
+    private static final Map<VariableType, Function<String, Object>> VARIABLE_TYPE_TO_CONVERTER =
+            new EnumMap<>(VariableType.class);
+
+    static {
+        VARIABLE_TYPE_TO_CONVERTER.put(VariableType.BYTE, ConverterUtils::byteFromString);
+        VARIABLE_TYPE_TO_CONVERTER.put(VariableType.SHORT, ConverterUtils::shortFromString);
+        VARIABLE_TYPE_TO_CONVERTER.put(VariableType.INTEGER, ConverterUtils::integerFromString);
+        VARIABLE_TYPE_TO_CONVERTER.put(VariableType.LONG, ConverterUtils::longFromString);
+        VARIABLE_TYPE_TO_CONVERTER.put(VariableType.FLOAT, ConverterUtils::floatFromString);
+        VARIABLE_TYPE_TO_CONVERTER.put(VariableType.DOUBLE, ConverterUtils::doubleFromString);
+        VARIABLE_TYPE_TO_CONVERTER.put(VariableType.BIG_DECIMAL, ConverterUtils::bigDecimalFromString);
+        VARIABLE_TYPE_TO_CONVERTER.put(VariableType.BIG_INTEGER, ConverterUtils::bigIntegerFromString);
+        VARIABLE_TYPE_TO_CONVERTER.put(VariableType.BOOLEAN, ConverterUtils::booleanFromString);
+        VARIABLE_TYPE_TO_CONVERTER.put(VariableType.CHARACTER, ConverterUtils::characterFromString);
+        VARIABLE_TYPE_TO_CONVERTER.put(VariableType.STRING, s -> s);
+    }
+
+    private final Supplier<? extends ApplicationState> stateFactory;
+
+    private final Supplier<? extends RunnableCommand> runCommandFactory;
+
+    private VariableHolder variableHolder;
+
+    private Injector injector;
+
+    /**
+     * @param stateFactory      - creates empty state of the laboratory
+     * @param runCommandFactory - creates command that runs the laboratory, usually subclass of {@link DefaultRunCommand}
+     */
+    public SweepCommand(Supplier<? extends ApplicationState> stateFactory,
+                        Supplier<? extends RunnableCommand> runCommandFactory) {
+        super("sweep");
+        ValidationUtils.requireNonNull(stateFactory, runCommandFactory);
+        this.stateFactory = stateFactory;
+        this.runCommandFactory = runCommandFactory;
+    }
+
+    @Override
+    public void execute(String[] args) {
+        assertFieldsArePresent();
+        ParsedArgs parsedArgs = parseArgs(args);
+        String variableName = parsedArgs.get("var");
+        String collect = parsedArgs.get("collect");
+        if (variableName == null || collect == null) {
+            throw new LaboratoryFrameworkException(getConstraintViolationMessage());
+        }
+        Variable variable = variableHolder.getVariable(variableName);
+        if (variable == null) {
+            throw new LaboratoryFrameworkException("Unknown variable");
+        }
+        Function<String, Object> converter = VARIABLE_TYPE_TO_CONVERTER.get(variable.getType());
+        if (converter == null) {
+            throw new LaboratoryFrameworkException(
+                    String.format("Variables of type %s cannot be swept", variable.getType()));
+        }
+        List<String> resultNames = splitList(collect);
+        for (String resultName : resultNames) {
+            ValidationUtils.requireNonNull(variableHolder.getVariable(resultName),
+                    String.format("Unknown variable: %s", resultName));
+        }
+        List<Object> values = new ArrayList<>();
+        for (String value : getValues(parsedArgs)) {
+            values.add(converter.apply(value));
+        }
+        Map<String, Object> inputs = getSettableVariables(variableName);
+        printTable(variableName, resultNames, values, sweep(inputs, variableName, values, resultNames));
+    }
+
+    @Nonnull
+    @Override
+    public String getDescription() {
+        return "Runs laboratory in parallel for every value of variable and prints chosen variables. "
+                + "Example: sweep --var=x --values=1,2,3 --collect=y,z or sweep --var=x --from=0 --to=1 --step=0.1 --collect=y";
+    }
+
+    @Nonnull
+    @Override
+    public Set<String> getOptions() {
+        return OPTIONS.getNames();
+    }
+
+    @Nonnull
+    @Override
+    public OptionTable getOptionTable() {
+        return OPTIONS;
+    }
+
+    @Nonnull
+    @Override
+    public String getConstraintViolationMessage() {
+        return "Command requires the name of variable to sweep, its values (--values or --from, --to and --step) "
+                + "and the names of variables to collect";
+    }
+
+    /**
+     * @return values of every collected variable for every point or exception message if point has failed
+     */
+    private List<Object[]> sweep(Map<String, Object> inputs, String variableName, List<Object> values,
+                                 List<String> resultNames)
+            throws LaboratoryFrameworkException {
+        ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        List<Future<Object[]>> futures = new ArrayList<>(values.size());
+        try {
+            for (Object value : values) {
+                futures.add(pool.submit(() -> runPoint(inputs, variableName, value, resultNames)));
+            }
+            List<Object[]> out = new ArrayList<>(values.size());
+            for (Future<Object[]> future : futures) {
+                out.add(getPointResult(future, resultNames.size()));
+            }
+            return out;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LaboratoryFrameworkException("Sweep has been cancelled", e);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static Object[] getPointResult(Future<Object[]> future, int resultCount) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            return getFailedPointResult(resultCount, e.getCause().getMessage());
+        }
+    }
+
+    private static Object[] getFailedPointResult(int resultCount, String message) {
+        Object[] out = new Object[resultCount];
+        Arrays.fill(out, String.format("error: %s", message));
+        return out;
+    }
+
+    /**
+     * Point is executed with its own console without input, so runs of points do not compete for input
+     *
+     * @return values of collected variables or error messages if point has failed
+     */
+    private Object[] runPoint(Map<String, Object> inputs, String variableName, Object value, List<String> resultNames) {
+        ConsoleIO pointConsoleIO = consoleIO.withInput(Reader.nullReader());
+        ConsoleUtils.setThreadConsoleIO(pointConsoleIO);
+        try {
+            ApplicationState pointState = stateFactory.get();
+            injector.inject(pointState, pointState);
+            inputs.forEach((name, input) -> pointState.setVariable(name, copyIfMutable(input)));
+            pointState.setVariable(variableName, value);
+            ValidationUtils.requireEquals(pointState.getVariable(variableName), value,
+                    String.format("%s has not been set", variableName));
+            RunnableCommand runCommand = runCommandFactory.get();
+            injector.inject(runCommand, pointState);
+            if (runCommand instanceof ConsoleIOAware) {
+                ((ConsoleIOAware) runCommand).setConsoleIO(pointConsoleIO);
+            }
+            runCommand.execute(new String[0]);
+            Object[] out = new Object[resultNames.size()];
+            for (int i = 0; i < out.length; i++) {
+                out[i] = pointState.getVariable(resultNames.get(i));
+                ValidationUtils.requireNonNull(out[i], String.format("%s has no value", resultNames.get(i)));
+            }
+            return out;
+        } catch (LaboratoryFrameworkException e) {
+            return getFailedPointResult(resultNames.size(), e.getMessage());
+        } finally {
+            ConsoleUtils.setThreadConsoleIO(null);
+        }
+    }
+
+    /**
+     * @return values of variables that can be set from input, except swept variable and variables without value
+     */
+    private Map<String, Object> getSettableVariables(String sweptVariableName) {
+        Map<String, Object> out = new HashMap<>();
+        for (Variable variable : variableHolder.getVariables().values()) {
+            if (variable.isCannotBeSetFromInput() || variable.getName().equals(sweptVariableName)) {
+                continue;
+            }
+            try {
+                Object value = applicationState.getVariable(variable.getName());
+                if (value != null) {
+                    out.put(variable.getName(), copyIfMutable(value));
+                }
+            } catch (LaboratoryFrameworkException ignored) {
+                // variable without getter cannot be copied
+            }
+        }
+        return out;
+    }
+
+    private static Object copyIfMutable(Object value) {
+        if (value instanceof RealMatrix) {
+            return ((RealMatrix) value).copy();
+        }
+        if (value instanceof RealVector) {
+            return ((RealVector) value).copy();
+        }
+        return value;
+    }
+
+    private static List<String> getValues(ParsedArgs parsedArgs) throws LaboratoryFrameworkException {
+        String values = parsedArgs.get("values");
+        if (values != null) {
+            List<String> out = splitList(values);
+            ValidationUtils.requireTrue(out.size() <= MAX_POINT_COUNT,
+                    String.format("Count of values must be <= %d", MAX_POINT_COUNT));
+            return out;
+        }
+        String from = parsedArgs.get("from");
+        String to = parsedArgs.get("to");
+        String step = parsedArgs.get("step");
+        if (from == null || to == null || step == null) {
+            throw new LaboratoryFrameworkException("Either --values or --from, --to and --step must be specified");
+        }
+        BigDecimal current = ConverterUtils.bigDecimalFromString(from);
+        BigDecimal last = ConverterUtils.bigDecimalFromString(to);
+        BigDecimal increment = ConverterUtils.bigDecimalFromString(step);
+        ValidationUtils.requireTrue(increment.signum() > 0, "Step must be > 0");
+        BigDecimal pointCount = last.subtract(current).divide(increment, 0, RoundingMode.FLOOR).add(BigDecimal.ONE);
+        ValidationUtils.requireTrue(pointCount.compareTo(BigDecimal.valueOf(MAX_POINT_COUNT)) <= 0,
+                String.format("Range must contain <= %d values, it contains %s", MAX_POINT_COUNT, pointCount));
+        List<String> out = new ArrayList<>();
+        while (current.compareTo(last) <= 0) {
+            out.add(current.toPlainString());
+            current = current.add(increment);
+        }
+        return out;
+    }
+
+    private static List<String> splitList(String list) throws LaboratoryFrameworkException {
+        List<String> out = new ArrayList<>();
+        for (String item : list.split(VALUE_SEPARATOR)) {
+            ValidationUtils.requireNotEmpty(item, String.format("Invalid list: %s", list));
+            out.add(item);
+        }
+        return out;
+    }
+
+    private void printTable(String variableName, List<String> resultNames, List<Object> values, List<Object[]> results) {
+        StringBuilder table = new StringBuilder(variableName);
+        for (String resultName : resultNames) {
+            table.append('\t').append(resultName);
+        }
+        for (int i = 0; i < values.size(); i++) {
+            table.append(System.lineSeparator()).append(values.get(i));
+            for (Object result : results.get(i)) {
+                table.append('\t').append(result);
+            }
+        }
+        consoleIO.println(table.toString());
+    }
+
+    private void assertFieldsArePresent() throws LaboratoryFrameworkException {
+        ValidationUtils.requireNonNull(variableHolder, "Variable holder must not be null");
+        ValidationUtils.requireNonNull(applicationState, "Application state must not be null");
+        ValidationUtils.requireNonNull(commandHolder, "Command holder must not be null");
+        ValidationUtils.requireNonNull(consoleIO, "Console must not be null");
+        ValidationUtils.requireNonNull(injector, "Injector must not be null");
+    }
+}
@@ -0,0 +1,79 @@
+package framework.command;
+
+import framework.command.parser.OptionSpec;
+import framework.command.parser.OptionTable;
+import framework.command.parser.ParsedArgs;
+import framework.enums.OptionType;
+import framework.exception.LaboratoryFrameworkException;
+import framework.job.Job;
+import framework.job.JobManager;
+import framework.job.JobManagerAware;
+import framework.utils.ValidationUtils;
+import lombok.Setter;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+import java.util.Set;
+
+@Setter
+public class WaitCommand extends AbstractRunnableCommand
+        implements JobManagerAware {
+
+    private static final OptionTable OPTIONS = new OptionTable(
+            new OptionSpec("job", OptionType.INTEGER),
+            new OptionSpec("timeout", OptionType.LONG, "0"));
+
+    private JobManager jobManager;
+
+    public WaitCommand() {
+        super("wait");
+    }
+
+    @Override
+    public void execute(String[] args) {
+        assertFieldsArePresent();
+        ParsedArgs parsedArgs = parseArgs(args);
+        long timeoutMillis = parsedArgs.getLong("timeout");
+        List<Job> jobs = parsedArgs.isPresent("job") ? List.of(getJob(parsedArgs.getInt("job"))) : jobManager.getJobs();
+        for (Job job : jobs) {
+            if (!jobManager.await(job, timeoutMillis)) {
+                consoleIO.println(String.format("%sis still running", job.getTag()));
+            }
+        }
+    }
+
+    @Override
+    public boolean isUsingState() {
+        return false;
+    }
+
+    @Nonnull
+    @Override
+    public String getDescription() {
+        return "Waits until job is finished, without --job waits for all jobs. Example: wait --job=1 --timeout=1000";
+    }
+
+    @Nonnull
+    @Override
+    public Set<String> getOptions() {
+        return OPTIONS.getNames();
+    }
+
+    @Nonnull
+    @Override
+    public OptionTable getOptionTable() {
+        return OPTIONS;
+    }
+
+    private Job getJob(int jobId) throws LaboratoryFrameworkException {
+        Job job = jobManager.getJob(jobId);
+        ValidationUtils.requireNonNull(job, String.format("Unknown job: %s", jobId));
+        return job;
+    }
+
+    private void assertFieldsArePresent() throws LaboratoryFrameworkException {
+        ValidationUtils.requireNonNull(jobManager, "Job manager must not be null");
+        ValidationUtils.requireNonNull(commandHolder, "Command holder must not be null");
+        ValidationUtils.requireNonNull(consoleIO, "Console must not be null");
+    }
+}
@@ -4,11 +4,13 @@ import framework.command.NamedCommand;
 import lombok.Getter;
 
 import javax.annotation.concurrent.ThreadSafe;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Class holds a map of command names to {@link NamedCommand}
+ * Class holds a map of command names to {@link NamedCommand} and a map of aliases to command names
  */
 @ThreadSafe
 @Getter
@@ -16,8 +18,15 @@ public final class CommandHolder {
 
     private final Map<String, ? extends NamedCommand> commands;
 
+    private final Map<String, String> aliases;
+
     public CommandHolder(Map<String, ? extends NamedCommand> commands) {
+        this(commands, Collections.emptyMap());
+    }
+
+    public CommandHolder(Map<String, ? extends NamedCommand> commands, Map<String, String> aliases) {
         this.commands = new ConcurrentHashMap<>(commands);
+        this.aliases = Collections.unmodifiableMap(new HashMap<>(aliases));
     }
 
     public NamedCommand getCommand(String commandName) {
@@ -0,0 +1,154 @@
+package framework.command.holder;
+
+import framework.utils.ValidationUtils;
+
+import javax.annotation.concurrent.Immutable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable prefix tree of command names and aliases. Every node knows the value which all keys under it resolve to,
+ * so a unique prefix of a key is resolved in the same walk as the key itself. Lookup does not allocate
+ *
+ * @param <T> - type of resolved values, different keys of one value (e.g. name and alias) do not make prefix ambiguous
+ */
+@Immutable
+public final class CommandTrie<T> {
+
+    private final Node<T> root;
+
+    /**
+     * @param keyToValue - names and aliases of commands to commands
+     */
+    public CommandTrie(Map<String, ? extends T> keyToValue) {
+        ValidationUtils.requireNonNull(keyToValue);
+        MutableNode<T> mutableRoot = new MutableNode<>();
+        keyToValue.forEach((key, value) -> {
+            ValidationUtils.requireNotEmpty(key, "Command name must not be empty");
+            ValidationUtils.requireNonNull(value, String.format("Command %s must not be null", key));
+            MutableNode<T> node = mutableRoot;
+            for (int i = 0; i < key.length(); i++) {
+                node = node.children.computeIfAbsent(key.charAt(i), c -> new MutableNode<>());
+            }
+            node.key = key;
+            node.value = value;
+        });
+        this.root = mutableRoot.freeze();
+    }
+
+    /**
+     * @return value of the key or of the only key that starts with it, null if key is unknown or ambiguous
+     */
+    public T find(CharSequence key) {
+        return find(key, 0, key.length());
+    }
+
+    /**
+     * @param start - index of the first character of key in s
+     * @param end   - index after the last character of key in s
+     * @return value of the key or of the only key that starts with it, null if key is unknown or ambiguous
+     */
+    public T find(CharSequence s, int start, int end) {
+        if (start >= end) {
+            return null;
+        }
+        Node<T> node = root;
+        for (int i = start; i < end && node != null; i++) {
+            node = node.getChild(s.charAt(i));
+        }
+        if (node == null) {
+            return null;
+        }
+        return node.value != null ? node.value : node.unique;
+    }
+
+    /**
+     * @return sorted keys that start with prefix
+     */
+    public List<String> getCandidates(CharSequence prefix) {
+        Node<T> node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.getChild(prefix.charAt(i));
+        }
+        if (node == null) {
+            return Collections.emptyList();
+        }
+        List<String> out = new ArrayList<>();
+        node.collectKeys(out);
+        return out;
+    }
+
+    @Immutable
+    private static final class Node<T> {
+
+        /**
+         * Label of the first child, children are indexed by label - firstLabel and absent labels are null
+         */
+        private final char firstLabel;
+
+        private final Node<T>[] children;
+
+        private final String key;
+
+        private final T value;
+
+        /**
+         * Value which every key under this node resolves to, null if there are several such values
+         */
+        private final T unique;
+
+        private Node(char firstLabel, Node<T>[] children, String key, T value, T unique) {
+            this.firstLabel = firstLabel;
+            this.children = children;
+            this.key = key;
+            this.value = value;
+            this.unique = unique;
+        }
+
+        private Node<T> getChild(char c) {
+            int index = c - firstLabel;
+            return index >= 0 && index < children.length ? children[index] : null;
+        }
+
+        private void collectKeys(List<String> out) {
+            if (key != null) {
+                out.add(key);
+            }
+            for (Node<T> child : children) {
+                if (child != null) {
+                    child.collectKeys(out);
+                }
+            }
+        }
+    }
+
+    private static final class MutableNode<T> {
+
+        private final TreeMap<Character, MutableNode<T>> children = new TreeMap<>();
+
+        private String key;
+
+        private T value;
+
+        @SuppressWarnings("unchecked")
+        private Node<T> freeze() {
+            char firstLabel = children.isEmpty() ? 0 : children.firstKey();
+            Node<T>[] frozen = (Node<T>[]) new Node<?>[children.isEmpty() ? 0 : children.lastKey() - firstLabel + 1];
+            T unique = value;
+            boolean ambiguous = false;
+            for (Map.Entry<Character, MutableNode<T>> entry : children.entrySet()) {
+                Node<T> child = entry.getValue().freeze();
+                frozen[entry.getKey() - firstLabel] = child;
+                if (child.unique == null || unique != null && unique != child.unique) {
+                    ambiguous = true;
+                } else {
+                    unique = child.unique;
+                }
+            }
+            return new Node<>(firstLabel, frozen, key, value, ambiguous ? null : unique);
+        }
+    }
+}
@@ -3,32 +3,192 @@ package framework.command.parser;
 import framework.exception.LaboratoryFrameworkException;
 import framework.utils.ValidationUtils;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.regex.Pattern;
 
 public class ArgsParser {
 
-    private static final Pattern ARG_REGEX = Pattern.compile("--(\\S)+=(\\S)+");
+    public static final String OPTION_PREFIX = "--";
+
+    public static final char SEQUENCE_OPERATOR = ';';
+
+    public static final char PIPE_OPERATOR = '|';
+
+    /**
+     * Tokens of the command being read, the only array allocated per command is the one returned to it
+     */
+    private static final ThreadLocal<TokenBuffer> TOKEN_BUFFER = ThreadLocal.withInitial(TokenBuffer::new);
 
     private ArgsParser() {}
 
+    /**
+     * Parses arguments in format --name=value without types and defaults,
+     * commands should parse arguments by their {@link OptionTable}
+     *
+     * @return supplied options and their values
+     */
     public static Map<String, String> parseArgs(String[] args, Set<String> knownOptions) throws LaboratoryFrameworkException {
         Map<String, String> out = new HashMap<>();
-        for (String arg: args) {
-            if (!ARG_REGEX.matcher(arg).matches()) {
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith(OPTION_PREFIX) || separator <= OPTION_PREFIX.length() || separator == arg.length() - 1) {
                 throw new LaboratoryFrameworkException(String.format("Invalid input: %s", arg));
             }
-            String[] splitBeEquals = arg.split("=", 2);
-            String paramNameWithHyphens = splitBeEquals[0];
-            String paramName = paramNameWithHyphens.substring(2);
-            if(!knownOptions.contains(paramName)) {
+            String paramName = arg.substring(OPTION_PREFIX.length(), separator);
+            if (!knownOptions.contains(paramName)) {
                 throw new LaboratoryFrameworkException(String.format("Unknown option: %s", paramName));
             }
-            out.put(paramName, splitBeEquals[1]);
+            out.put(paramName, arg.substring(separator + 1));
         }
         return out;
     }
 
+    /**
+     * Splits line by whitespaces in a single pass. Text in single or double quotes is kept in one token
+     * without the quotes, e.g. --values="1, 2" is the token --values=1, 2
+     *
+     * @throws LaboratoryFrameworkException if line is null or quote is not closed
+     */
+    public static String[] tokenize(String line) throws LaboratoryFrameworkException {
+        return tokenize(line, 0);
+    }
+
+    /**
+     * Tokenizes line starting from the index, e.g. after the name of command
+     *
+     * @see #tokenize(String)
+     */
+    public static String[] tokenize(String line, int fromIndex) throws LaboratoryFrameworkException {
+        ValidationUtils.requireNonNull(line);
+        TokenBuffer tokens = TOKEN_BUFFER.get();
+        try {
+            readTokens(line, fromIndex, false, tokens);
+            return tokens.toArray(0);
+        } finally {
+            tokens.clear();
+        }
+    }
+
+    /**
+     * Splits line into commands separated by {@value #SEQUENCE_OPERATOR} or {@value #PIPE_OPERATOR}
+     * and tokenizes every command, operators in quotes are kept in tokens. Empty commands between
+     * {@value #SEQUENCE_OPERATOR} are skipped
+     *
+     * @throws LaboratoryFrameworkException if line is null, quote is not closed or pipe has no command on either side
+     */
+    public static List<CommandInvocation> parseLine(String line) throws LaboratoryFrameworkException {
+        ValidationUtils.requireNonNull(line);
+        List<CommandInvocation> out = new ArrayList<>();
+        TokenBuffer tokens = TOKEN_BUFFER.get();
+        boolean piped = false;
+        int from = 0;
+        try {
+            while (true) {
+                tokens.clear();
+                int end = readTokens(line, from, true, tokens);
+                boolean pipeFollows = end < line.length() && line.charAt(end) == PIPE_OPERATOR;
+                if (tokens.size == 0) {
+                    ValidationUtils.requireFalse(piped || pipeFollows,
+                            String.format("Missing command near %s: %s", PIPE_OPERATOR, line));
+                } else {
+                    out.add(new CommandInvocation(tokens.tokens[0], tokens.toArray(1), piped));
+                }
+                if (end == line.length()) {
+                    return out;
+                }
+                piped = pipeFollows;
+                from = end + 1;
+            }
+        } finally {
+            tokens.clear();
+        }
+    }
+
+    /**
+     * Reads tokens in a single pass until the end of line or, if stopAtOperator is true, an operator outside quotes
+     *
+     * @return index of the operator or length of line
+     */
+    private static int readTokens(String line, int fromIndex, boolean stopAtOperator, TokenBuffer out)
+            throws LaboratoryFrameworkException {
+        StringBuilder quoted = null;
+        int start = -1;
+        char quote = 0;
+        int i = fromIndex;
+        for (; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                } else {
+                    quoted.append(c);
+                }
+                continue;
+            }
+            boolean isOperator = stopAtOperator && (c == SEQUENCE_OPERATOR || c == PIPE_OPERATOR);
+            if (Character.isWhitespace(c) || isOperator) {
+                if (start >= 0) {
+                    out.add(quoted == null ? line.substring(start, i) : quoted.toString());
+                    quoted = null;
+                    start = -1;
+                }
+                if (isOperator) {
+                    return i;
+                }
+                continue;
+            }
+            if (start < 0) {
+                start = i;
+            }
+            if (c == '"' || c == '\'') {
+                if (quoted == null) {
+                    quoted = new StringBuilder().append(line, start, i);
+                }
+                quote = c;
+            } else if (quoted != null) {
+                quoted.append(c);
+            }
+        }
+        ValidationUtils.requireTrue(quote == 0, String.format("Unterminated quote: %s", line));
+        if (start >= 0) {
+            out.add(quoted == null ? line.substring(start) : quoted.toString());
+        }
+        return i;
+    }
+
+    /**
+     * Growing array of tokens reused by calls in the same thread
+     */
+    private static final class TokenBuffer {
+
+        private String[] tokens = new String[16];
+
+        private int size;
+
+        private void add(String token) {
+            if (size == tokens.length) {
+                tokens = Arrays.copyOf(tokens, size * 2);
+            }
+            tokens[size++] = token;
+        }
+
+        /**
+         * @return new array of tokens starting from the index
+         */
+        private String[] toArray(int fromIndex) {
+            return Arrays.copyOfRange(tokens, fromIndex, size);
+        }
+
+        /**
+         * Tokens are released, so the buffer does not keep lines alive
+         */
+        private void clear() {
+            Arrays.fill(tokens, 0, size, null);
+            size = 0;
+        }
+    }
 }
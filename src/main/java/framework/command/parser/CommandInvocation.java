@@ -0,0 +1,23 @@
+package framework.command.parser;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * Command of the line as it has been typed: name or its abbreviation, arguments and whether
+ * it receives the result of the previous command through {@value ArgsParser#PIPE_OPERATOR}
+ */
+@Getter
+@Immutable
+@RequiredArgsConstructor
+public final class CommandInvocation {
+
+    private final String commandName;
+
+    private final String[] args;
+
+    private final boolean piped;
+
+}
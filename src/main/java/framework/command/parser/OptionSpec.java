@@ -0,0 +1,49 @@
+package framework.command.parser;
+
+import framework.enums.OptionType;
+import framework.exception.LaboratoryFrameworkException;
+import framework.utils.ValidationUtils;
+import lombok.Getter;
+
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * Declaration of command option: its name without hyphens, type and default value
+ */
+@Getter
+@Immutable
+public final class OptionSpec {
+
+    private final String name;
+
+    private final OptionType type;
+
+    /**
+     * Value used when option is not supplied, null if option has no default
+     */
+    private final String defaultValue;
+
+    public OptionSpec(String name) throws LaboratoryFrameworkException {
+        this(name, OptionType.STRING, null);
+    }
+
+    public OptionSpec(String name, OptionType type) throws LaboratoryFrameworkException {
+        this(name, type, null);
+    }
+
+    /**
+     * @param defaultValue - string representation of default value, which is converted when table is compiled
+     */
+    public OptionSpec(String name, OptionType type, String defaultValue) throws LaboratoryFrameworkException {
+        ValidationUtils.requireNotEmpty(name, "Option name must not be empty");
+        ValidationUtils.requireNonNull(type, "Option type must not be null");
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            ValidationUtils.requireFalse(c == '=' || Character.isWhitespace(c),
+                    String.format("Invalid option name: %s", name));
+        }
+        this.name = name;
+        this.type = type;
+        this.defaultValue = defaultValue;
+    }
+}
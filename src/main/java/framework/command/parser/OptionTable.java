@@ -0,0 +1,168 @@
+package framework.command.parser;
+
+import framework.enums.OptionType;
+import framework.exception.LaboratoryFrameworkException;
+import framework.utils.ValidationUtils;
+
+import javax.annotation.concurrent.Immutable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Options of command compiled once: every option gets an index in {@link ParsedArgs}
+ * and default values are converted in advance. Arguments are parsed in a single pass without regular expressions,
+ * option names are matched in place, so only values of options are allocated
+ */
+@Immutable
+public final class OptionTable {
+
+    private final OptionSpec[] specs;
+
+    private final Set<String> names;
+
+    private final ParsedArgs defaults;
+
+    public OptionTable(OptionSpec... specs) throws LaboratoryFrameworkException {
+        ValidationUtils.requireNonNull((Object) specs);
+        this.specs = specs.clone();
+        Set<String> optionNames = new LinkedHashSet<>();
+        for (OptionSpec spec : this.specs) {
+            ValidationUtils.requireNonNull(spec, "Option must not be null");
+            ValidationUtils.requireTrue(optionNames.add(spec.getName()),
+                    String.format("Option %s is declared twice", spec.getName()));
+        }
+        this.names = Collections.unmodifiableSet(optionNames);
+        this.defaults = new ParsedArgs(this);
+        for (int i = 0; i < this.specs.length; i++) {
+            if (this.specs[i].getDefaultValue() != null) {
+                convert(i, this.specs[i].getDefaultValue(), defaults);
+            }
+        }
+    }
+
+    /**
+     * @return table in which every option is of type STRING and has no default
+     */
+    public static OptionTable ofNames(Collection<String> names) throws LaboratoryFrameworkException {
+        ValidationUtils.requireNonNull(names);
+        return new OptionTable(names.stream().map(OptionSpec::new).toArray(OptionSpec[]::new));
+    }
+
+    /**
+     * @return unmodifiable names of options in order of declaration
+     */
+    public Set<String> getNames() {
+        return names;
+    }
+
+    public int size() {
+        return specs.length;
+    }
+
+    public OptionSpec getSpec(int index) {
+        return specs[index];
+    }
+
+    /**
+     * @return index of option or -1 if option is unknown
+     */
+    public int indexOf(String name) {
+        for (int i = 0; i < specs.length; i++) {
+            if (specs[i].getName().equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return new structure, which may be reused by {@link #parse(String[], ParsedArgs)}
+     */
+    public ParsedArgs newParsedArgs() {
+        ParsedArgs out = new ParsedArgs(this);
+        out.reset(defaults);
+        return out;
+    }
+
+    public ParsedArgs parse(String[] args) throws LaboratoryFrameworkException {
+        return parse(args, newParsedArgs());
+    }
+
+    /**
+     * @param args - arguments in format --name=value, options of type BOOLEAN may be supplied as --name
+     * @param out  - structure created by {@link #newParsedArgs()} of this table, previous values are discarded
+     * @return out
+     * @throws LaboratoryFrameworkException if argument is invalid, option is unknown or its value cannot be converted
+     */
+    public ParsedArgs parse(String[] args, ParsedArgs out) throws LaboratoryFrameworkException {
+        ValidationUtils.requireNonNull(args, out);
+        ValidationUtils.requireTrue(out.getTable() == this, "Parsed arguments belong to another table");
+        out.reset(defaults);
+        for (String arg : args) {
+            if (arg == null || !arg.startsWith(ArgsParser.OPTION_PREFIX)) {
+                throw new LaboratoryFrameworkException(String.format("Invalid input: %s", arg));
+            }
+            int separator = arg.indexOf('=', ArgsParser.OPTION_PREFIX.length());
+            int nameEnd = separator < 0 ? arg.length() : separator;
+            if (nameEnd == ArgsParser.OPTION_PREFIX.length() || separator == arg.length() - 1) {
+                throw new LaboratoryFrameworkException(String.format("Invalid input: %s", arg));
+            }
+            int index = find(arg, nameEnd);
+            if (index < 0) {
+                throw new LaboratoryFrameworkException(
+                        String.format("Unknown option: %s", arg.substring(ArgsParser.OPTION_PREFIX.length(), nameEnd)));
+            }
+            if (separator < 0) {
+                if (specs[index].getType() != OptionType.BOOLEAN) {
+                    throw new LaboratoryFrameworkException(
+                            String.format("Option %s requires a value", specs[index].getName()));
+                }
+                out.setBoolean(index, true);
+            } else {
+                convert(index, arg.substring(separator + 1), out);
+            }
+        }
+        return out;
+    }
+
+    private int find(String arg, int nameEnd) {
+        int length = nameEnd - ArgsParser.OPTION_PREFIX.length();
+        for (int i = 0; i < specs.length; i++) {
+            String name = specs[i].getName();
+            if (name.length() == length && arg.regionMatches(ArgsParser.OPTION_PREFIX.length(), name, 0, length)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void convert(int index, String value, ParsedArgs out) throws LaboratoryFrameworkException {
+        OptionSpec spec = specs[index];
+        try {
+            switch (spec.getType()) {
+                case INTEGER:
+                    out.setLong(index, value, Integer.parseInt(value));
+                    break;
+                case LONG:
+                    out.setLong(index, value, Long.parseLong(value));
+                    break;
+                case DOUBLE:
+                    out.setDouble(index, value, Double.parseDouble(value));
+                    break;
+                case BOOLEAN:
+                    if (!"true".equalsIgnoreCase(value) && !"false".equalsIgnoreCase(value)) {
+                        throw new NumberFormatException();
+                    }
+                    out.setBoolean(index, "true".equalsIgnoreCase(value));
+                    break;
+                default:
+                    out.setString(index, value);
+            }
+        } catch (NumberFormatException e) {
+            throw new LaboratoryFrameworkException(
+                    String.format("Invalid value of option %s: %s", spec.getName(), value));
+        }
+    }
+}
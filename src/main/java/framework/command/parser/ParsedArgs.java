@@ -0,0 +1,134 @@
+package framework.command.parser;
+
+import framework.enums.OptionType;
+import framework.exception.LaboratoryFrameworkException;
+import framework.utils.ValidationUtils;
+import lombok.Getter;
+
+import javax.annotation.concurrent.NotThreadSafe;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Values of options parsed by {@link OptionTable}. Numeric and boolean values are kept unboxed.
+ * Structure is reused by subsequent parsing, so it must not be kept after the command is executed
+ */
+@NotThreadSafe
+public final class ParsedArgs {
+
+    @Getter
+    private final OptionTable table;
+
+    private final String[] values;
+
+    private final long[] longValues;
+
+    private final double[] doubleValues;
+
+    private final boolean[] present;
+
+    ParsedArgs(OptionTable table) {
+        this.table = table;
+        this.values = new String[table.size()];
+        this.longValues = new long[table.size()];
+        this.doubleValues = new double[table.size()];
+        this.present = new boolean[table.size()];
+    }
+
+    /**
+     * @return true if option has been supplied, default values are not taken into account
+     */
+    public boolean isPresent(String name) throws LaboratoryFrameworkException {
+        return present[indexOf(name)];
+    }
+
+    /**
+     * @return value as it has been supplied, default value if option is not supplied or null if there is no default
+     */
+    public String get(String name) throws LaboratoryFrameworkException {
+        return values[indexOf(name)];
+    }
+
+    public int getInt(String name) throws LaboratoryFrameworkException {
+        return (int) longValues[requireValue(name, OptionType.INTEGER)];
+    }
+
+    public long getLong(String name) throws LaboratoryFrameworkException {
+        return longValues[requireValue(name, OptionType.LONG)];
+    }
+
+    public double getDouble(String name) throws LaboratoryFrameworkException {
+        return doubleValues[requireValue(name, OptionType.DOUBLE)];
+    }
+
+    /**
+     * @return false if option is not supplied and has no default
+     */
+    public boolean getBoolean(String name) throws LaboratoryFrameworkException {
+        int index = requireType(name, OptionType.BOOLEAN);
+        return longValues[index] != 0;
+    }
+
+    /**
+     * @return supplied options and their values as strings
+     */
+    public Map<String, String> asMap() {
+        Map<String, String> out = new HashMap<>();
+        for (int i = 0; i < values.length; i++) {
+            if (present[i]) {
+                out.put(table.getSpec(i).getName(), values[i]);
+            }
+        }
+        return out;
+    }
+
+    void reset(ParsedArgs defaults) {
+        if (defaults == this) {
+            return;
+        }
+        System.arraycopy(defaults.values, 0, values, 0, values.length);
+        System.arraycopy(defaults.longValues, 0, longValues, 0, longValues.length);
+        System.arraycopy(defaults.doubleValues, 0, doubleValues, 0, doubleValues.length);
+        Arrays.fill(present, false);
+    }
+
+    void setString(int index, String value) {
+        values[index] = value;
+        present[index] = true;
+    }
+
+    void setLong(int index, String value, long longValue) {
+        longValues[index] = longValue;
+        setString(index, value);
+    }
+
+    void setDouble(int index, String value, double doubleValue) {
+        doubleValues[index] = doubleValue;
+        setString(index, value);
+    }
+
+    void setBoolean(int index, boolean value) {
+        longValues[index] = value ? 1 : 0;
+        setString(index, String.valueOf(value));
+    }
+
+    private int indexOf(String name) throws LaboratoryFrameworkException {
+        int index = table.indexOf(name);
+        ValidationUtils.requireTrue(index >= 0, String.format("Unknown option: %s", name));
+        return index;
+    }
+
+    private int requireType(String name, OptionType type) throws LaboratoryFrameworkException {
+        int index = indexOf(name);
+        ValidationUtils.requireTrue(table.getSpec(index).getType() == type,
+                String.format("Option %s is not of type %s", name, type));
+        return index;
+    }
+
+    private int requireValue(String name, OptionType type) throws LaboratoryFrameworkException {
+        int index = requireType(name, type);
+        ValidationUtils.requireNonNull(values[index], String.format("Option %s is not specified", name));
+        return index;
+    }
+}
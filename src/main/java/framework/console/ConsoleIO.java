@@ -0,0 +1,58 @@
+package framework.console;
+
+import framework.exception.LaboratoryFrameworkException;
+
+import java.io.Reader;
+import java.io.Writer;
+
+/**
+ * Abstraction over console input and output used by application, commands and {@link framework.utils.ConsoleUtils}.
+ * Output may be buffered, so it is guaranteed to be visible only after {@link #flush()}
+ */
+public interface ConsoleIO {
+
+    /**
+     * @return next line without line terminator or null if the end of input has been reached
+     * @throws LaboratoryFrameworkException if any IOException has occurred
+     */
+    String readLine() throws LaboratoryFrameworkException;
+
+    /**
+     * @throws LaboratoryFrameworkException if given string is null or any IOException has occurred
+     */
+    void print(String s) throws LaboratoryFrameworkException;
+
+    /**
+     * Prints supplied range of characters
+     *
+     * @throws LaboratoryFrameworkException if given array is null or any IOException has occurred
+     */
+    void print(char[] chars, int offset, int length) throws LaboratoryFrameworkException;
+
+    /**
+     * Prints string with line separator at the end
+     *
+     * @throws LaboratoryFrameworkException if given string is null or any IOException has occurred
+     */
+    void println(String s) throws LaboratoryFrameworkException;
+
+    /**
+     * Writes all buffered output to the underlying stream
+     *
+     * @throws LaboratoryFrameworkException if any IOException has occurred
+     */
+    void flush() throws LaboratoryFrameworkException;
+
+    /**
+     * @return console that reads lines from supplied reader and shares output with this console
+     */
+    ConsoleIO withInput(Reader reader);
+
+    /**
+     * @return writer which prints to this console, closing it only flushes the console
+     */
+    default Writer asWriter() {
+        return new ConsoleWriter(this);
+    }
+
+}
@@ -0,0 +1,7 @@
+package framework.console;
+
+public interface ConsoleIOAware {
+
+    void setConsoleIO(ConsoleIO consoleIO);
+
+}
@@ -0,0 +1,51 @@
+package framework.console;
+
+import framework.exception.LaboratoryFrameworkException;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writer over {@link ConsoleIO}, so text produced by streaming APIs is printed without building a string first.
+ * Closing the writer does not close the console
+ */
+final class ConsoleWriter extends Writer {
+
+    private final ConsoleIO consoleIO;
+
+    ConsoleWriter(ConsoleIO consoleIO) {
+        this.consoleIO = consoleIO;
+    }
+
+    @Override
+    public void write(char[] chars, int offset, int length) throws IOException {
+        try {
+            consoleIO.print(chars, offset, length);
+        } catch (LaboratoryFrameworkException e) {
+            throw new IOException(e);
+        }
+    }
+
+    @Override
+    public void write(String s) throws IOException {
+        try {
+            consoleIO.print(s);
+        } catch (LaboratoryFrameworkException e) {
+            throw new IOException(e);
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        try {
+            consoleIO.flush();
+        } catch (LaboratoryFrameworkException e) {
+            throw new IOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+    }
+}
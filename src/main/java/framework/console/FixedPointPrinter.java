@@ -0,0 +1,198 @@
+package framework.console;
+
+import framework.exception.LaboratoryFrameworkException;
+import framework.utils.ValidationUtils;
+
+import javax.annotation.concurrent.NotThreadSafe;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.CharBuffer;
+
+/**
+ * Class writes numbers with fixed count of digits after point directly into reusable char buffer,
+ * without boxing and format string parsing. Buffer is written to the sink when it is full and on {@link #flush()}.
+ * Output corresponds with '%.nf' pattern except that decimal separator is always '.'.
+ * Scaled values which are too close to the rounding boundary to be rounded by double arithmetic exactly
+ * are rounded via {@link BigDecimal}
+ */
+@NotThreadSafe
+public final class FixedPointPrinter {
+
+    private static final int DEFAULT_BUFFER_SIZE = 1 << 13;
+
+    private static final int MAX_FAST_PATH_PRECISION = 15;
+
+    /**
+     * Values which are greater after scaling are printed via {@link BigDecimal},
+     * because above it ulp of double is at least 1 and fraction of scaled value is lost
+     */
+    private static final double MAX_FAST_PATH_SCALED_VALUE = 0x1p52;
+
+    /**
+     * Scaled value differs from scaled decimal representation of the value by at most 1.5 ulp:
+     * 0.5 ulp of multiplication and up to 1 ulp of the representation itself
+     */
+    private static final double ROUNDING_BOUNDARY_ULPS = 2;
+
+    private static final long[] POWERS_OF_TEN = new long[MAX_FAST_PATH_PRECISION + 1];
+
+    private static final char[] NAN = "NaN".toCharArray();
+
+    private static final char[] INFINITY = "Infinity".toCharArray();
+
+    private static final char[] LINE_SEPARATOR = System.lineSeparator().toCharArray();
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private final Sink sink;
+
+    private final char[] buffer;
+
+    private int size;
+
+    public FixedPointPrinter(ConsoleIO consoleIO) {
+        ValidationUtils.requireNonNull(consoleIO);
+        this.sink = consoleIO::print;
+        this.buffer = new char[DEFAULT_BUFFER_SIZE];
+    }
+
+    public FixedPointPrinter(Appendable appendable) {
+        ValidationUtils.requireNonNull(appendable);
+        this.sink = (chars, offset, length) -> {
+            try {
+                appendable.append(CharBuffer.wrap(chars, offset, length));
+            } catch (IOException e) {
+                throw new LaboratoryFrameworkException(e);
+            }
+        };
+        this.buffer = new char[DEFAULT_BUFFER_SIZE];
+    }
+
+    /**
+     * Appends value rounded half up to numbersAfterPoint digits after point
+     *
+     * @throws LaboratoryFrameworkException if numbersAfterPoint < 0
+     */
+    public FixedPointPrinter append(double value, int numbersAfterPoint) throws LaboratoryFrameworkException {
+        if (numbersAfterPoint < 0) {
+            throw new LaboratoryFrameworkException("numbersAfterPoint must be >= 0");
+        }
+        if (Double.isNaN(value)) {
+            return append(NAN);
+        }
+        boolean negative = Double.doubleToRawLongBits(value) < 0;
+        if (negative) {
+            append('-');
+        }
+        double absolute = Math.abs(value);
+        if (Double.isInfinite(absolute)) {
+            return append(INFINITY);
+        }
+        if (numbersAfterPoint > MAX_FAST_PATH_PRECISION) {
+            return appendRoundedExactly(absolute, numbersAfterPoint);
+        }
+        long power = POWERS_OF_TEN[numbersAfterPoint];
+        double scaledValue = absolute * power;
+        if (scaledValue >= MAX_FAST_PATH_SCALED_VALUE) {
+            return appendRoundedExactly(absolute, numbersAfterPoint);
+        }
+        double integerPart = Math.floor(scaledValue);
+        double fraction = scaledValue - integerPart;
+        if (Math.abs(fraction - 0.5) <= ROUNDING_BOUNDARY_ULPS * Math.ulp(scaledValue)) {
+            return appendRoundedExactly(absolute, numbersAfterPoint);
+        }
+        long scaled = (long) integerPart + (fraction > 0.5 ? 1 : 0);
+        appendDigits(scaled / power, 0);
+        if (numbersAfterPoint > 0) {
+            append('.');
+            appendDigits(scaled % power, numbersAfterPoint);
+        }
+        return this;
+    }
+
+    public FixedPointPrinter append(char c) {
+        ensureCapacity(1);
+        buffer[size++] = c;
+        return this;
+    }
+
+    public FixedPointPrinter append(String s) {
+        ValidationUtils.requireNonNull(s);
+        int offset = 0;
+        while (offset < s.length()) {
+            ensureCapacity(1);
+            int count = Math.min(s.length() - offset, buffer.length - size);
+            s.getChars(offset, offset + count, buffer, size);
+            size += count;
+            offset += count;
+        }
+        return this;
+    }
+
+    public FixedPointPrinter newLine() {
+        return append(LINE_SEPARATOR);
+    }
+
+    /**
+     * Writes buffered characters to the sink
+     */
+    public void flush() throws LaboratoryFrameworkException {
+        if (size > 0) {
+            sink.write(buffer, 0, size);
+            size = 0;
+        }
+    }
+
+    private FixedPointPrinter appendRoundedExactly(double absolute, int numbersAfterPoint) {
+        return append(BigDecimal.valueOf(absolute).setScale(numbersAfterPoint, RoundingMode.HALF_UP).toPlainString());
+    }
+
+    private FixedPointPrinter append(char[] chars) {
+        ensureCapacity(chars.length);
+        System.arraycopy(chars, 0, buffer, size, chars.length);
+        size += chars.length;
+        return this;
+    }
+
+    /**
+     * Appends non-negative value padded with leading zeros up to minDigits
+     */
+    private void appendDigits(long value, int minDigits) {
+        int digits = Math.max(digitCount(value), minDigits);
+        ensureCapacity(digits);
+        int position = size + digits;
+        for (int i = 0; i < digits; i++) {
+            buffer[--position] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        size += digits;
+    }
+
+    private static int digitCount(long value) {
+        int count = 1;
+        while (value >= 10) {
+            value /= 10;
+            count++;
+        }
+        return count;
+    }
+
+    private void ensureCapacity(int length) {
+        if (buffer.length - size < length) {
+            flush();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Sink {
+
+        void write(char[] chars, int offset, int length);
+
+    }
+}
@@ -0,0 +1,144 @@
+package framework.console;
+
+import framework.exception.LaboratoryFrameworkException;
+import framework.utils.ValidationUtils;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * {@link ConsoleIO} implementation over a single buffered reader and a single buffered writer.
+ * Input and output are guarded by different locks, so printing is not blocked by a thread waiting for input.
+ * Output is flushed before waiting for the interactive input, so prompts and questions are always visible
+ */
+@ThreadSafe
+public class StreamConsoleIO implements ConsoleIO {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final BufferedReader reader;
+
+    private final Writer writer;
+
+    private final Object inputLock = new Object();
+
+    private final Object outputLock;
+
+    private final boolean flushBeforeRead;
+
+    public StreamConsoleIO(InputStream inputStream, OutputStream outputStream) {
+        this(inputStream, outputStream, StandardCharsets.UTF_8);
+    }
+
+    public StreamConsoleIO(InputStream inputStream, OutputStream outputStream, Charset charset) {
+        this(new InputStreamReader(inputStream, charset), new OutputStreamWriter(outputStream, charset));
+    }
+
+    public StreamConsoleIO(Reader reader, Writer writer) {
+        this(toBufferedReader(reader), new BufferedWriter(writer, BUFFER_SIZE), new Object(), true);
+    }
+
+    private StreamConsoleIO(BufferedReader reader, Writer writer, Object outputLock, boolean flushBeforeRead) {
+        this.reader = reader;
+        this.writer = writer;
+        this.outputLock = outputLock;
+        this.flushBeforeRead = flushBeforeRead;
+    }
+
+    /**
+     * @return console over {@link System#in} and {@link System#out}, which is flushed on JVM shutdown
+     */
+    public static StreamConsoleIO ofStandardStreams() {
+        StreamConsoleIO out = new StreamConsoleIO(System.in, System.out, Charset.defaultCharset());
+        Runtime.getRuntime().addShutdownHook(new Thread(out::flush));
+        return out;
+    }
+
+    @Override
+    public String readLine() throws LaboratoryFrameworkException {
+        if (flushBeforeRead) {
+            flush();
+        }
+        synchronized (inputLock) {
+            try {
+                return reader.readLine();
+            } catch (IOException e) {
+                throw new LaboratoryFrameworkException(e);
+            }
+        }
+    }
+
+    @Override
+    public void print(String s) throws LaboratoryFrameworkException {
+        ValidationUtils.requireNonNull(s);
+        synchronized (outputLock) {
+            try {
+                writer.write(s);
+            } catch (IOException e) {
+                throw new LaboratoryFrameworkException(e);
+            }
+        }
+    }
+
+    @Override
+    public void print(char[] chars, int offset, int length) throws LaboratoryFrameworkException {
+        ValidationUtils.requireNonNull(chars);
+        synchronized (outputLock) {
+            try {
+                writer.write(chars, offset, length);
+            } catch (IOException e) {
+                throw new LaboratoryFrameworkException(e);
+            }
+        }
+    }
+
+    @Override
+    public void println(String s) throws LaboratoryFrameworkException {
+        ValidationUtils.requireNonNull(s);
+        synchronized (outputLock) {
+            try {
+                writer.write(s);
+                writer.write(System.lineSeparator());
+            } catch (IOException e) {
+                throw new LaboratoryFrameworkException(e);
+            }
+        }
+    }
+
+    @Override
+    public void flush() throws LaboratoryFrameworkException {
+        synchronized (outputLock) {
+            try {
+                writer.flush();
+            } catch (IOException e) {
+                throw new LaboratoryFrameworkException(e);
+            }
+        }
+    }
+
+    /**
+     * Supplied reader is treated as non-interactive, so output is not flushed before reading from it
+     */
+    @Override
+    public ConsoleIO withInput(Reader reader) {
+        return new StreamConsoleIO(toBufferedReader(reader), writer, outputLock, false);
+    }
+
+    private static BufferedReader toBufferedReader(Reader reader) {
+        ValidationUtils.requireNonNull(reader);
+        if (reader instanceof BufferedReader) {
+            return (BufferedReader) reader;
+        }
+        return new BufferedReader(reader, BUFFER_SIZE);
+    }
+}
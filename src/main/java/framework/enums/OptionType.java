@@ -0,0 +1,15 @@
+package framework.enums;
+
+/**
+ * Types of command options, values of typed options are converted once while arguments are parsed.
+ * Option of type BOOLEAN may be supplied as flag without value, e.g. --verbose
+ */
+public enum OptionType {
+
+    STRING,
+    INTEGER,
+    LONG,
+    DOUBLE,
+    BOOLEAN
+
+}
@@ -1,23 +1,43 @@
 package framework.enums;
 
+import framework.matrix.CsrMatrix;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.math3.analysis.polynomials.PolynomialFunction;
+import org.apache.commons.math3.complex.Complex;
+import org.apache.commons.math3.geometry.euclidean.oned.Interval;
+import org.apache.commons.math3.linear.RealMatrix;
+import org.apache.commons.math3.linear.RealVector;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Types of variables, each type knows the class which every value of the variable is instance of
+ */
+@Getter
+@RequiredArgsConstructor
 public enum VariableType {
 
-    BIG_DECIMAL,
-    BIG_INTEGER,
-    BYTE,
-    SHORT,
-    INTEGER,
-    LONG,
-    BOOLEAN,
-    CHARACTER,
-    FLOAT,
-    DOUBLE,
-    STRING,
-    VECTOR,
-    MATRIX,
-    POLYNOMIAL_FUNCTION,
-    COMPLEX_NUMBER,
-    INTERVAL,
-    OBJECT;
+    BIG_DECIMAL(BigDecimal.class),
+    BIG_INTEGER(BigInteger.class),
+    BYTE(Byte.class),
+    SHORT(Short.class),
+    INTEGER(Integer.class),
+    LONG(Long.class),
+    BOOLEAN(Boolean.class),
+    CHARACTER(Character.class),
+    FLOAT(Float.class),
+    DOUBLE(Double.class),
+    STRING(String.class),
+    VECTOR(RealVector.class),
+    MATRIX(RealMatrix.class),
+    SPARSE_MATRIX(CsrMatrix.class),
+    POLYNOMIAL_FUNCTION(PolynomialFunction.class),
+    COMPLEX_NUMBER(Complex.class),
+    INTERVAL(Interval.class),
+    OBJECT(Object.class);
+
+    private final Class<?> valueClass;
 
 }
@@ -0,0 +1,120 @@
+package framework.job;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Command submitted for the asynchronous execution
+ */
+@ThreadSafe
+@Getter
+public final class Job {
+
+    private final int id;
+
+    private final String commandLine;
+
+    private final long startTimeMillis = System.currentTimeMillis();
+
+    private volatile long endTimeMillis;
+
+    /**
+     * Value in range [0, 1] reported by command via {@link JobManager#reportProgress(double)}
+     * or negative value if command does not report progress
+     */
+    private volatile double progress = -1;
+
+    private volatile String failureMessage;
+
+    @Getter(AccessLevel.NONE)
+    private final AtomicReference<JobStatus> status = new AtomicReference<>(JobStatus.RUNNING);
+
+    @Getter(AccessLevel.NONE)
+    private final StringBuilder unfinishedLine = new StringBuilder();
+
+    @Getter(AccessLevel.NONE)
+    private volatile Future<?> future;
+
+    Job(int id, String commandLine) {
+        this.id = id;
+        this.commandLine = commandLine;
+    }
+
+    public JobStatus getStatus() {
+        return status.get();
+    }
+
+    public boolean isFinished() {
+        return getStatus() != JobStatus.RUNNING;
+    }
+
+    public long getElapsedMillis() {
+        long end = isFinished() ? endTimeMillis : System.currentTimeMillis();
+        return end - startTimeMillis;
+    }
+
+    /**
+     * @return prefix used to tag output of the job
+     */
+    public String getTag() {
+        return String.format("[job-%d] ", id);
+    }
+
+    void setFuture(Future<?> future) {
+        this.future = future;
+    }
+
+    Future<?> getFuture() {
+        return future;
+    }
+
+    void setProgress(double progress) {
+        this.progress = progress;
+    }
+
+    /**
+     * @return true if status has been changed, false if job has already been finished
+     */
+    boolean finish(JobStatus finalStatus, String failureMessage) {
+        if (status.compareAndSet(JobStatus.RUNNING, finalStatus)) {
+            this.failureMessage = failureMessage;
+            this.endTimeMillis = System.currentTimeMillis();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Appends output of job and returns lines completed by it
+     */
+    String appendOutput(CharSequence chars) {
+        synchronized (unfinishedLine) {
+            unfinishedLine.append(chars);
+            int lastLineEnd = unfinishedLine.lastIndexOf("\n");
+            if (lastLineEnd < 0) {
+                return null;
+            }
+            String completed = unfinishedLine.substring(0, lastLineEnd + 1);
+            unfinishedLine.delete(0, lastLineEnd + 1);
+            return completed;
+        }
+    }
+
+    /**
+     * @return output that has not been terminated by line separator or null if there is no such output
+     */
+    String takeUnfinishedLine() {
+        synchronized (unfinishedLine) {
+            if (unfinishedLine.length() == 0) {
+                return null;
+            }
+            String out = unfinishedLine.toString();
+            unfinishedLine.setLength(0);
+            return out;
+        }
+    }
+}
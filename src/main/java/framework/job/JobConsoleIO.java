@@ -0,0 +1,92 @@
+package framework.job;
+
+import framework.console.ConsoleIO;
+import framework.exception.LaboratoryFrameworkException;
+import framework.utils.ValidationUtils;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.io.Reader;
+import java.nio.CharBuffer;
+
+/**
+ * Console decorator that tags every line printed by a job with {@link Job#getTag()}.
+ * Lines are printed and flushed only when they are complete, so output of concurrent jobs is not mixed within a line.
+ * Jobs are not allowed to read console input
+ */
+@ThreadSafe
+public final class JobConsoleIO implements ConsoleIO {
+
+    private final ConsoleIO delegate;
+
+    public JobConsoleIO(ConsoleIO delegate) {
+        ValidationUtils.requireNonNull(delegate);
+        this.delegate = delegate;
+    }
+
+    @Override
+    public String readLine() throws LaboratoryFrameworkException {
+        if (JobManager.getCurrentJob() != null) {
+            throw new LaboratoryFrameworkException("Background jobs cannot read console input");
+        }
+        return delegate.readLine();
+    }
+
+    @Override
+    public void print(String s) throws LaboratoryFrameworkException {
+        ValidationUtils.requireNonNull(s);
+        Job job = JobManager.getCurrentJob();
+        if (job == null) {
+            delegate.print(s);
+        } else {
+            printTagged(job, s);
+        }
+    }
+
+    @Override
+    public void print(char[] chars, int offset, int length) throws LaboratoryFrameworkException {
+        ValidationUtils.requireNonNull(chars);
+        Job job = JobManager.getCurrentJob();
+        if (job == null) {
+            delegate.print(chars, offset, length);
+        } else {
+            printTagged(job, CharBuffer.wrap(chars, offset, length));
+        }
+    }
+
+    @Override
+    public void println(String s) throws LaboratoryFrameworkException {
+        ValidationUtils.requireNonNull(s);
+        Job job = JobManager.getCurrentJob();
+        if (job == null) {
+            delegate.println(s);
+        } else {
+            printTagged(job, s.concat(System.lineSeparator()));
+        }
+    }
+
+    @Override
+    public void flush() throws LaboratoryFrameworkException {
+        delegate.flush();
+    }
+
+    @Override
+    public ConsoleIO withInput(Reader reader) {
+        return new JobConsoleIO(delegate.withInput(reader));
+    }
+
+    private void printTagged(Job job, CharSequence chars) {
+        String completedLines = job.appendOutput(chars);
+        if (completedLines == null) {
+            return;
+        }
+        StringBuilder tagged = new StringBuilder(completedLines.length() + job.getTag().length());
+        int lineStart = 0;
+        while (lineStart < completedLines.length()) {
+            int lineEnd = completedLines.indexOf('\n', lineStart) + 1;
+            tagged.append(job.getTag()).append(completedLines, lineStart, lineEnd);
+            lineStart = lineEnd;
+        }
+        delegate.print(tagged.toString());
+        delegate.flush();
+    }
+}
@@ -0,0 +1,184 @@
+package framework.job;
+
+import framework.console.ConsoleIO;
+import framework.exception.LaboratoryFrameworkException;
+import framework.utils.ValidationUtils;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Class executes commands asynchronously and keeps track of submitted jobs.
+ * Jobs are cancelled via thread interruption, long-running commands should check it
+ * with {@link #checkCancelled()} and may report progress with {@link #reportProgress(double)}
+ */
+@ThreadSafe
+public final class JobManager {
+
+    private static final ThreadLocal<Job> CURRENT_JOB = new ThreadLocal<>();
+
+    private final AtomicInteger jobCounter = new AtomicInteger();
+
+    private final Map<Integer, Job> jobs = new ConcurrentSkipListMap<>();
+
+    private final ExecutorService executor;
+
+    private final ConsoleIO consoleIO;
+
+    /**
+     * @param consoleIO - console for messages about started and finished jobs
+     */
+    public JobManager(ConsoleIO consoleIO) {
+        ValidationUtils.requireNonNull(consoleIO);
+        this.consoleIO = consoleIO;
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable);
+            thread.setName(String.format("laboratory-job-%d", thread.getId()));
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * @return job that is executed by the current thread or null if current thread does not execute any job
+     */
+    public static Job getCurrentJob() {
+        return CURRENT_JOB.get();
+    }
+
+    /**
+     * Reports progress of the job executed by the current thread, does nothing if there is no such job
+     *
+     * @param progress - value in range [0, 1]
+     * @throws LaboratoryFrameworkException if job has been cancelled
+     */
+    public static void reportProgress(double progress) throws LaboratoryFrameworkException {
+        ValidationUtils.requireBetweenClosed(progress, 0.0, 1.0, "Progress must be in range [0, 1]");
+        Job job = CURRENT_JOB.get();
+        if (job != null) {
+            job.setProgress(progress);
+        }
+        checkCancelled();
+    }
+
+    /**
+     * @throws LaboratoryFrameworkException if current thread has been interrupted
+     */
+    public static void checkCancelled() throws LaboratoryFrameworkException {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new LaboratoryFrameworkException("Job has been cancelled");
+        }
+    }
+
+    public Job submit(String commandLine, Runnable command) {
+        ValidationUtils.requireNonNull(commandLine, command);
+        Job job = new Job(jobCounter.incrementAndGet(), commandLine);
+        consoleIO.println(String.format("%sstarted: %s", job.getTag(), commandLine));
+        job.setFuture(executor.submit(() -> execute(job, command)));
+        jobs.put(job.getId(), job);
+        return job;
+    }
+
+    private void execute(Job job, Runnable command) {
+        JobStatus status = JobStatus.DONE;
+        String failureMessage = null;
+        CURRENT_JOB.set(job);
+        try {
+            command.run();
+        } catch (Throwable e) {
+            if (Thread.currentThread().isInterrupted()) {
+                status = JobStatus.CANCELLED;
+            } else {
+                status = JobStatus.FAILED;
+                failureMessage = String.valueOf(e.getMessage());
+            }
+        } finally {
+            CURRENT_JOB.remove();
+        }
+        finish(job, status, failureMessage);
+    }
+
+    private void finish(Job job, JobStatus status, String failureMessage) {
+        String unfinishedLine = job.takeUnfinishedLine();
+        if (unfinishedLine != null) {
+            consoleIO.println(job.getTag().concat(unfinishedLine));
+        }
+        if (job.finish(status, failureMessage)) {
+            consoleIO.println(describeFinished(job));
+        }
+        consoleIO.flush();
+    }
+
+    private static String describeFinished(Job job) {
+        if (job.getStatus() == JobStatus.FAILED) {
+            return String.format("%sfailed after %d ms: %s", job.getTag(), job.getElapsedMillis(), job.getFailureMessage());
+        }
+        return String.format("%s%s in %d ms", job.getTag(), job.getStatus().name().toLowerCase(), job.getElapsedMillis());
+    }
+
+    public Job getJob(int id) {
+        return jobs.get(id);
+    }
+
+    /**
+     * @return all jobs ordered by id
+     */
+    public List<Job> getJobs() {
+        return new ArrayList<>(jobs.values());
+    }
+
+    /**
+     * Interrupts thread that executes the job
+     *
+     * @return false if job has already been finished
+     */
+    public boolean cancel(Job job) {
+        ValidationUtils.requireNonNull(job);
+        if (job.isFinished()) {
+            return false;
+        }
+        job.getFuture().cancel(true);
+        if (job.finish(JobStatus.CANCELLED, null)) {
+            consoleIO.println(describeFinished(job));
+        }
+        return true;
+    }
+
+    /**
+     * Waits until job is finished
+     *
+     * @param timeoutMillis - maximal time to wait, not positive value means waiting without timeout
+     * @return false if timeout has elapsed before the job was finished
+     * @throws LaboratoryFrameworkException if waiting thread has been interrupted
+     */
+    public boolean await(Job job, long timeoutMillis) throws LaboratoryFrameworkException {
+        ValidationUtils.requireNonNull(job);
+        Future<?> future = job.getFuture();
+        try {
+            if (timeoutMillis > 0) {
+                future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            } else {
+                future.get();
+            }
+        } catch (TimeoutException e) {
+            return false;
+        } catch (CancellationException | ExecutionException e) {
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LaboratoryFrameworkException("Waiting has been interrupted", e);
+        }
+        return true;
+    }
+}
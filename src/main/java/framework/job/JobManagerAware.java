@@ -0,0 +1,7 @@
+package framework.job;
+
+public interface JobManagerAware {
+
+    void setJobManager(JobManager jobManager);
+
+}
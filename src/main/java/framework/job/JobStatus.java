@@ -0,0 +1,10 @@
+package framework.job;
+
+public enum JobStatus {
+
+    RUNNING,
+    DONE,
+    FAILED,
+    CANCELLED;
+
+}
@@ -0,0 +1,40 @@
+package framework.matrix;
+
+import framework.utils.ValidationUtils;
+import lombok.Getter;
+import org.apache.commons.math3.linear.AbstractRealMatrix;
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
+import org.apache.commons.math3.linear.RealMatrix;
+
+/**
+ * Matrix which does not copy entries of the underlying matrix but maps its indices to the indices
+ * of the underlying one. Changes of entries are written through to the underlying matrix
+ */
+@Getter
+public abstract class AbstractMatrixView extends AbstractRealMatrix implements Materializable {
+
+    protected final RealMatrix base;
+
+    protected AbstractMatrixView(RealMatrix base) {
+        ValidationUtils.requireNonNull(base, "Matrix must not be null");
+        this.base = base;
+    }
+
+    @Override
+    public RealMatrix createMatrix(int rowDimension, int columnDimension) {
+        return new Array2DRowRealMatrix(rowDimension, columnDimension);
+    }
+
+    /**
+     * @return dense copy, see {@link #materialize()}
+     */
+    @Override
+    public RealMatrix copy() {
+        return materialize();
+    }
+
+    @Override
+    public RealMatrix materialize() {
+        return new Array2DRowRealMatrix(getData(), false);
+    }
+}
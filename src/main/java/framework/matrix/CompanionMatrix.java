@@ -0,0 +1,223 @@
+package framework.matrix;
+
+import framework.exception.LaboratoryFrameworkException;
+import framework.utils.ValidationUtils;
+import org.apache.commons.math3.linear.AbstractRealMatrix;
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
+import org.apache.commons.math3.linear.ArrayRealVector;
+import org.apache.commons.math3.linear.MatrixUtils;
+import org.apache.commons.math3.linear.RealMatrix;
+import org.apache.commons.math3.linear.RealVector;
+
+/**
+ * Frobenius (companion) matrix of polynomial with coefficients a0..an-1: ones above the main diagonal,
+ * -a0..-an-1 in the last row and zeros elsewhere. Only the last row is stored, so matrix-vector products
+ * take O(n) time and products with dense n x n matrices take O(n^2) time.
+ * Only entries of the last row can be changed. Like implicit zeros of sparse matrices, entries outside
+ * the last row are not multiplied, while stored entries are, so zero coefficient times NaN or infinity gives NaN
+ */
+public class CompanionMatrix extends AbstractRealMatrix implements Materializable {
+
+    private final double[] lastRow;
+
+    /**
+     * @throws LaboratoryFrameworkException if there are less than 2 coefficients
+     */
+    public CompanionMatrix(double[] coefficients) throws LaboratoryFrameworkException {
+        if (coefficients == null || coefficients.length <= 1) {
+            throw new LaboratoryFrameworkException("Invalid coefficient array");
+        }
+        this.lastRow = new double[coefficients.length];
+        for (int i = 0; i < coefficients.length; i++) {
+            lastRow[i] = -1 * coefficients[i];
+        }
+    }
+
+    private CompanionMatrix(CompanionMatrix matrix) {
+        this.lastRow = matrix.lastRow.clone();
+    }
+
+    /**
+     * @return coefficients a0..an-1
+     */
+    public double[] getCoefficients() {
+        double[] out = new double[lastRow.length];
+        for (int i = 0; i < out.length; i++) {
+            out[i] = -1 * lastRow[i];
+        }
+        return out;
+    }
+
+    @Override
+    public int getRowDimension() {
+        return lastRow.length;
+    }
+
+    @Override
+    public int getColumnDimension() {
+        return lastRow.length;
+    }
+
+    @Override
+    public double getEntry(int row, int column) {
+        MatrixUtils.checkMatrixIndex(this, row, column);
+        if (row == lastRow.length - 1) {
+            return lastRow[column];
+        }
+        return column == row + 1 ? 1 : 0;
+    }
+
+    /**
+     * @throws LaboratoryFrameworkException if entry is not in the last row and value differs from the current one
+     */
+    @Override
+    public void setEntry(int row, int column, double value) throws LaboratoryFrameworkException {
+        MatrixUtils.checkMatrixIndex(this, row, column);
+        if (row == lastRow.length - 1) {
+            lastRow[column] = value;
+        } else if (getEntry(row, column) != value) {
+            throw new LaboratoryFrameworkException("Only the last row of companion matrix can be changed");
+        }
+    }
+
+    @Override
+    public RealMatrix createMatrix(int rowDimension, int columnDimension) {
+        return new Array2DRowRealMatrix(rowDimension, columnDimension);
+    }
+
+    @Override
+    public CompanionMatrix copy() {
+        return new CompanionMatrix(this);
+    }
+
+    @Override
+    public RealMatrix materialize() {
+        return new Array2DRowRealMatrix(getData(), false);
+    }
+
+    @Override
+    public double[] operate(double[] v) {
+        ValidationUtils.requireNonNull(v);
+        ValidationUtils.requireEquals(v.length, lastRow.length, "Vector length must be equal to matrix dimension");
+        int n = lastRow.length;
+        double[] out = new double[n];
+        System.arraycopy(v, 1, out, 0, n - 1);
+        double last = 0;
+        for (int j = 0; j < n; j++) {
+            last += lastRow[j] * v[j];
+        }
+        out[n - 1] = last;
+        return out;
+    }
+
+    @Override
+    public RealVector operate(RealVector v) {
+        ValidationUtils.requireNonNull(v);
+        return new ArrayRealVector(operate(v.toArray()), false);
+    }
+
+    @Override
+    public double[] preMultiply(double[] v) {
+        ValidationUtils.requireNonNull(v);
+        ValidationUtils.requireEquals(v.length, lastRow.length, "Vector length must be equal to matrix dimension");
+        double[] out = new double[lastRow.length];
+        preMultiply(v, out);
+        return out;
+    }
+
+    @Override
+    public RealVector preMultiply(RealVector v) {
+        ValidationUtils.requireNonNull(v);
+        return new ArrayRealVector(preMultiply(v.toArray()), false);
+    }
+
+    /**
+     * Computes this * m in O(n * m.columnCount): rows 0..n-2 of the product are rows 1..n-1 of m
+     */
+    @Override
+    public RealMatrix multiply(RealMatrix m) {
+        MatrixUtils.checkMultiplicationCompatible(this, m);
+        int n = lastRow.length;
+        double[][] out = new double[n][];
+        for (int i = 0; i < n - 1; i++) {
+            out[i] = m.getRow(i + 1);
+        }
+        double[] last = new double[m.getColumnDimension()];
+        for (int k = 0; k < n; k++) {
+            double coefficient = lastRow[k];
+            double[] row = m instanceof Array2DRowRealMatrix ? ((Array2DRowRealMatrix) m).getDataRef()[k] : m.getRow(k);
+            for (int j = 0; j < last.length; j++) {
+                last[j] += coefficient * row[j];
+            }
+        }
+        out[n - 1] = last;
+        return new Array2DRowRealMatrix(out, false);
+    }
+
+    /**
+     * Computes m * this in O(m.rowCount * n): every row of the product is the row of m multiplied by this matrix
+     */
+    @Override
+    public RealMatrix preMultiply(RealMatrix m) {
+        MatrixUtils.checkMultiplicationCompatible(m, this);
+        double[][] out = new double[m.getRowDimension()][lastRow.length];
+        for (int i = 0; i < out.length; i++) {
+            double[] row = m instanceof Array2DRowRealMatrix ? ((Array2DRowRealMatrix) m).getDataRef()[i] : m.getRow(i);
+            preMultiply(row, out[i]);
+        }
+        return new Array2DRowRealMatrix(out, false);
+    }
+
+    /**
+     * Row i of A^p is the unit row e(i+p) if i + p < n, otherwise it is e(n-1) * A^(i+p-n+1),
+     * so rows are computed by p vector-matrix products in O(n * p) time. If p is so large that
+     * it is slower than dense exponentiation by squaring, the latter is used
+     *
+     * @throws LaboratoryFrameworkException if p < 0
+     */
+    @Override
+    public RealMatrix power(int p) throws LaboratoryFrameworkException {
+        ValidationUtils.requireGreaterOrEqualThan(p, 0, "Power must be >= 0");
+        int n = lastRow.length;
+        if (p == 0) {
+            return framework.utils.MatrixUtils.getElementaryMatrix(n);
+        }
+        if (p == 1) {
+            return copy();
+        }
+        int squaringCount = 32 - Integer.numberOfLeadingZeros(p);
+        if ((long) p > 2L * n * n * squaringCount) {
+            return framework.utils.MatrixUtils.power(materialize(), p);
+        }
+        double[][] out = new double[n][];
+        for (int i = 0; i < n && i + p < n; i++) {
+            out[i] = new double[n];
+            out[i][i + p] = 1;
+        }
+        int firstComputedPower = Math.max(1, p - n + 1);
+        double[] current = lastRow.clone();
+        for (int k = 1; k <= p; k++) {
+            if (k > 1) {
+                double[] next = new double[n];
+                preMultiply(current, next);
+                current = next;
+            }
+            if (k >= firstComputedPower) {
+                out[k - p + n - 1] = current;
+            }
+        }
+        return new Array2DRowRealMatrix(out, false);
+    }
+
+    /**
+     * Writes v * this into out: out[j] = v[j-1] + v[n-1] * lastRow[j]
+     */
+    private void preMultiply(double[] v, double[] out) {
+        int n = lastRow.length;
+        double last = v[n - 1];
+        out[0] = last * lastRow[0];
+        for (int j = 1; j < n; j++) {
+            out[j] = v[j - 1] + last * lastRow[j];
+        }
+    }
+}
@@ -0,0 +1,475 @@
+package framework.matrix;
+
+import framework.exception.LaboratoryFrameworkException;
+import framework.utils.HashUtils;
+import framework.utils.ValidationUtils;
+import org.apache.commons.math3.linear.AbstractRealMatrix;
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
+import org.apache.commons.math3.linear.ArrayRealVector;
+import org.apache.commons.math3.linear.MatrixUtils;
+import org.apache.commons.math3.linear.RealMatrix;
+import org.apache.commons.math3.linear.RealVector;
+import org.apache.commons.math3.linear.SparseRealMatrix;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Sparse matrix in compressed sparse row format: nonzero entries of row i are kept in
+ * columnIndices and values at positions rowPointers[i]..rowPointers[i + 1] - 1, sorted by column.
+ * Matrix-vector products take O(nonzero count) time and are computed in parallel for large matrices.
+ * Only stored entries can be changed, matrices returned by methods inherited from {@link AbstractRealMatrix} are dense
+ */
+public class CsrMatrix extends AbstractRealMatrix implements SparseRealMatrix, Materializable {
+
+    /**
+     * Count of nonzero entries below which product is computed in the current thread
+     */
+    static final int SEQUENTIAL_THRESHOLD = 1 << 16;
+
+    private final int rowCount;
+
+    private final int columnCount;
+
+    private final int[] rowPointers;
+
+    private final int[] columnIndices;
+
+    private final double[] values;
+
+    /**
+     * Arrays are not copied. Use {@link Builder} to create matrix from entries in any order
+     *
+     * @throws LaboratoryFrameworkException if arrays are not a valid compressed sparse row structure
+     *                                      or column indices of any row are not strictly increasing
+     */
+    public CsrMatrix(int rowCount, int columnCount, int[] rowPointers, int[] columnIndices, double[] values)
+            throws LaboratoryFrameworkException {
+        ValidationUtils.requireNonNull(rowPointers, columnIndices, values);
+        ValidationUtils.requireGreaterOrEqualThan(rowCount, 1, "Matrix row count must be >= 1");
+        ValidationUtils.requireGreaterOrEqualThan(columnCount, 1, "Matrix column count must be >= 1");
+        ValidationUtils.requireTrue(rowPointers.length == rowCount + 1 && rowPointers[0] == 0
+                        && rowPointers[rowCount] == columnIndices.length && columnIndices.length == values.length,
+                "Row pointers do not correspond with entries");
+        for (int i = 0; i < rowCount; i++) {
+            ValidationUtils.requireTrue(rowPointers[i] <= rowPointers[i + 1], "Row pointers must not decrease");
+            for (int k = rowPointers[i]; k < rowPointers[i + 1]; k++) {
+                int column = columnIndices[k];
+                ValidationUtils.requireTrue(column >= 0 && column < columnCount
+                                && (k == rowPointers[i] || column > columnIndices[k - 1]),
+                        String.format("Column indices of row %d must be increasing and less than %d", i, columnCount));
+            }
+        }
+        this.rowCount = rowCount;
+        this.columnCount = columnCount;
+        this.rowPointers = rowPointers;
+        this.columnIndices = columnIndices;
+        this.values = values;
+    }
+
+    /**
+     * @return number of stored entries, all of them are nonzero unless changed by {@link #setEntry(int, int, double)}
+     */
+    public int getNonZeroCount() {
+        return values.length;
+    }
+
+    /**
+     * @return row pointers without copying, they must not be modified
+     */
+    public int[] getRowPointersRef() {
+        return rowPointers;
+    }
+
+    /**
+     * @return column indices of stored entries without copying, they must not be modified
+     */
+    public int[] getColumnIndicesRef() {
+        return columnIndices;
+    }
+
+    /**
+     * @return stored entries without copying
+     */
+    public double[] getValuesRef() {
+        return values;
+    }
+
+    @Override
+    public int getRowDimension() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnDimension() {
+        return columnCount;
+    }
+
+    @Override
+    public double getEntry(int row, int column) {
+        MatrixUtils.checkMatrixIndex(this, row, column);
+        int position = find(row, column);
+        return position >= 0 ? values[position] : 0;
+    }
+
+    /**
+     * @throws LaboratoryFrameworkException if entry is not stored and value is not zero
+     */
+    @Override
+    public void setEntry(int row, int column, double value) throws LaboratoryFrameworkException {
+        MatrixUtils.checkMatrixIndex(this, row, column);
+        int position = find(row, column);
+        if (position >= 0) {
+            values[position] = value;
+        } else if (value != 0) {
+            throw new LaboratoryFrameworkException("Only nonzero entries of sparse matrix can be changed");
+        }
+    }
+
+    @Override
+    public RealMatrix createMatrix(int rowDimension, int columnDimension) {
+        return new Array2DRowRealMatrix(rowDimension, columnDimension);
+    }
+
+    @Override
+    public CsrMatrix copy() {
+        return new CsrMatrix(rowCount, columnCount, rowPointers, columnIndices, values.clone());
+    }
+
+    @Override
+    public RealMatrix materialize() {
+        double[][] out = new double[rowCount][columnCount];
+        for (int i = 0; i < rowCount; i++) {
+            for (int k = rowPointers[i]; k < rowPointers[i + 1]; k++) {
+                out[i][columnIndices[k]] = values[k];
+            }
+        }
+        return new Array2DRowRealMatrix(out, false);
+    }
+
+    /**
+     * Computes this * v, rows are split between threads of common pool by count of nonzero entries
+     */
+    @Override
+    public double[] operate(double[] v) {
+        ValidationUtils.requireNonNull(v);
+        ValidationUtils.requireEquals(v.length, columnCount, "Vector length must be equal to matrix column dimension");
+        double[] out = new double[rowCount];
+        if (values.length <= SEQUENTIAL_THRESHOLD) {
+            operate(v, out, 0, rowCount);
+        } else {
+            ForkJoinPool.commonPool().invoke(new OperateTask(v, out, 0, rowCount));
+        }
+        return out;
+    }
+
+    @Override
+    public RealVector operate(RealVector v) {
+        ValidationUtils.requireNonNull(v);
+        double[] entries = v instanceof ArrayRealVector ? ((ArrayRealVector) v).getDataRef() : v.toArray();
+        return new ArrayRealVector(operate(entries), false);
+    }
+
+    /**
+     * Computes v * this by scattering every row, in O(nonzero count) time
+     */
+    @Override
+    public double[] preMultiply(double[] v) {
+        ValidationUtils.requireNonNull(v);
+        ValidationUtils.requireEquals(v.length, rowCount, "Vector length must be equal to matrix row dimension");
+        double[] out = new double[columnCount];
+        for (int i = 0; i < rowCount; i++) {
+            double factor = v[i];
+            for (int k = rowPointers[i]; k < rowPointers[i + 1]; k++) {
+                out[columnIndices[k]] += factor * values[k];
+            }
+        }
+        return out;
+    }
+
+    @Override
+    public RealVector preMultiply(RealVector v) {
+        ValidationUtils.requireNonNull(v);
+        return new ArrayRealVector(preMultiply(v.toArray()), false);
+    }
+
+    @Override
+    public CsrMatrix transpose() {
+        int[] pointers = new int[columnCount + 1];
+        for (int column : columnIndices) {
+            pointers[column + 1]++;
+        }
+        for (int j = 0; j < columnCount; j++) {
+            pointers[j + 1] += pointers[j];
+        }
+        int[] next = Arrays.copyOf(pointers, columnCount);
+        int[] rows = new int[values.length];
+        double[] transposed = new double[values.length];
+        for (int i = 0; i < rowCount; i++) {
+            for (int k = rowPointers[i]; k < rowPointers[i + 1]; k++) {
+                int position = next[columnIndices[k]]++;
+                rows[position] = i;
+                transposed[position] = values[k];
+            }
+        }
+        return new CsrMatrix(columnCount, rowCount, pointers, rows, transposed);
+    }
+
+    /**
+     * Compares stored entries if both matrices are sparse with the same structure, otherwise compares every entry
+     */
+    @Override
+    public boolean equals(Object object) {
+        if (!(object instanceof CsrMatrix)) {
+            return super.equals(object);
+        }
+        CsrMatrix other = (CsrMatrix) object;
+        if (rowCount != other.rowCount || columnCount != other.columnCount) {
+            return false;
+        }
+        if (!Arrays.equals(rowPointers, other.rowPointers) || !Arrays.equals(columnIndices, other.columnIndices)) {
+            return super.equals(object);
+        }
+        for (int k = 0; k < values.length; k++) {
+            if (values[k] != other.values[k]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Equals hash of {@link AbstractRealMatrix} with the same entries, zeros are skipped
+     * by multiplying hash by power of 31 instead of visiting them one by one
+     */
+    @Override
+    public int hashCode() {
+        int out = 7;
+        out = out * 31 + rowCount;
+        out = out * 31 + columnCount;
+        long next = 0;
+        for (int i = 0; i < rowCount; i++) {
+            for (int k = rowPointers[i]; k < rowPointers[i + 1]; k++) {
+                int j = columnIndices[k];
+                long position = (long) i * columnCount + j;
+                out = out * HashUtils.powerOf31(position - next) * 31 + (11 * (i + 1) + 17 * (j + 1)) * Double.hashCode(values[k]);
+                next = position + 1;
+            }
+        }
+        return out * HashUtils.powerOf31((long) rowCount * columnCount - next);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CsrMatrix{rowCount=%d, columnCount=%d, nonZeroCount=%d}",
+                rowCount, columnCount, values.length);
+    }
+
+    /**
+     * @return position of entry in values or negative number if entry is not stored
+     */
+    private int find(int row, int column) {
+        return Arrays.binarySearch(columnIndices, rowPointers[row], rowPointers[row + 1], column);
+    }
+
+    private void operate(double[] v, double[] out, int fromRow, int toRow) {
+        for (int i = fromRow; i < toRow; i++) {
+            double sum = 0;
+            for (int k = rowPointers[i]; k < rowPointers[i + 1]; k++) {
+                sum += values[k] * v[columnIndices[k]];
+            }
+            out[i] = sum;
+        }
+    }
+
+    /**
+     * Computes rows fromRow..toRow - 1 of the product. Rows are split in halves by count of nonzero entries,
+     * so rows of very different density do not unbalance the tasks
+     */
+    private final class OperateTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final double[] v;
+
+        private final double[] out;
+
+        private final int fromRow;
+
+        private final int toRow;
+
+        private OperateTask(double[] v, double[] out, int fromRow, int toRow) {
+            this.v = v;
+            this.out = out;
+            this.fromRow = fromRow;
+            this.toRow = toRow;
+        }
+
+        @Override
+        protected void compute() {
+            int from = rowPointers[fromRow];
+            int to = rowPointers[toRow];
+            if (to - from <= SEQUENTIAL_THRESHOLD || toRow - fromRow <= 1) {
+                operate(v, out, fromRow, toRow);
+                return;
+            }
+            int middle = upperBound(from + (to - from) / 2);
+            if (middle <= fromRow || middle >= toRow) {
+                middle = fromRow + (toRow - fromRow) / 2;
+            }
+            invokeAll(new OperateTask(v, out, fromRow, middle), new OperateTask(v, out, middle, toRow));
+        }
+
+        /**
+         * @return first row in fromRow..toRow whose entries start after position
+         */
+        private int upperBound(int position) {
+            int low = fromRow;
+            int high = toRow;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (rowPointers[middle] <= position) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+    }
+
+    /**
+     * Collects entries in any order. Entries with the same indices are summed, zero entries are not stored
+     */
+    public static final class Builder {
+
+        private static final int INITIAL_CAPACITY = 16;
+
+        private final int rowCount;
+
+        private final int columnCount;
+
+        private int[] rows;
+
+        private int[] columns;
+
+        private double[] values;
+
+        private int size;
+
+        public Builder(int rowCount, int columnCount) throws LaboratoryFrameworkException {
+            this(rowCount, columnCount, INITIAL_CAPACITY);
+        }
+
+        /**
+         * @param expectedCount - count of entries to be added, e.g. from the header of file
+         * @throws LaboratoryFrameworkException if any dimension is less than 1 or expectedCount is negative
+         */
+        public Builder(int rowCount, int columnCount, int expectedCount) throws LaboratoryFrameworkException {
+            ValidationUtils.requireGreaterOrEqualThan(rowCount, 1, "Matrix row count must be >= 1");
+            ValidationUtils.requireGreaterOrEqualThan(columnCount, 1, "Matrix column count must be >= 1");
+            ValidationUtils.requireGreaterOrEqualThan(expectedCount, 0, "Count of entries must be >= 0");
+            this.rowCount = rowCount;
+            this.columnCount = columnCount;
+            int capacity = Math.max(expectedCount, INITIAL_CAPACITY);
+            this.rows = new int[capacity];
+            this.columns = new int[capacity];
+            this.values = new double[capacity];
+        }
+
+        /**
+         * @throws LaboratoryFrameworkException if indices are out of matrix
+         */
+        public Builder add(int row, int column, double value) throws LaboratoryFrameworkException {
+            if (row < 0 || row >= rowCount || column < 0 || column >= columnCount) {
+                throw new LaboratoryFrameworkException(String.format("Entry (%d, %d) is out of %d x %d matrix",
+                        row, column, rowCount, columnCount));
+            }
+            if (value == 0) {
+                return this;
+            }
+            if (size == values.length) {
+                int capacity = (int) Math.min(Integer.MAX_VALUE - 8, size + (long) (size >> 1));
+                rows = Arrays.copyOf(rows, capacity);
+                columns = Arrays.copyOf(columns, capacity);
+                values = Arrays.copyOf(values, capacity);
+            }
+            rows[size] = row;
+            columns[size] = column;
+            values[size] = value;
+            size++;
+            return this;
+        }
+
+        /**
+         * Sorts entries by two passes of counting sort, by column and then stably by row, in O(size + dimensions)
+         */
+        public CsrMatrix build() {
+            int[] columnPointers = countingPointers(columns, columnCount);
+            int[] byColumn = new int[size];
+            for (int k = 0; k < size; k++) {
+                byColumn[columnPointers[columns[k]]++] = k;
+            }
+            int[] rowPointers = countingPointers(rows, rowCount);
+            int[] sorted = new int[size];
+            for (int k : byColumn) {
+                sorted[rowPointers[rows[k]]++] = k;
+            }
+            int[] outPointers = new int[rowCount + 1];
+            int[] outColumns = new int[size];
+            double[] outValues = new double[size];
+            int count = 0;
+            int position = 0;
+            for (int i = 0; i < rowCount; i++) {
+                int rowStart = count;
+                for (; position < rowPointers[i]; position++) {
+                    int k = sorted[position];
+                    if (count > rowStart && outColumns[count - 1] == columns[k]) {
+                        outValues[count - 1] += values[k];
+                    } else {
+                        outColumns[count] = columns[k];
+                        outValues[count++] = values[k];
+                    }
+                }
+                count = dropZeros(outColumns, outValues, rowStart, count);
+                outPointers[i + 1] = count;
+            }
+            return new CsrMatrix(rowCount, columnCount, outPointers,
+                    Arrays.copyOf(outColumns, count), Arrays.copyOf(outValues, count));
+        }
+
+        /**
+         * @return position of the first entry of every index in the sorted order, scattering moves it to the end
+         */
+        private int[] countingPointers(int[] indices, int dimension) {
+            int[] out = new int[dimension];
+            for (int k = 0; k < size; k++) {
+                out[indices[k]]++;
+            }
+            int start = 0;
+            for (int i = 0; i < dimension; i++) {
+                int count = out[i];
+                out[i] = start;
+                start += count;
+            }
+            return out;
+        }
+
+        /**
+         * Removes entries whose duplicates have summed up to zero
+         *
+         * @return new end of the row
+         */
+        private static int dropZeros(int[] columns, double[] values, int from, int to) {
+            int out = from;
+            for (int k = from; k < to; k++) {
+                if (values[k] != 0) {
+                    columns[out] = columns[k];
+                    values[out++] = values[k];
+                }
+            }
+            return out;
+        }
+    }
+}
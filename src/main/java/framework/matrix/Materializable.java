@@ -0,0 +1,15 @@
+package framework.matrix;
+
+import org.apache.commons.math3.linear.RealMatrix;
+
+/**
+ * Matrix which does not store its entries densely and can be converted into a dense matrix on demand
+ */
+public interface Materializable {
+
+    /**
+     * @return dense copy of the matrix, changes of which do not affect this matrix
+     */
+    RealMatrix materialize();
+
+}
@@ -0,0 +1,100 @@
+package framework.matrix;
+
+import org.apache.commons.math3.linear.MatrixUtils;
+import org.apache.commons.math3.linear.RealMatrix;
+
+/**
+ * View which records permutations of rows and columns of the underlying matrix,
+ * so swapping rows or columns takes O(1) time and does not allocate memory
+ */
+public class PermutedMatrix extends AbstractMatrixView {
+
+    private final int[] rows;
+
+    private final int[] columns;
+
+    /**
+     * Creates view with identity permutations
+     */
+    public PermutedMatrix(RealMatrix base) {
+        super(base);
+        this.rows = identity(base.getRowDimension());
+        this.columns = identity(base.getColumnDimension());
+    }
+
+    @Override
+    public int getRowDimension() {
+        return rows.length;
+    }
+
+    @Override
+    public int getColumnDimension() {
+        return columns.length;
+    }
+
+    @Override
+    public double getEntry(int row, int column) {
+        MatrixUtils.checkMatrixIndex(this, row, column);
+        return base.getEntry(rows[row], columns[column]);
+    }
+
+    @Override
+    public void setEntry(int row, int column, double value) {
+        MatrixUtils.checkMatrixIndex(this, row, column);
+        base.setEntry(rows[row], columns[column], value);
+    }
+
+    @Override
+    public void addToEntry(int row, int column, double increment) {
+        MatrixUtils.checkMatrixIndex(this, row, column);
+        base.addToEntry(rows[row], columns[column], increment);
+    }
+
+    @Override
+    public void multiplyEntry(int row, int column, double factor) {
+        MatrixUtils.checkMatrixIndex(this, row, column);
+        base.multiplyEntry(rows[row], columns[column], factor);
+    }
+
+    public void swapRows(int index1, int index2) {
+        MatrixUtils.checkRowIndex(this, index1);
+        MatrixUtils.checkRowIndex(this, index2);
+        swap(rows, index1, index2);
+    }
+
+    public void swapColumns(int index1, int index2) {
+        MatrixUtils.checkColumnIndex(this, index1);
+        MatrixUtils.checkColumnIndex(this, index2);
+        swap(columns, index1, index2);
+    }
+
+    /**
+     * @return index of the underlying matrix row, which is the row of this matrix
+     */
+    public int getBaseRow(int row) {
+        MatrixUtils.checkRowIndex(this, row);
+        return rows[row];
+    }
+
+    /**
+     * @return index of the underlying matrix column, which is the column of this matrix
+     */
+    public int getBaseColumn(int column) {
+        MatrixUtils.checkColumnIndex(this, column);
+        return columns[column];
+    }
+
+    private static int[] identity(int length) {
+        int[] out = new int[length];
+        for (int i = 0; i < length; i++) {
+            out[i] = i;
+        }
+        return out;
+    }
+
+    private static void swap(int[] array, int index1, int index2) {
+        int tmp = array[index1];
+        array[index1] = array[index2];
+        array[index2] = tmp;
+    }
+}
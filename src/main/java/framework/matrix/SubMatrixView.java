@@ -0,0 +1,69 @@
+package framework.matrix;
+
+import framework.utils.ValidationUtils;
+import org.apache.commons.math3.linear.MatrixUtils;
+import org.apache.commons.math3.linear.RealMatrix;
+
+/**
+ * View of rectangular window of the underlying matrix
+ */
+public class SubMatrixView extends AbstractMatrixView {
+
+    private final int firstRow;
+
+    private final int firstColumn;
+
+    private final int rowCount;
+
+    private final int columnCount;
+
+    /**
+     * @param startRow    - index of the first row of the window, inclusive
+     * @param endRow      - index of the last row of the window, inclusive
+     * @param startColumn - index of the first column of the window, inclusive
+     * @param endColumn   - index of the last column of the window, inclusive
+     */
+    public SubMatrixView(RealMatrix base, int startRow, int endRow, int startColumn, int endColumn) {
+        super(base);
+        MatrixUtils.checkSubMatrixIndex(base, startRow, endRow, startColumn, endColumn);
+        ValidationUtils.requireTrue(endRow >= startRow && endColumn >= startColumn, "Window must not be empty");
+        this.firstRow = startRow;
+        this.firstColumn = startColumn;
+        this.rowCount = endRow - startRow + 1;
+        this.columnCount = endColumn - startColumn + 1;
+    }
+
+    @Override
+    public int getRowDimension() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnDimension() {
+        return columnCount;
+    }
+
+    @Override
+    public double getEntry(int row, int column) {
+        MatrixUtils.checkMatrixIndex(this, row, column);
+        return base.getEntry(firstRow + row, firstColumn + column);
+    }
+
+    @Override
+    public void setEntry(int row, int column, double value) {
+        MatrixUtils.checkMatrixIndex(this, row, column);
+        base.setEntry(firstRow + row, firstColumn + column, value);
+    }
+
+    @Override
+    public void addToEntry(int row, int column, double increment) {
+        MatrixUtils.checkMatrixIndex(this, row, column);
+        base.addToEntry(firstRow + row, firstColumn + column, increment);
+    }
+
+    @Override
+    public void multiplyEntry(int row, int column, double factor) {
+        MatrixUtils.checkMatrixIndex(this, row, column);
+        base.multiplyEntry(firstRow + row, firstColumn + column, factor);
+    }
+}
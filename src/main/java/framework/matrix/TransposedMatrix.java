@@ -0,0 +1,58 @@
+package framework.matrix;
+
+import org.apache.commons.math3.linear.MatrixUtils;
+import org.apache.commons.math3.linear.RealMatrix;
+
+/**
+ * View of the underlying matrix transposed
+ */
+public class TransposedMatrix extends AbstractMatrixView {
+
+    public TransposedMatrix(RealMatrix base) {
+        super(base);
+    }
+
+    @Override
+    public int getRowDimension() {
+        return base.getColumnDimension();
+    }
+
+    @Override
+    public int getColumnDimension() {
+        return base.getRowDimension();
+    }
+
+    @Override
+    public double getEntry(int row, int column) {
+        MatrixUtils.checkMatrixIndex(this, row, column);
+        return base.getEntry(column, row);
+    }
+
+    @Override
+    public void setEntry(int row, int column, double value) {
+        MatrixUtils.checkMatrixIndex(this, row, column);
+        base.setEntry(column, row, value);
+    }
+
+    @Override
+    public void addToEntry(int row, int column, double increment) {
+        MatrixUtils.checkMatrixIndex(this, row, column);
+        base.addToEntry(column, row, increment);
+    }
+
+    @Override
+    public void multiplyEntry(int row, int column, double factor) {
+        MatrixUtils.checkMatrixIndex(this, row, column);
+        base.multiplyEntry(column, row, factor);
+    }
+
+    @Override
+    public double[] getRow(int row) {
+        return base.getColumn(row);
+    }
+
+    @Override
+    public double[] getColumn(int column) {
+        return base.getRow(column);
+    }
+}
@@ -0,0 +1,49 @@
+package framework.metrics;
+
+import lombok.Getter;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Count, errors and latencies of executions of one command. Execution is an error if command has thrown exception,
+ * which is how commands report failures, see {@link framework.command.RunnableCommand#execute(String[])}
+ */
+@ThreadSafe
+public final class CommandMetrics {
+
+    @Getter
+    private final String commandName;
+
+    private final LongAdder count = new LongAdder();
+
+    private final LongAdder errorCount = new LongAdder();
+
+    private final LongAdder totalNanos = new LongAdder();
+
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    CommandMetrics(String commandName) {
+        this.commandName = commandName;
+    }
+
+    public void record(long nanos, boolean failed) {
+        count.increment();
+        if (failed) {
+            errorCount.increment();
+        }
+        totalNanos.add(nanos);
+        histogram.record(nanos);
+    }
+
+    public CommandStats getStats() {
+        return new CommandStats(commandName, count.sum(), errorCount.sum(), totalNanos.sum(), histogram.getSnapshot());
+    }
+
+    void reset() {
+        count.reset();
+        errorCount.reset();
+        totalNanos.reset();
+        histogram.reset();
+    }
+}
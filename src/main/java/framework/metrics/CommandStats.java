@@ -0,0 +1,39 @@
+package framework.metrics;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.Getter;
+
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * Metrics of command at some moment, latencies are in nanoseconds
+ */
+@Getter
+@Immutable
+@JsonPropertyOrder({"command", "count", "errors", "meanNanos", "p50Nanos", "p99Nanos", "maxNanos"})
+public final class CommandStats {
+
+    private final String command;
+
+    private final long count;
+
+    private final long errors;
+
+    private final long meanNanos;
+
+    private final long p50Nanos;
+
+    private final long p99Nanos;
+
+    private final long maxNanos;
+
+    CommandStats(String command, long count, long errors, long totalNanos, HistogramSnapshot histogram) {
+        this.command = command;
+        this.count = count;
+        this.errors = errors;
+        this.meanNanos = count == 0 ? 0 : totalNanos / count;
+        this.p50Nanos = histogram.getValueAtPercentile(50);
+        this.p99Nanos = histogram.getValueAtPercentile(99);
+        this.maxNanos = histogram.getMax();
+    }
+}
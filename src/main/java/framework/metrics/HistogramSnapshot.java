@@ -0,0 +1,60 @@
+package framework.metrics;
+
+import framework.utils.ValidationUtils;
+
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * Counts of {@link LatencyHistogram} at some moment
+ */
+@Immutable
+public final class HistogramSnapshot {
+
+    private final long[] counts;
+
+    private final long totalCount;
+
+    private final long max;
+
+    HistogramSnapshot(long[] counts, long max) {
+        this.counts = counts;
+        this.max = max;
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        this.totalCount = total;
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * @return the greatest recorded value in nanoseconds, 0 if nothing has been recorded
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * @param percentile - value in range [0, 100]
+     * @return upper bound of the bucket containing the percentile, but not greater than {@link #getMax()},
+     * 0 if nothing has been recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        ValidationUtils.requireBetweenClosed(percentile, 0.0, 100.0, "Percentile must be in range [0, 100]");
+        if (totalCount == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * totalCount));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return i == counts.length - 1 ? max : Math.min(LatencyHistogram.getBucketUpperBound(i), max);
+            }
+        }
+        return max;
+    }
+}
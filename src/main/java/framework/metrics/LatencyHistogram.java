@@ -0,0 +1,98 @@
+package framework.metrics;
+
+import framework.utils.ValidationUtils;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * Lock-free histogram of latencies in nanoseconds with log-linear buckets: every power of two is split into
+ * {@value #SUB_BUCKET_COUNT} buckets, so percentiles are reported with relative error below 1/{@value #SUB_BUCKET_COUNT}.
+ * Buckets are striped by thread, stripes are allocated on first use, so concurrent jobs do not contend
+ */
+@ThreadSafe
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+
+    static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * Values above 2^40 ns (about 18 minutes) are counted in the last bucket, maximum is kept exactly
+     */
+    private static final int MAX_EXPONENT = 40;
+
+    static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKET_COUNT;
+
+    private static final int STRIPE_COUNT = Integer.highestOneBit(Math.min(8, Runtime.getRuntime().availableProcessors()));
+
+    private final AtomicReferenceArray<AtomicLongArray> stripes = new AtomicReferenceArray<>(STRIPE_COUNT);
+
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * @param nanos - latency, negative values are counted as 0
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        getStripe().incrementAndGet(getBucketIndex(value));
+        max.accumulate(value);
+    }
+
+    /**
+     * @return counts of all stripes summed up, recording during the call may be partially taken into account
+     */
+    public HistogramSnapshot getSnapshot() {
+        long[] counts = new long[BUCKET_COUNT];
+        for (int i = 0; i < STRIPE_COUNT; i++) {
+            AtomicLongArray stripe = stripes.get(i);
+            if (stripe != null) {
+                for (int j = 0; j < BUCKET_COUNT; j++) {
+                    counts[j] += stripe.get(j);
+                }
+            }
+        }
+        return new HistogramSnapshot(counts, max.get());
+    }
+
+    public void reset() {
+        for (int i = 0; i < STRIPE_COUNT; i++) {
+            stripes.set(i, null);
+        }
+        max.reset();
+    }
+
+    static int getBucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int shift = Math.min(63 - Long.numberOfLeadingZeros(value), MAX_EXPONENT) - SUB_BUCKET_BITS;
+        long subBucket = Math.min(value >>> shift, 2 * SUB_BUCKET_COUNT - 1) - SUB_BUCKET_COUNT;
+        return (shift + 1) * SUB_BUCKET_COUNT + (int) subBucket;
+    }
+
+    /**
+     * @return the greatest value counted in bucket
+     */
+    static long getBucketUpperBound(int index) {
+        ValidationUtils.requireTrue(index >= 0 && index < BUCKET_COUNT, "Invalid bucket index");
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = index / SUB_BUCKET_COUNT - 1;
+        long lowerBound = (long) (SUB_BUCKET_COUNT + index % SUB_BUCKET_COUNT) << shift;
+        return lowerBound + (1L << shift) - 1;
+    }
+
+    private AtomicLongArray getStripe() {
+        int index = (int) Thread.currentThread().getId() & (STRIPE_COUNT - 1);
+        AtomicLongArray stripe = stripes.get(index);
+        if (stripe == null) {
+            stripes.compareAndSet(index, null, new AtomicLongArray(BUCKET_COUNT));
+            stripe = stripes.get(index);
+        }
+        return stripe;
+    }
+}
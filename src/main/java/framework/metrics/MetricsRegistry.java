@@ -0,0 +1,55 @@
+package framework.metrics;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import framework.exception.LaboratoryFrameworkException;
+import framework.utils.JsonUtils;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps {@link CommandMetrics} of every executed command
+ */
+@ThreadSafe
+public final class MetricsRegistry {
+
+    private final Map<String, CommandMetrics> commandNameToMetrics = new ConcurrentHashMap<>();
+
+    public CommandMetrics getCommandMetrics(String commandName) {
+        CommandMetrics metrics = commandNameToMetrics.get(commandName);
+        return metrics != null ? metrics : commandNameToMetrics.computeIfAbsent(commandName, CommandMetrics::new);
+    }
+
+    /**
+     * @return stats of every command that has been executed at least once, sorted by command name
+     */
+    public List<CommandStats> getStats() {
+        List<CommandStats> out = new ArrayList<>();
+        for (CommandMetrics metrics : new TreeMap<>(commandNameToMetrics).values()) {
+            CommandStats stats = metrics.getStats();
+            if (stats.getCount() > 0) {
+                out.add(stats);
+            }
+        }
+        return out;
+    }
+
+    /**
+     * @return {@link #getStats()} as JSON array
+     */
+    public String toJson() throws LaboratoryFrameworkException {
+        try {
+            return JsonUtils.getPrettyWriter().writeValueAsString(getStats());
+        } catch (JsonProcessingException e) {
+            throw new LaboratoryFrameworkException(e);
+        }
+    }
+
+    public void reset() {
+        commandNameToMetrics.values().forEach(CommandMetrics::reset);
+    }
+}
@@ -0,0 +1,7 @@
+package framework.metrics;
+
+public interface MetricsRegistryAware {
+
+    void setMetricsRegistry(MetricsRegistry metricsRegistry);
+
+}
@@ -0,0 +1,152 @@
+package framework.snapshot;
+
+import framework.exception.LaboratoryFrameworkException;
+
+import javax.annotation.concurrent.NotThreadSafe;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads little-endian primitives written by {@link BinaryWriter} through a single direct buffer.
+ * Arrays of doubles and ints are copied from the buffer in bulk
+ */
+@NotThreadSafe
+final class BinaryReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final FileChannel channel;
+
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+    BinaryReader(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        buffer.flip();
+    }
+
+    byte readByte() throws IOException {
+        ensureAvailable(Byte.BYTES);
+        return buffer.get();
+    }
+
+    short readShort() throws IOException {
+        ensureAvailable(Short.BYTES);
+        return buffer.getShort();
+    }
+
+    char readChar() throws IOException {
+        ensureAvailable(Character.BYTES);
+        return buffer.getChar();
+    }
+
+    int readInt() throws IOException {
+        ensureAvailable(Integer.BYTES);
+        return buffer.getInt();
+    }
+
+    long readLong() throws IOException {
+        ensureAvailable(Long.BYTES);
+        return buffer.getLong();
+    }
+
+    float readFloat() throws IOException {
+        ensureAvailable(Float.BYTES);
+        return buffer.getFloat();
+    }
+
+    double readDouble() throws IOException {
+        ensureAvailable(Double.BYTES);
+        return buffer.getDouble();
+    }
+
+    boolean readBoolean() throws IOException {
+        return readByte() != 0;
+    }
+
+    byte[] readBytes() throws IOException {
+        int length = readInt();
+        if (length < 0) {
+            throw new LaboratoryFrameworkException("Corrupted snapshot: negative length");
+        }
+        requireRemaining(length);
+        byte[] out = new byte[length];
+        int offset = 0;
+        while (offset < length) {
+            ensureAvailable(1);
+            int count = Math.min(buffer.remaining(), length - offset);
+            buffer.get(out, offset, count);
+            offset += count;
+        }
+        return out;
+    }
+
+    String readString() throws IOException {
+        return new String(readBytes(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Fills the whole array
+     */
+    void readDoubles(double[] destination) throws IOException {
+        int offset = 0;
+        while (offset < destination.length) {
+            ensureAvailable(Double.BYTES);
+            int count = Math.min(buffer.remaining() / Double.BYTES, destination.length - offset);
+            buffer.asDoubleBuffer().get(destination, offset, count);
+            buffer.position(buffer.position() + count * Double.BYTES);
+            offset += count;
+        }
+    }
+
+    /**
+     * Fills the whole array
+     */
+    void readInts(int[] destination) throws IOException {
+        int offset = 0;
+        while (offset < destination.length) {
+            ensureAvailable(Integer.BYTES);
+            int count = Math.min(buffer.remaining() / Integer.BYTES, destination.length - offset);
+            buffer.asIntBuffer().get(destination, offset, count);
+            buffer.position(buffer.position() + count * Integer.BYTES);
+            offset += count;
+        }
+    }
+
+    /**
+     * Lengths read from the file are checked by this method before arrays are allocated,
+     * so a corrupted length does not exhaust memory
+     *
+     * @throws LaboratoryFrameworkException if the rest of file is shorter than byteCount
+     */
+    void requireRemaining(long byteCount) throws IOException {
+        long remaining = buffer.remaining() + channel.size() - channel.position();
+        if (byteCount > remaining) {
+            throw new LaboratoryFrameworkException(String.format(
+                    "Corrupted snapshot: %d bytes are expected, but only %d remain", byteCount, remaining));
+        }
+    }
+
+    private void ensureAvailable(int byteCount) throws IOException {
+        if (buffer.remaining() >= byteCount) {
+            return;
+        }
+        buffer.compact();
+        while (buffer.position() < byteCount) {
+            if (channel.read(buffer) < 0) {
+                throw new LaboratoryFrameworkException("Corrupted snapshot: unexpected end of file");
+            }
+        }
+        buffer.flip();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
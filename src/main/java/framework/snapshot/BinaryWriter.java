@@ -0,0 +1,138 @@
+package framework.snapshot;
+
+import javax.annotation.concurrent.NotThreadSafe;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes little-endian primitives to file through a single direct buffer.
+ * Arrays of doubles and ints are copied into the buffer in bulk
+ */
+@NotThreadSafe
+final class BinaryWriter implements Closeable {
+
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final FileChannel channel;
+
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+    BinaryWriter(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE);
+    }
+
+    void writeByte(byte value) throws IOException {
+        ensureRemaining(Byte.BYTES);
+        buffer.put(value);
+    }
+
+    void writeShort(short value) throws IOException {
+        ensureRemaining(Short.BYTES);
+        buffer.putShort(value);
+    }
+
+    void writeChar(char value) throws IOException {
+        ensureRemaining(Character.BYTES);
+        buffer.putChar(value);
+    }
+
+    void writeInt(int value) throws IOException {
+        ensureRemaining(Integer.BYTES);
+        buffer.putInt(value);
+    }
+
+    void writeLong(long value) throws IOException {
+        ensureRemaining(Long.BYTES);
+        buffer.putLong(value);
+    }
+
+    void writeFloat(float value) throws IOException {
+        ensureRemaining(Float.BYTES);
+        buffer.putFloat(value);
+    }
+
+    void writeDouble(double value) throws IOException {
+        ensureRemaining(Double.BYTES);
+        buffer.putDouble(value);
+    }
+
+    void writeBoolean(boolean value) throws IOException {
+        writeByte((byte) (value ? 1 : 0));
+    }
+
+    /**
+     * Writes length of array and then its content
+     */
+    void writeBytes(byte[] bytes) throws IOException {
+        writeInt(bytes.length);
+        int offset = 0;
+        while (offset < bytes.length) {
+            ensureRemaining(1);
+            int count = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.put(bytes, offset, count);
+            offset += count;
+        }
+    }
+
+    void writeString(String value) throws IOException {
+        writeBytes(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Writes content of array without its length
+     */
+    void writeDoubles(double[] values) throws IOException {
+        int offset = 0;
+        while (offset < values.length) {
+            ensureRemaining(Double.BYTES);
+            int count = Math.min(buffer.remaining() / Double.BYTES, values.length - offset);
+            buffer.asDoubleBuffer().put(values, offset, count);
+            buffer.position(buffer.position() + count * Double.BYTES);
+            offset += count;
+        }
+    }
+
+    /**
+     * Writes content of array without its length
+     */
+    void writeInts(int[] values) throws IOException {
+        int offset = 0;
+        while (offset < values.length) {
+            ensureRemaining(Integer.BYTES);
+            int count = Math.min(buffer.remaining() / Integer.BYTES, values.length - offset);
+            buffer.asIntBuffer().put(values, offset, count);
+            buffer.position(buffer.position() + count * Integer.BYTES);
+            offset += count;
+        }
+    }
+
+    private void ensureRemaining(int byteCount) throws IOException {
+        if (buffer.remaining() < byteCount) {
+            flush();
+        }
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,399 @@
+package framework.snapshot;
+
+import framework.enums.VariableType;
+import framework.exception.LaboratoryFrameworkException;
+import framework.matrix.CsrMatrix;
+import framework.state.AbstractApplicationState;
+import framework.state.ApplicationState;
+import framework.utils.ConsoleUtils;
+import framework.utils.JsonUtils;
+import framework.utils.ValidationUtils;
+import framework.variable.entity.MatrixVariable;
+import framework.variable.entity.Variable;
+import framework.variable.entity.VectorVariable;
+import framework.variable.holder.VariableHolder;
+import org.apache.commons.math3.analysis.polynomials.PolynomialFunction;
+import org.apache.commons.math3.complex.Complex;
+import org.apache.commons.math3.geometry.euclidean.oned.Interval;
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
+import org.apache.commons.math3.linear.ArrayRealVector;
+import org.apache.commons.math3.linear.RealMatrix;
+import org.apache.commons.math3.linear.RealVector;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Class saves values of all variables known to {@link VariableHolder} into a single binary file
+ * and restores them. File consists of sections, one per {@link VariableType}, each section holds
+ * name and value of every variable of that type. Variables without value are not saved.
+ * OBJECT variables are saved as JSON together with the name of their class.
+ * File is replaced atomically, so the previous snapshot is kept if saving fails.
+ * Derived variables of {@link AbstractApplicationState} are not saved, they are computed again after restoring
+ */
+public final class StateSnapshot {
+
+    private static final long MAGIC = 0x50414E5346534CL;
+
+    private static final int VERSION = 1;
+
+    private StateSnapshot() {
+    }
+
+    /**
+     * Writes snapshot into temporary file in the same directory and then moves it to path
+     *
+     * @return count of saved variables
+     * @throws LaboratoryFrameworkException if any IOException has occurred
+     */
+    public static int save(Path path, ApplicationState state, VariableHolder variableHolder)
+            throws LaboratoryFrameworkException {
+        ValidationUtils.requireNonNull(path, state, variableHolder);
+        Map<VariableType, List<Variable>> sections = new EnumMap<>(VariableType.class);
+        Map<String, Object> values = new HashMap<>();
+        for (Variable variable : variableHolder.getVariables().values()) {
+            if (state instanceof AbstractApplicationState
+                    && ((AbstractApplicationState) state).isDerivedVariable(variable.getName())) {
+                continue;
+            }
+            Object value = getValueOrNull(state, variable);
+            if (value != null && !variable.getType().getValueClass().isInstance(value)) {
+                ConsoleUtils.println(String.format("Skipping %s: value does not correspond with type %s",
+                        variable.getName(), variable.getType()));
+            } else if (value != null) {
+                values.put(variable.getName(), value);
+                sections.computeIfAbsent(variable.getType(), k -> new ArrayList<>()).add(variable);
+            }
+        }
+        try {
+            Path absolutePath = path.toAbsolutePath();
+            Path temporaryFile = Files.createTempFile(absolutePath.getParent(), absolutePath.getFileName().toString(),
+                    ".tmp");
+            try {
+                try (BinaryWriter writer = new BinaryWriter(temporaryFile)) {
+                    writeSections(writer, sections, values);
+                }
+                Files.move(temporaryFile, absolutePath, StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporaryFile);
+            }
+            return values.size();
+        } catch (IOException e) {
+            throw new LaboratoryFrameworkException(e);
+        }
+    }
+
+    private static void writeSections(BinaryWriter writer, Map<VariableType, List<Variable>> sections,
+                                      Map<String, Object> values) throws IOException {
+        writer.writeLong(MAGIC);
+        writer.writeInt(VERSION);
+        writer.writeInt(sections.size());
+        for (Map.Entry<VariableType, List<Variable>> section : sections.entrySet()) {
+            writer.writeString(section.getKey().name());
+            writer.writeInt(section.getValue().size());
+            for (Variable variable : section.getValue()) {
+                writer.writeString(variable.getName());
+                writeValue(writer, section.getKey(), values.get(variable.getName()));
+            }
+        }
+    }
+
+    /**
+     * Sets saved values to the state. Values of variables that are not known to variableHolder anymore,
+     * whose type or dimensions have changed are skipped. Class of OBJECT value is loaded without initialization
+     * and must be the class of the current value of variable or its subclass, if variable has value
+     *
+     * @return count of restored variables
+     * @throws LaboratoryFrameworkException if file is not a snapshot, is corrupted or any IOException has occurred
+     */
+    public static int restore(Path path, ApplicationState state, VariableHolder variableHolder)
+            throws LaboratoryFrameworkException {
+        ValidationUtils.requireNonNull(path, state, variableHolder);
+        int restored = 0;
+        try (BinaryReader reader = new BinaryReader(path)) {
+            ValidationUtils.requireTrue(reader.readLong() == MAGIC, String.format("%s is not a snapshot", path));
+            int version = reader.readInt();
+            ValidationUtils.requireTrue(version == VERSION, String.format("Unsupported snapshot version: %d", version));
+            int sectionCount = reader.readInt();
+            for (int i = 0; i < sectionCount; i++) {
+                VariableType type = readType(reader);
+                int entryCount = reader.readInt();
+                for (int j = 0; j < entryCount; j++) {
+                    String name = reader.readString();
+                    Variable variable = variableHolder.getVariable(name);
+                    boolean known = variable != null && variable.getType() == type;
+                    Object value = type == VariableType.OBJECT
+                            ? readObject(reader, known ? getObjectClass(state, variable) : null)
+                            : readValue(reader, type);
+                    if (!known) {
+                        ConsoleUtils.println(String.format("Skipping %s: variable is unknown or its type has changed", name));
+                    } else if (value != null && !hasDeclaredDimensions(variable, value)) {
+                        ConsoleUtils.println(String.format("Skipping %s: its dimensions have changed", name));
+                    } else if (value != null) {
+                        state.setVariable(name, value);
+                        restored++;
+                    }
+                }
+            }
+            return restored;
+        } catch (IOException e) {
+            throw new LaboratoryFrameworkException(e);
+        } catch (IllegalArgumentException e) {
+            throw new LaboratoryFrameworkException(String.format("%s is corrupted: %s", path, e.getMessage()), e);
+        }
+    }
+
+    private static VariableType readType(BinaryReader reader) throws IOException, LaboratoryFrameworkException {
+        String name = reader.readString();
+        try {
+            return VariableType.valueOf(name);
+        } catch (IllegalArgumentException e) {
+            throw new LaboratoryFrameworkException(String.format("Unknown variable type in snapshot: %s", name));
+        }
+    }
+
+    /**
+     * @return class of the current value of OBJECT variable or Object if it has no value
+     */
+    private static Class<?> getObjectClass(ApplicationState state, Variable variable) {
+        Object value = getValueOrNull(state, variable);
+        return value == null ? Object.class : value.getClass();
+    }
+
+    private static boolean hasDeclaredDimensions(Variable variable, Object value) {
+        if (variable instanceof VectorVariable) {
+            return ((RealVector) value).getDimension() == ((VectorVariable) variable).getLength();
+        }
+        if (variable instanceof MatrixVariable) {
+            MatrixVariable matrixVariable = (MatrixVariable) variable;
+            RealMatrix matrix = (RealMatrix) value;
+            return matrix.getRowDimension() == matrixVariable.getRowCount()
+                    && matrix.getColumnDimension() == matrixVariable.getColumnCount();
+        }
+        return true;
+    }
+
+    private static Object getValueOrNull(ApplicationState state, Variable variable) {
+        try {
+            return state.getVariable(variable.getName());
+        } catch (LaboratoryFrameworkException e) {
+            return null;
+        }
+    }
+
+    private static void writeValue(BinaryWriter writer, VariableType type, Object value) throws IOException {
+        switch (type) {
+            case BIG_DECIMAL:
+                writer.writeString(((BigDecimal) value).toString());
+                break;
+            case BIG_INTEGER:
+                writer.writeBytes(((BigInteger) value).toByteArray());
+                break;
+            case BYTE:
+                writer.writeByte((Byte) value);
+                break;
+            case SHORT:
+                writer.writeShort((Short) value);
+                break;
+            case INTEGER:
+                writer.writeInt((Integer) value);
+                break;
+            case LONG:
+                writer.writeLong((Long) value);
+                break;
+            case BOOLEAN:
+                writer.writeBoolean((Boolean) value);
+                break;
+            case CHARACTER:
+                writer.writeChar((Character) value);
+                break;
+            case FLOAT:
+                writer.writeFloat((Float) value);
+                break;
+            case DOUBLE:
+                writer.writeDouble((Double) value);
+                break;
+            case STRING:
+                writer.writeString((String) value);
+                break;
+            case VECTOR:
+                RealVector vector = (RealVector) value;
+                writer.writeInt(vector.getDimension());
+                writer.writeDoubles(vector instanceof ArrayRealVector
+                        ? ((ArrayRealVector) vector).getDataRef() : vector.toArray());
+                break;
+            case MATRIX:
+                writeMatrix(writer, (RealMatrix) value);
+                break;
+            case SPARSE_MATRIX:
+                CsrMatrix sparseMatrix = (CsrMatrix) value;
+                writer.writeInt(sparseMatrix.getRowDimension());
+                writer.writeInt(sparseMatrix.getColumnDimension());
+                writer.writeInt(sparseMatrix.getNonZeroCount());
+                writer.writeInts(sparseMatrix.getRowPointersRef());
+                writer.writeInts(sparseMatrix.getColumnIndicesRef());
+                writer.writeDoubles(sparseMatrix.getValuesRef());
+                break;
+            case POLYNOMIAL_FUNCTION:
+                double[] coefficients = ((PolynomialFunction) value).getCoefficients();
+                writer.writeInt(coefficients.length);
+                writer.writeDoubles(coefficients);
+                break;
+            case COMPLEX_NUMBER:
+                writer.writeDouble(((Complex) value).getReal());
+                writer.writeDouble(((Complex) value).getImaginary());
+                break;
+            case INTERVAL:
+                writer.writeDouble(((Interval) value).getInf());
+                writer.writeDouble(((Interval) value).getSup());
+                break;
+            case OBJECT:
+                writer.writeString(value.getClass().getName());
+                writer.writeBytes(JsonUtils.getObjectMapper().writeValueAsBytes(value));
+                break;
+            default:
+                throw new LaboratoryFrameworkException(String.format("Unsupported type: %s", type));
+        }
+    }
+
+    private static void writeMatrix(BinaryWriter writer, RealMatrix matrix) throws IOException {
+        writer.writeInt(matrix.getRowDimension());
+        writer.writeInt(matrix.getColumnDimension());
+        if (matrix instanceof Array2DRowRealMatrix) {
+            for (double[] row : ((Array2DRowRealMatrix) matrix).getDataRef()) {
+                writer.writeDoubles(row);
+            }
+            return;
+        }
+        for (int i = 0; i < matrix.getRowDimension(); i++) {
+            writer.writeDoubles(matrix.getRow(i));
+        }
+    }
+
+    /**
+     * @return value of any type except OBJECT
+     */
+    private static Object readValue(BinaryReader reader, VariableType type) throws IOException {
+        switch (type) {
+            case BIG_DECIMAL:
+                return new BigDecimal(reader.readString());
+            case BIG_INTEGER:
+                return new BigInteger(reader.readBytes());
+            case BYTE:
+                return reader.readByte();
+            case SHORT:
+                return reader.readShort();
+            case INTEGER:
+                return reader.readInt();
+            case LONG:
+                return reader.readLong();
+            case BOOLEAN:
+                return reader.readBoolean();
+            case CHARACTER:
+                return reader.readChar();
+            case FLOAT:
+                return reader.readFloat();
+            case DOUBLE:
+                return reader.readDouble();
+            case STRING:
+                return reader.readString();
+            case VECTOR:
+                double[] vector = new double[readLength(reader, Double.BYTES)];
+                reader.readDoubles(vector);
+                return new ArrayRealVector(vector, false);
+            case MATRIX:
+                int rowCount = readDimension(reader);
+                int columnCount = readDimension(reader);
+                reader.requireRemaining((long) rowCount * columnCount * Double.BYTES);
+                double[][] matrix = new double[rowCount][columnCount];
+                for (double[] row : matrix) {
+                    reader.readDoubles(row);
+                }
+                return new Array2DRowRealMatrix(matrix, false);
+            case SPARSE_MATRIX:
+                return readSparseMatrix(reader);
+            case POLYNOMIAL_FUNCTION:
+                double[] coefficients = new double[readLength(reader, Double.BYTES)];
+                reader.readDoubles(coefficients);
+                return new PolynomialFunction(coefficients);
+            case COMPLEX_NUMBER:
+                return new Complex(reader.readDouble(), reader.readDouble());
+            case INTERVAL:
+                return new Interval(reader.readDouble(), reader.readDouble());
+            default:
+                throw new LaboratoryFrameworkException(String.format("Unsupported type: %s", type));
+        }
+    }
+
+    private static CsrMatrix readSparseMatrix(BinaryReader reader) throws IOException {
+        int rowCount = readDimension(reader);
+        int columnCount = readDimension(reader);
+        int nonZeroCount = readLength(reader, Integer.BYTES + Double.BYTES);
+        reader.requireRemaining((rowCount + 1L) * Integer.BYTES + (long) nonZeroCount * (Integer.BYTES + Double.BYTES));
+        int[] rowPointers = new int[rowCount + 1];
+        int[] columnIndices = new int[nonZeroCount];
+        double[] values = new double[nonZeroCount];
+        reader.readInts(rowPointers);
+        reader.readInts(columnIndices);
+        reader.readDoubles(values);
+        return new CsrMatrix(rowCount, columnCount, rowPointers, columnIndices, values);
+    }
+
+    /**
+     * @param elementSize - size in bytes of every element of the array which follows
+     * @throws LaboratoryFrameworkException if length is negative or the rest of file is shorter than the array,
+     *                                      which means that snapshot is corrupted
+     */
+    private static int readLength(BinaryReader reader, int elementSize)
+            throws IOException, LaboratoryFrameworkException {
+        int length = reader.readInt();
+        ValidationUtils.requireGreaterOrEqualThan(length, 0, String.format("Invalid length in snapshot: %d", length));
+        reader.requireRemaining((long) length * elementSize);
+        return length;
+    }
+
+    /**
+     * @throws LaboratoryFrameworkException if dimension of matrix is not positive, which means that snapshot is corrupted
+     */
+    private static int readDimension(BinaryReader reader) throws IOException, LaboratoryFrameworkException {
+        int dimension = reader.readInt();
+        ValidationUtils.requireGreaterOrEqualThan(dimension, 1,
+                String.format("Invalid matrix dimension in snapshot: %d", dimension));
+        return dimension;
+    }
+
+    /**
+     * @param requiredClass - class that value must be an instance of, null if value is skipped
+     * @return value or null if it is skipped or cannot be deserialized
+     */
+    private static Object readObject(BinaryReader reader, Class<?> requiredClass) throws IOException {
+        String className = reader.readString();
+        byte[] json = reader.readBytes();
+        if (requiredClass == null) {
+            return null;
+        }
+        try {
+            ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+            Class<?> valueClass = Class.forName(className, false, classLoader);
+            if (!requiredClass.isAssignableFrom(valueClass)) {
+                ConsoleUtils.println(String.format("Cannot restore object of class %s: value must be %s",
+                        className, requiredClass.getName()));
+                return null;
+            }
+            return JsonUtils.getObjectMapper().readValue(json, valueClass);
+        } catch (ClassNotFoundException | IOException e) {
+            ConsoleUtils.println(String.format("Cannot restore object of class %s: %s", className, e.getMessage()));
+            return null;
+        }
+    }
+}
@@ -1,54 +1,336 @@
 package framework.state;
 
 import framework.exception.LaboratoryFrameworkException;
+import framework.state.slot.BooleanSlot;
+import framework.state.slot.DoubleSlot;
+import framework.state.slot.IntSlot;
+import framework.state.slot.LongSlot;
+import framework.state.slot.ObjectSlot;
+import framework.state.slot.Slot;
+import framework.state.slot.SlotStore;
 import framework.utils.ConsoleUtils;
 import framework.utils.ValidationUtils;
 import framework.variable.holder.VariableHolder;
 import framework.variable.holder.VariableHolderAware;
 
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
+/**
+ * Variables which have setter and getter registered in the maps are accessed through them.
+ * Fields annotated with {@link LabVariable} are accessed through generated {@link StateAccessor}.
+ * Values of the rest of variables known to {@link VariableHolder} are kept in {@link SlotStore}
+ * and can be accessed by slots obtained from the holder without boxing and lookup by name.
+ * Variables defined by {@link #defineDerivedVariable(String, List, Supplier)} are computed lazily from other variables
+ * and recomputed only after any of their dependencies has been set, like cells of a spreadsheet.
+ * Listeners added by {@link #addVariableListener(Consumer)} are notified of every set or cleared variable
+ * and of every derived variable which has become outdated
+ */
 public abstract class AbstractApplicationState implements ApplicationState,
         VariableHolderAware {
 
+    /**
+     * Generated accessors of the class and its superclasses, loaded once per class
+     */
+    private static final ClassValue<List<StateAccessor<Object>>> ACCESSORS = new ClassValue<>() {
+        @Override
+        protected List<StateAccessor<Object>> computeValue(Class<?> type) {
+            return loadAccessors(type);
+        }
+    };
+
+    private final List<StateAccessor<Object>> accessors = ACCESSORS.get(getClass());
+
     protected final Map<String, BiConsumer<String, Object>> variableNameToSetter = new HashMap<>();
 
     protected final Map<String, Supplier<Object>> variableNameToGetter = new HashMap<>();
 
     protected VariableHolder variableHolder;
 
+    protected SlotStore slotStore;
+
+    private final List<Consumer<String>> variableListeners = new CopyOnWriteArrayList<>();
+
+    private final Map<String, DerivedVariable> derivedVariables = new ConcurrentHashMap<>();
+
+    /**
+     * Variable name to derived variables that depend on it directly
+     */
+    private final Map<String, List<DerivedVariable>> dependents = new ConcurrentHashMap<>();
+
     public AbstractApplicationState() {
         initVariableNameToSettersMap();
         initVariableNameToGettersMap();
+        initDerivedVariables();
     }
 
     @Override
     public void setVariable(String variableName, Object value) {
+        if (derivedVariables.containsKey(variableName)) {
+            ConsoleUtils.println(String.format("Variable %s is derived and cannot be set", variableName));
+            return;
+        }
+        setVariableValue(variableName, value);
+        onVariableChanged(variableName);
+    }
+
+    private void setVariableValue(String variableName, Object value) {
         final BiConsumer<String, Object> setter = variableNameToSetter.get(variableName);
-        if (setter == null) {
+        if (setter != null) {
+            setter.accept(variableName, value);
+            return;
+        }
+        for (StateAccessor<Object> accessor : accessors) {
+            if (accessor.setVariable(this, variableName, value)) {
+                return;
+            }
+        }
+        final Slot slot = getSlotOrNull(variableName);
+        if (slot == null) {
             ConsoleUtils.println(String.format("Unknown variable name: %s", variableName));
             return;
         }
-        setter.accept(variableName, value);
+        if (value == null) {
+            ConsoleUtils.println("Cannot set null");
+            return;
+        }
+        if (!slot.getType().getValueClass().isInstance(value)) {
+            ConsoleUtils.println("Invalid type");
+            return;
+        }
+        slotStore.set(slot, value);
     }
 
     protected void initVariableNameToSettersMap(){}
 
+    /**
+     * Called by constructor, subclasses define derived variables here
+     */
+    protected void initDerivedVariables(){}
+
+    /**
+     * @return true if variable is defined by {@link #defineDerivedVariable(String, List, Supplier)}
+     */
+    public boolean isDerivedVariable(String variableName) {
+        return derivedVariables.containsKey(variableName);
+    }
+
+    /**
+     * Defines variable which is computed on the first read after any of dependencies has been set. The variable
+     * should also be declared in properties, so commands know it, usually as one that cannot be set from input
+     *
+     * @param dependencies - variables, including derived ones, which are read by compute
+     * @param compute      - pure function of dependencies, it must read them by {@link #getVariable(String)} or slots
+     * @throws LaboratoryFrameworkException if variable is already derived or dependencies are cyclic
+     */
+    protected void defineDerivedVariable(String variableName, List<String> dependencies, Supplier<Object> compute)
+            throws LaboratoryFrameworkException {
+        ValidationUtils.requireNotEmpty(variableName, "Variable name must not be empty");
+        ValidationUtils.requireNonNull(dependencies, compute);
+        ValidationUtils.requireFalse(derivedVariables.containsKey(variableName),
+                String.format("Derived variable %s is already defined", variableName));
+        ValidationUtils.requireFalse(dependsOn(dependencies, variableName),
+                String.format("Dependencies of derived variable %s are cyclic", variableName));
+        DerivedVariable variable = new DerivedVariable(variableName, dependencies, compute);
+        derivedVariables.put(variableName, variable);
+        for (String dependency : variable.getDependencies()) {
+            dependents.computeIfAbsent(dependency, k -> new CopyOnWriteArrayList<>()).add(variable);
+        }
+    }
+
     @Override
     public Object getVariable(String variableName) throws LaboratoryFrameworkException {
+        final DerivedVariable derivedVariable = derivedVariables.get(variableName);
+        if (derivedVariable != null) {
+            return derivedVariable.get();
+        }
         final Supplier<Object> getter = variableNameToGetter.get(variableName);
-        ValidationUtils.requireNonNull(getter, String.format("Unknown variable name: %s", variableName));
-        return getter.get();
+        if (getter != null) {
+            return getter.get();
+        }
+        for (StateAccessor<Object> accessor : accessors) {
+            if (accessor.hasVariable(variableName)) {
+                return accessor.getVariable(this, variableName);
+            }
+        }
+        final Slot slot = getSlotOrNull(variableName);
+        ValidationUtils.requireNonNull(slot, String.format("Unknown variable name: %s", variableName));
+        return slotStore.get(slot);
     }
 
     protected void initVariableNameToGettersMap(){}
 
+    public double getDouble(DoubleSlot slot) {
+        return slotStore.getDouble(slot);
+    }
+
+    public void setDouble(DoubleSlot slot, double value) {
+        slotStore.setDouble(slot, value);
+        onVariableChanged(slot.getName());
+    }
+
+    public int getInt(IntSlot slot) {
+        return slotStore.getInt(slot);
+    }
+
+    public void setInt(IntSlot slot, int value) {
+        slotStore.setInt(slot, value);
+        onVariableChanged(slot.getName());
+    }
+
+    public long getLong(LongSlot slot) {
+        return slotStore.getLong(slot);
+    }
+
+    public void setLong(LongSlot slot, long value) {
+        slotStore.setLong(slot, value);
+        onVariableChanged(slot.getName());
+    }
+
+    public boolean getBoolean(BooleanSlot slot) {
+        return slotStore.getBoolean(slot);
+    }
+
+    public void setBoolean(BooleanSlot slot, boolean value) {
+        slotStore.setBoolean(slot, value);
+        onVariableChanged(slot.getName());
+    }
+
+    public <T> T getObject(ObjectSlot<T> slot) {
+        return slotStore.getObject(slot);
+    }
+
+    public <T> void setObject(ObjectSlot<T> slot, T value) {
+        slotStore.setObject(slot, value);
+        onVariableChanged(slot.getName());
+    }
+
+    /**
+     * Makes value of variable kept in {@link SlotStore} unset
+     *
+     * @return false if variable is not kept in the store
+     */
+    public boolean clearVariable(String variableName) {
+        if (variableNameToSetter.containsKey(variableName)
+                || accessors.stream().anyMatch(accessor -> accessor.hasVariable(variableName))) {
+            return false;
+        }
+        final Slot slot = getSlotOrNull(variableName);
+        if (slot == null) {
+            return false;
+        }
+        slotStore.clear(slot);
+        onVariableChanged(variableName);
+        return true;
+    }
+
+    /**
+     * @param listener - receives name of every variable that is set or cleared, including variables set by slots.
+     *                 It is called in the thread that has set the variable
+     */
+    public void addVariableListener(Consumer<String> listener) {
+        ValidationUtils.requireNonNull(listener);
+        variableListeners.add(listener);
+    }
+
+    public void removeVariableListener(Consumer<String> listener) {
+        variableListeners.remove(listener);
+    }
+
+    /**
+     * Marks derived variables depending on the variable as outdated and notifies listeners
+     */
+    private void onVariableChanged(String variableName) {
+        if (!dependents.isEmpty()) {
+            invalidateDependents(variableName);
+        }
+        notifyVariableListeners(variableName);
+    }
+
+    private void invalidateDependents(String variableName) {
+        List<DerivedVariable> directDependents = dependents.get(variableName);
+        if (directDependents == null) {
+            return;
+        }
+        for (DerivedVariable dependent : directDependents) {
+            if (dependent.invalidate()) {
+                invalidateDependents(dependent.getName());
+                notifyVariableListeners(dependent.getName());
+            }
+        }
+    }
+
+    private void notifyVariableListeners(String variableName) {
+        if (variableListeners.isEmpty()) {
+            return;
+        }
+        for (Consumer<String> listener : variableListeners) {
+            listener.accept(variableName);
+        }
+    }
+
+    /**
+     * @return true if any of variables is the target or a derived variable depending on it
+     */
+    private boolean dependsOn(List<String> variableNames, String target) {
+        for (String variableName : variableNames) {
+            DerivedVariable derived = derivedVariables.get(variableName);
+            if (variableName.equals(target) || derived != null && dependsOn(derived.getDependencies(), target)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
     public void setVariableHolder(VariableHolder holder) {
         ValidationUtils.requireNonNull(holder);
         this.variableHolder = holder;
+        this.slotStore = holder.getSlotLayout().createStore();
+    }
+
+    /**
+     * @throws LaboratoryFrameworkException if class has fields annotated with {@link LabVariable},
+     *                                      which means that annotation processor has not been run
+     */
+    private static void requireNoLabVariables(Class<?> type) throws LaboratoryFrameworkException {
+        for (Field field : type.getDeclaredFields()) {
+            if (field.isAnnotationPresent(LabVariable.class)) {
+                throw new LaboratoryFrameworkException(String.format("Accessor of %s has not been generated, "
+                        + "add the framework to annotationProcessorPaths of the build, see LabVariable", type.getName()));
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<StateAccessor<Object>> loadAccessors(Class<?> type) {
+        List<StateAccessor<Object>> out = new ArrayList<>();
+        for (Class<?> c = type; c != AbstractApplicationState.class && c != null; c = c.getSuperclass()) {
+            String packagePrefix = c.getPackageName().isEmpty() ? "" : c.getPackageName() + ".";
+            String flatName = c.getName().substring(packagePrefix.length()).replace('$', '_');
+            try {
+                Class<?> accessorClass = Class.forName(packagePrefix + flatName + StateAccessor.CLASS_NAME_SUFFIX,
+                        true, c.getClassLoader());
+                out.add((StateAccessor<Object>) accessorClass.getDeclaredConstructor().newInstance());
+            } catch (ClassNotFoundException e) {
+                requireNoLabVariables(c);
+            } catch (ReflectiveOperationException e) {
+                throw new LaboratoryFrameworkException(e);
+            }
+        }
+        return out.isEmpty() ? Collections.emptyList() : out;
+    }
+
+    private Slot getSlotOrNull(String variableName) {
+        return variableHolder == null ? null : variableHolder.getSlotLayout().getSlot(variableName);
     }
 }
@@ -0,0 +1,72 @@
+package framework.state;
+
+import framework.exception.LaboratoryFrameworkException;
+import lombok.Getter;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Variable whose value is a function of other variables. Value is computed on the first read after
+ * any of its dependencies has changed and is kept until the next change
+ */
+@ThreadSafe
+final class DerivedVariable {
+
+    @Getter
+    private final String name;
+
+    @Getter
+    private final List<String> dependencies;
+
+    private final Supplier<Object> compute;
+
+    private Object value;
+
+    private volatile boolean dirty = true;
+
+    /**
+     * Incremented on every invalidation, so value computed concurrently with a change of dependency is not kept
+     */
+    private final AtomicLong version = new AtomicLong();
+
+    private boolean computing;
+
+    DerivedVariable(String name, List<String> dependencies, Supplier<Object> compute) {
+        this.name = name;
+        this.dependencies = List.copyOf(dependencies);
+        this.compute = compute;
+    }
+
+    synchronized Object get() throws LaboratoryFrameworkException {
+        if (!dirty) {
+            return value;
+        }
+        if (computing) {
+            throw new LaboratoryFrameworkException(String.format("Derived variable %s depends on itself", name));
+        }
+        long computedVersion = version.get();
+        computing = true;
+        Object out;
+        try {
+            out = compute.get();
+        } finally {
+            computing = false;
+        }
+        value = out;
+        dirty = version.get() != computedVersion;
+        return out;
+    }
+
+    /**
+     * @return false if variable has already been dirty
+     */
+    boolean invalidate() {
+        version.incrementAndGet();
+        boolean wasDirty = dirty;
+        dirty = true;
+        return !wasDirty;
+    }
+}
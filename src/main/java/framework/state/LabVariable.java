@@ -0,0 +1,34 @@
+package framework.state;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks field of {@link AbstractApplicationState} subclass which holds value of variable.
+ * At compile time {@link framework.state.processor.LabVariableProcessor} generates {@link StateAccessor}
+ * which sets and gets annotated fields directly, so no setters and getters have to be registered.
+ * Field must not be private, static or final.
+ * <p>
+ * Processor is discovered on the classpath only if the build does not list processors explicitly.
+ * If maven-compiler-plugin has {@code annotationProcessorPaths} (e.g. for Lombok), the framework
+ * must be listed there as well, otherwise state fails to be created because its accessor is missing:
+ * <pre>{@code
+ * <path>
+ *     <groupId>org.vladyslav.arzamastsev.framework.simple-laboratory-framework</groupId>
+ *     <artifactId>SimpleLaboratoryFramework</artifactId>
+ *     <version>4.0.0</version>
+ * </path>
+ * }</pre>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface LabVariable {
+
+    /**
+     * @return name of variable, by default the name of the field
+     */
+    String value() default "";
+
+}
@@ -0,0 +1,30 @@
+package framework.state;
+
+import framework.exception.LaboratoryFrameworkException;
+
+/**
+ * Sets and gets variables of state by name. Implementations are generated
+ * by {@link framework.state.processor.LabVariableProcessor} for fields annotated with {@link LabVariable}
+ * and named after the state class with {@link #CLASS_NAME_SUFFIX}
+ *
+ * @param <S> - class of state
+ */
+public interface StateAccessor<S> {
+
+    String CLASS_NAME_SUFFIX = "_LabAccessor";
+
+    boolean hasVariable(String variableName);
+
+    /**
+     * Sets value if it is not null and corresponds with the type of field, otherwise prints message
+     *
+     * @return false if variable is not known to the accessor
+     */
+    boolean setVariable(S state, String variableName, Object value);
+
+    /**
+     * @throws LaboratoryFrameworkException if variable is not known to the accessor
+     */
+    Object getVariable(S state, String variableName) throws LaboratoryFrameworkException;
+
+}
@@ -1,5 +1,6 @@
 package framework.state;
 
+import framework.matrix.CsrMatrix;
 import framework.utils.ConsoleUtils;
 import framework.utils.ValidationUtils;
 import org.apache.commons.math3.analysis.polynomials.PolynomialFunction;
@@ -84,6 +85,10 @@ public final class StateHelper {
         return getDefaultSetter(expectedName, RealMatrix.class, actualSetter);
     }
 
+    public static BiConsumer<String, Object> getSparseMatrixSetter(String expectedName, Consumer<? super CsrMatrix> actualSetter) {
+        return getDefaultSetter(expectedName, CsrMatrix.class, actualSetter);
+    }
+
     public static BiConsumer<String, Object> getVectorSetter(String expectedName, Consumer<? super RealVector> actualSetter) {
         return getDefaultSetter(expectedName, RealVector.class, actualSetter);
     }
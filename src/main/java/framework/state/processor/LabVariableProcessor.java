@@ -0,0 +1,247 @@
+package framework.state.processor;
+
+import framework.enums.VariableType;
+import framework.state.LabVariable;
+import framework.state.StateAccessor;
+import framework.variable.entity.Variable;
+import framework.variable.parser.VariablesParser;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Generates {@link StateAccessor} for every class with fields annotated with {@link LabVariable}.
+ * Accessor switches on the name of variable and writes the field directly.
+ * If option {@value #PROPERTIES_OPTION} contains path to the properties file, every annotated field
+ * is checked against the declared variables: variable must exist and its values must be assignable to the field
+ */
+@SupportedAnnotationTypes("framework.state.LabVariable")
+@SupportedOptions(LabVariableProcessor.PROPERTIES_OPTION)
+public class LabVariableProcessor extends AbstractProcessor {
+
+    public static final String PROPERTIES_OPTION = "lab.properties";
+
+    private static final String STATE_CLASS_NAME = "framework.state.AbstractApplicationState";
+
+    private Map<String, Variable> schema;
+
+    private boolean schemaIsRead;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        Map<TypeElement, Map<String, VariableElement>> classToFields = new LinkedHashMap<>();
+        for (Element element : roundEnv.getElementsAnnotatedWith(LabVariable.class)) {
+            VariableElement field = (VariableElement) element;
+            TypeElement stateClass = (TypeElement) field.getEnclosingElement();
+            if (!isValidField(field) || !isValidStateClass(stateClass, field)) {
+                continue;
+            }
+            String variableName = getVariableName(field);
+            Map<String, VariableElement> fields = classToFields.computeIfAbsent(stateClass, k -> new LinkedHashMap<>());
+            if (fields.putIfAbsent(variableName, field) != null) {
+                error(field, "Variable %s is already bound to another field", variableName);
+                continue;
+            }
+            checkAgainstSchema(variableName, field);
+        }
+        classToFields.forEach(this::writeAccessor);
+        return true;
+    }
+
+    private boolean isValidField(VariableElement field) {
+        Set<Modifier> modifiers = field.getModifiers();
+        if (modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.STATIC)
+                || modifiers.contains(Modifier.FINAL)) {
+            error(field, "@LabVariable field must not be private, static or final");
+            return false;
+        }
+        return true;
+    }
+
+    private boolean isValidStateClass(TypeElement stateClass, VariableElement field) {
+        TypeElement abstractState = processingEnv.getElementUtils().getTypeElement(STATE_CLASS_NAME);
+        Types types = processingEnv.getTypeUtils();
+        if (!types.isSubtype(types.erasure(stateClass.asType()), types.erasure(abstractState.asType()))) {
+            error(field, "@LabVariable field must be declared in subclass of %s", STATE_CLASS_NAME);
+            return false;
+        }
+        for (Element e = stateClass; e.getKind() != ElementKind.PACKAGE; e = e.getEnclosingElement()) {
+            if (e.getModifiers().contains(Modifier.PRIVATE)) {
+                error(field, "Class declaring @LabVariable field must not be private");
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String getVariableName(VariableElement field) {
+        String name = field.getAnnotation(LabVariable.class).value();
+        return name.isEmpty() ? field.getSimpleName().toString() : name;
+    }
+
+    private void checkAgainstSchema(String variableName, VariableElement field) {
+        Map<String, Variable> variables = getSchema();
+        if (variables == null) {
+            return;
+        }
+        Variable variable = variables.values().stream()
+                .filter(v -> variableName.equals(v.getName()))
+                .findFirst()
+                .orElse(null);
+        if (variable == null) {
+            error(field, "Variable %s is not declared in %s", variableName, processingEnv.getOptions().get(PROPERTIES_OPTION));
+            return;
+        }
+        TypeMirror fieldType = box(field.asType());
+        if (variable.getType() == VariableType.OBJECT) {
+            if (field.asType().getKind().isPrimitive()) {
+                error(field, "Field of OBJECT variable %s must not be primitive", variableName);
+            }
+            return;
+        }
+        Types types = processingEnv.getTypeUtils();
+        TypeElement valueClass = processingEnv.getElementUtils()
+                .getTypeElement(variable.getType().getValueClass().getCanonicalName());
+        if (valueClass != null && !types.isAssignable(types.erasure(valueClass.asType()), fieldType)) {
+            error(field, "Values of %s variable %s cannot be assigned to field of type %s",
+                    variable.getType(), variableName, field.asType());
+        }
+    }
+
+    /**
+     * @return declared variables or null if option is not specified
+     */
+    private Map<String, Variable> getSchema() {
+        if (schemaIsRead) {
+            return schema;
+        }
+        schemaIsRead = true;
+        String path = processingEnv.getOptions().get(PROPERTIES_OPTION);
+        if (path == null) {
+            return null;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(Paths.get(path))) {
+            properties.load(in);
+            schema = VariablesParser.getVariableNameToVariable(properties);
+        } catch (IOException | RuntimeException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    String.format("Cannot read %s: %s", path, e.getMessage()));
+            schema = new HashMap<>();
+        }
+        return schema;
+    }
+
+    private TypeMirror box(TypeMirror type) {
+        Types types = processingEnv.getTypeUtils();
+        if (type.getKind().isPrimitive()) {
+            return types.boxedClass(types.getPrimitiveType(type.getKind())).asType();
+        }
+        return types.erasure(type);
+    }
+
+    private void writeAccessor(TypeElement stateClass, Map<String, VariableElement> fields) {
+        PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(stateClass);
+        String packageName = packageElement.isUnnamed() ? "" : packageElement.getQualifiedName().toString();
+        String flatName = stateClass.getQualifiedName().toString().substring(packageName.isEmpty() ? 0 : packageName.length() + 1);
+        String accessorName = flatName.replace('.', '_') + StateAccessor.CLASS_NAME_SUFFIX;
+        String stateName = stateClass.getQualifiedName().toString();
+        String accessorQualifiedName = packageName.isEmpty() ? accessorName : packageName + "." + accessorName;
+
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("/**\n * Generated by ").append(LabVariableProcessor.class.getName()).append(", do not edit\n */\n")
+                .append("public final class ").append(accessorName)
+                .append(" implements framework.state.StateAccessor<").append(stateName).append("> {\n\n");
+
+        source.append("    @Override\n    public boolean hasVariable(String variableName) {\n")
+                .append("        switch (variableName) {\n");
+        for (String variableName : fields.keySet()) {
+            source.append("            case ").append(quote(variableName)).append(":\n");
+        }
+        source.append("                return true;\n            default:\n                return false;\n        }\n    }\n\n");
+
+        source.append("    @Override\n    @SuppressWarnings({\"unchecked\", \"rawtypes\"})\n")
+                .append("    public boolean setVariable(").append(stateName).append(" state, String variableName, Object value) {\n")
+                .append("        switch (variableName) {\n");
+        fields.forEach((variableName, field) -> {
+            String boxedType = box(field.asType()).toString();
+            source.append("            case ").append(quote(variableName)).append(":\n")
+                    .append("                if (value == null) {\n")
+                    .append("                    framework.utils.ConsoleUtils.println(\"Cannot set null\");\n")
+                    .append("                } else if (value instanceof ").append(boxedType).append(") {\n")
+                    .append("                    state.").append(field.getSimpleName()).append(" = (").append(boxedType).append(") value;\n")
+                    .append("                } else {\n")
+                    .append("                    framework.utils.ConsoleUtils.println(\"Invalid type\");\n")
+                    .append("                }\n")
+                    .append("                return true;\n");
+        });
+        source.append("            default:\n                return false;\n        }\n    }\n\n");
+
+        source.append("    @Override\n")
+                .append("    public Object getVariable(").append(stateName).append(" state, String variableName) {\n")
+                .append("        switch (variableName) {\n");
+        fields.forEach((variableName, field) -> source.append("            case ").append(quote(variableName)).append(":\n")
+                .append("                return state.").append(field.getSimpleName()).append(";\n"));
+        source.append("            default:\n")
+                .append("                throw new framework.exception.LaboratoryFrameworkException(\n")
+                .append("                        String.format(\"Unknown variable name: %s\", variableName));\n")
+                .append("        }\n    }\n}\n");
+
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(accessorQualifiedName, stateClass);
+            try (Writer writer = file.openWriter()) {
+                writer.write(source.toString());
+            }
+        } catch (IOException e) {
+            error(stateClass, "Cannot generate %s: %s", accessorQualifiedName, e.getMessage());
+        }
+    }
+
+    private static String quote(String s) {
+        StringBuilder out = new StringBuilder("\"");
+        for (char c : s.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                out.append('\\');
+            }
+            out.append(c);
+        }
+        return out.append('"').toString();
+    }
+
+    private void error(Element element, String format, Object... args) {
+        Messager messager = processingEnv.getMessager();
+        messager.printMessage(Diagnostic.Kind.ERROR, String.format(format, args), element);
+    }
+}
@@ -0,0 +1,23 @@
+package framework.state.slot;
+
+import framework.enums.VariableType;
+
+/**
+ * Handle of {@link VariableType#BOOLEAN} variable, value is stored unboxed
+ */
+public final class BooleanSlot extends Slot {
+
+    BooleanSlot(String name, int index) {
+        super(name, VariableType.BOOLEAN, index);
+    }
+
+    @Override
+    Object get(SlotStore store) {
+        return store.isSet(this) ? store.getBoolean(this) : null;
+    }
+
+    @Override
+    void set(SlotStore store, Object value) {
+        store.setBoolean(this, (Boolean) value);
+    }
+}
@@ -0,0 +1,23 @@
+package framework.state.slot;
+
+import framework.enums.VariableType;
+
+/**
+ * Handle of {@link VariableType#DOUBLE} variable, value is stored unboxed
+ */
+public final class DoubleSlot extends Slot {
+
+    DoubleSlot(String name, int index) {
+        super(name, VariableType.DOUBLE, index);
+    }
+
+    @Override
+    Object get(SlotStore store) {
+        return store.isSet(this) ? store.getDouble(this) : null;
+    }
+
+    @Override
+    void set(SlotStore store, Object value) {
+        store.setDouble(this, (Double) value);
+    }
+}
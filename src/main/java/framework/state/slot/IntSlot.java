@@ -0,0 +1,23 @@
+package framework.state.slot;
+
+import framework.enums.VariableType;
+
+/**
+ * Handle of {@link VariableType#INTEGER} variable, value is stored unboxed
+ */
+public final class IntSlot extends Slot {
+
+    IntSlot(String name, int index) {
+        super(name, VariableType.INTEGER, index);
+    }
+
+    @Override
+    Object get(SlotStore store) {
+        return store.isSet(this) ? store.getInt(this) : null;
+    }
+
+    @Override
+    void set(SlotStore store, Object value) {
+        store.setInt(this, (Integer) value);
+    }
+}
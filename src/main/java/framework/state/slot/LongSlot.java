@@ -0,0 +1,23 @@
+package framework.state.slot;
+
+import framework.enums.VariableType;
+
+/**
+ * Handle of {@link VariableType#LONG} variable, value is stored unboxed
+ */
+public final class LongSlot extends Slot {
+
+    LongSlot(String name, int index) {
+        super(name, VariableType.LONG, index);
+    }
+
+    @Override
+    Object get(SlotStore store) {
+        return store.isSet(this) ? store.getLong(this) : null;
+    }
+
+    @Override
+    void set(SlotStore store, Object value) {
+        store.setLong(this, (Long) value);
+    }
+}
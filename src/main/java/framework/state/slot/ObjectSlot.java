@@ -0,0 +1,26 @@
+package framework.state.slot;
+
+import framework.enums.VariableType;
+
+/**
+ * Handle of variable whose value is stored as a reference
+ *
+ * @param <T> - class of value
+ */
+public final class ObjectSlot<T> extends Slot {
+
+    ObjectSlot(String name, VariableType type, int index) {
+        super(name, type, index);
+    }
+
+    @Override
+    Object get(SlotStore store) {
+        return store.getObject(this);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    void set(SlotStore store, Object value) {
+        store.setObject((ObjectSlot<Object>) this, value);
+    }
+}
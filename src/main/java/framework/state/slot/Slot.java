@@ -0,0 +1,42 @@
+package framework.state.slot;
+
+import framework.enums.VariableType;
+import lombok.Getter;
+
+/**
+ * Handle of variable value in {@link SlotStore}. Handles are obtained once from
+ * {@link framework.variable.holder.VariableHolder}, so accessing value by handle needs no lookup by name
+ */
+@Getter
+public abstract class Slot {
+
+    private final String name;
+
+    private final VariableType type;
+
+    /**
+     * Index in the array of {@link SlotStore} which corresponds with the class of the slot
+     */
+    private final int index;
+
+    Slot(String name, VariableType type, int index) {
+        this.name = name;
+        this.type = type;
+        this.index = index;
+    }
+
+    /**
+     * @return boxed value or null if value has not been set
+     */
+    abstract Object get(SlotStore store);
+
+    /**
+     * @param value - not null instance of {@link VariableType#getValueClass()}
+     */
+    abstract void set(SlotStore store, Object value);
+
+    @Override
+    public String toString() {
+        return String.format("%s[%s#%d]", getClass().getSimpleName(), name, index);
+    }
+}
@@ -0,0 +1,134 @@
+package framework.state.slot;
+
+import framework.exception.LaboratoryFrameworkException;
+import framework.utils.ValidationUtils;
+import framework.variable.entity.Variable;
+
+import javax.annotation.concurrent.Immutable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Assigns slot to every variable. DOUBLE, INTEGER, LONG and BOOLEAN variables get slots in the arrays
+ * of primitives, variables of other types get slots in the array of references.
+ * Indices are never reused, so slots obtained before {@link #extend(Map)} stay valid
+ */
+@Immutable
+public final class SlotLayout {
+
+    private final Map<String, Slot> nameToSlot;
+
+    private final int doubleCount;
+
+    private final int intCount;
+
+    private final int longCount;
+
+    private final int booleanCount;
+
+    private final int objectCount;
+
+    public SlotLayout(Map<String, Variable> variables) {
+        this(Collections.emptyMap(), variables, new int[5]);
+    }
+
+    /**
+     * @param counts - counts of already assigned slots of every class, updated by the constructor
+     */
+    private SlotLayout(Map<String, Slot> previous, Map<String, Variable> variables, int[] counts) {
+        ValidationUtils.requireNonNull(variables);
+        Map<String, Slot> slots = new HashMap<>();
+        for (Variable variable : new TreeMap<>(variables).values()) {
+            String name = variable.getName();
+            Slot slot = previous.get(name);
+            if (slot == null || slot.getType() != variable.getType()) {
+                slot = createSlot(variable, counts);
+            }
+            slots.put(name, slot);
+        }
+        this.nameToSlot = Collections.unmodifiableMap(slots);
+        this.doubleCount = counts[0];
+        this.intCount = counts[1];
+        this.longCount = counts[2];
+        this.booleanCount = counts[3];
+        this.objectCount = counts[4];
+    }
+
+    /**
+     * @return layout of new variables, in which variables of unchanged type keep their slots
+     * and the rest of variables get new ones
+     */
+    public SlotLayout extend(Map<String, Variable> variables) {
+        return new SlotLayout(nameToSlot, variables,
+                new int[]{doubleCount, intCount, longCount, booleanCount, objectCount});
+    }
+
+    /**
+     * @return slot or null if variable is unknown
+     */
+    public Slot getSlot(String name) {
+        return nameToSlot.get(name);
+    }
+
+    public DoubleSlot getDoubleSlot(String name) throws LaboratoryFrameworkException {
+        return getSlot(name, DoubleSlot.class);
+    }
+
+    public IntSlot getIntSlot(String name) throws LaboratoryFrameworkException {
+        return getSlot(name, IntSlot.class);
+    }
+
+    public LongSlot getLongSlot(String name) throws LaboratoryFrameworkException {
+        return getSlot(name, LongSlot.class);
+    }
+
+    public BooleanSlot getBooleanSlot(String name) throws LaboratoryFrameworkException {
+        return getSlot(name, BooleanSlot.class);
+    }
+
+    /**
+     * @param valueClass - class of value or its superclass
+     * @throws LaboratoryFrameworkException if variable is unknown, its value is stored unboxed
+     *                                      or values of its type are not instances of valueClass
+     */
+    @SuppressWarnings("unchecked")
+    public <T> ObjectSlot<T> getObjectSlot(String name, Class<T> valueClass) throws LaboratoryFrameworkException {
+        ObjectSlot<?> slot = getSlot(name, ObjectSlot.class);
+        ValidationUtils.requireTrue(valueClass.isAssignableFrom(slot.getType().getValueClass()),
+                String.format("Values of variable %s are not instances of %s", name, valueClass.getName()));
+        return (ObjectSlot<T>) slot;
+    }
+
+    /**
+     * @return new store with no values set
+     */
+    public SlotStore createStore() {
+        return new SlotStore(doubleCount, intCount, longCount, booleanCount, objectCount);
+    }
+
+    private static Slot createSlot(Variable variable, int[] counts) {
+        String name = variable.getName();
+        switch (variable.getType()) {
+            case DOUBLE:
+                return new DoubleSlot(name, counts[0]++);
+            case INTEGER:
+                return new IntSlot(name, counts[1]++);
+            case LONG:
+                return new LongSlot(name, counts[2]++);
+            case BOOLEAN:
+                return new BooleanSlot(name, counts[3]++);
+            default:
+                return new ObjectSlot<>(name, variable.getType(), counts[4]++);
+        }
+    }
+
+    private <S extends Slot> S getSlot(String name, Class<S> slotClass) throws LaboratoryFrameworkException {
+        Slot slot = nameToSlot.get(name);
+        ValidationUtils.requireNonNull(slot, String.format("Unknown variable name: %s", name));
+        ValidationUtils.requireTrue(slotClass.isInstance(slot),
+                String.format("Variable %s of type %s has no %s", name, slot.getType(), slotClass.getSimpleName()));
+        return slotClass.cast(slot);
+    }
+}
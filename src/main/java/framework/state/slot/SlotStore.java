@@ -0,0 +1,180 @@
+package framework.state.slot;
+
+import javax.annotation.concurrent.NotThreadSafe;
+import java.util.Arrays;
+
+/**
+ * Values of variables in arrays indexed by {@link Slot#getIndex()}. Values of DOUBLE, INTEGER, LONG
+ * and BOOLEAN variables are stored unboxed. Unset primitive values are read as zero or false.
+ * Arrays grow when value of slot added by {@link SlotLayout#extend(java.util.Map)} is set
+ */
+@NotThreadSafe
+public final class SlotStore {
+
+    private double[] doubles;
+
+    private int[] ints;
+
+    private long[] longs;
+
+    private boolean[] booleans;
+
+    private Object[] objects;
+
+    private boolean[] doubleIsSet;
+
+    private boolean[] intIsSet;
+
+    private boolean[] longIsSet;
+
+    private boolean[] booleanIsSet;
+
+    SlotStore(int doubleCount, int intCount, int longCount, int booleanCount, int objectCount) {
+        this.doubles = new double[doubleCount];
+        this.ints = new int[intCount];
+        this.longs = new long[longCount];
+        this.booleans = new boolean[booleanCount];
+        this.objects = new Object[objectCount];
+        this.doubleIsSet = new boolean[doubleCount];
+        this.intIsSet = new boolean[intCount];
+        this.longIsSet = new boolean[longCount];
+        this.booleanIsSet = new boolean[booleanCount];
+    }
+
+    public double getDouble(DoubleSlot slot) {
+        int index = slot.getIndex();
+        return index < doubles.length ? doubles[index] : 0;
+    }
+
+    public void setDouble(DoubleSlot slot, double value) {
+        int index = slot.getIndex();
+        if (index >= doubles.length) {
+            doubles = Arrays.copyOf(doubles, index + 1);
+            doubleIsSet = Arrays.copyOf(doubleIsSet, index + 1);
+        }
+        doubles[index] = value;
+        doubleIsSet[index] = true;
+    }
+
+    public int getInt(IntSlot slot) {
+        int index = slot.getIndex();
+        return index < ints.length ? ints[index] : 0;
+    }
+
+    public void setInt(IntSlot slot, int value) {
+        int index = slot.getIndex();
+        if (index >= ints.length) {
+            ints = Arrays.copyOf(ints, index + 1);
+            intIsSet = Arrays.copyOf(intIsSet, index + 1);
+        }
+        ints[index] = value;
+        intIsSet[index] = true;
+    }
+
+    public long getLong(LongSlot slot) {
+        int index = slot.getIndex();
+        return index < longs.length ? longs[index] : 0;
+    }
+
+    public void setLong(LongSlot slot, long value) {
+        int index = slot.getIndex();
+        if (index >= longs.length) {
+            longs = Arrays.copyOf(longs, index + 1);
+            longIsSet = Arrays.copyOf(longIsSet, index + 1);
+        }
+        longs[index] = value;
+        longIsSet[index] = true;
+    }
+
+    public boolean getBoolean(BooleanSlot slot) {
+        int index = slot.getIndex();
+        return index < booleans.length ? booleans[index] : false;
+    }
+
+    public void setBoolean(BooleanSlot slot, boolean value) {
+        int index = slot.getIndex();
+        if (index >= booleans.length) {
+            booleans = Arrays.copyOf(booleans, index + 1);
+            booleanIsSet = Arrays.copyOf(booleanIsSet, index + 1);
+        }
+        booleans[index] = value;
+        booleanIsSet[index] = true;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T getObject(ObjectSlot<T> slot) {
+        int index = slot.getIndex();
+        return index < objects.length ? (T) objects[index] : null;
+    }
+
+    public <T> void setObject(ObjectSlot<T> slot, T value) {
+        int index = slot.getIndex();
+        if (index >= objects.length) {
+            objects = Arrays.copyOf(objects, index + 1);
+        }
+        objects[index] = value;
+    }
+
+    /**
+     * @return true if value of the slot has been set
+     */
+    public boolean isSet(Slot slot) {
+        if (slot instanceof DoubleSlot) {
+            return slot.getIndex() < doubleIsSet.length && doubleIsSet[slot.getIndex()];
+        }
+        if (slot instanceof IntSlot) {
+            return slot.getIndex() < intIsSet.length && intIsSet[slot.getIndex()];
+        }
+        if (slot instanceof LongSlot) {
+            return slot.getIndex() < longIsSet.length && longIsSet[slot.getIndex()];
+        }
+        if (slot instanceof BooleanSlot) {
+            return slot.getIndex() < booleanIsSet.length && booleanIsSet[slot.getIndex()];
+        }
+        return getObject((ObjectSlot<?>) slot) != null;
+    }
+
+    /**
+     * Makes value of the slot unset
+     */
+    public void clear(Slot slot) {
+        int index = slot.getIndex();
+        if (slot instanceof DoubleSlot) {
+            if (index < doubleIsSet.length) {
+                doubleIsSet[index] = false;
+                doubles[index] = 0;
+            }
+        } else if (slot instanceof IntSlot) {
+            if (index < intIsSet.length) {
+                intIsSet[index] = false;
+                ints[index] = 0;
+            }
+        } else if (slot instanceof LongSlot) {
+            if (index < longIsSet.length) {
+                longIsSet[index] = false;
+                longs[index] = 0;
+            }
+        } else if (slot instanceof BooleanSlot) {
+            if (index < booleanIsSet.length) {
+                booleanIsSet[index] = false;
+                booleans[index] = false;
+            }
+        } else if (index < objects.length) {
+            objects[index] = null;
+        }
+    }
+
+    /**
+     * @return boxed value or null if value has not been set
+     */
+    public Object get(Slot slot) {
+        return slot.get(this);
+    }
+
+    /**
+     * @param value - not null instance of the value class of the slot type
+     */
+    public void set(Slot slot, Object value) {
+        slot.set(this, value);
+    }
+}
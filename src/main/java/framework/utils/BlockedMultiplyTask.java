@@ -0,0 +1,94 @@
+package framework.utils;
+
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Computes block of product c = a * b of row-major matrices. Block is split in halves by its larger dimension
+ * until it is small enough, then it is computed tile by tile, so rows of b which are used by the tile stay in cache.
+ * Blocks of different tasks never intersect, so no synchronization is needed
+ */
+final class BlockedMultiplyTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Count of multiply-add operations below which block is computed in the current thread
+     */
+    static final long SEQUENTIAL_THRESHOLD = 1L << 18;
+
+    private static final int TILE_SIZE = 64;
+
+    private final double[] a;
+
+    private final double[] b;
+
+    private final double[] c;
+
+    private final int innerCount;
+
+    private final int columnCount;
+
+    private final int fromRow;
+
+    private final int toRow;
+
+    private final int fromColumn;
+
+    private final int toColumn;
+
+    BlockedMultiplyTask(double[] a, double[] b, double[] c, int innerCount, int columnCount,
+                        int fromRow, int toRow, int fromColumn, int toColumn) {
+        this.a = a;
+        this.b = b;
+        this.c = c;
+        this.innerCount = innerCount;
+        this.columnCount = columnCount;
+        this.fromRow = fromRow;
+        this.toRow = toRow;
+        this.fromColumn = fromColumn;
+        this.toColumn = toColumn;
+    }
+
+    @Override
+    protected void compute() {
+        int rows = toRow - fromRow;
+        int columns = toColumn - fromColumn;
+        if ((long) rows * columns * innerCount <= SEQUENTIAL_THRESHOLD || (rows <= TILE_SIZE && columns <= TILE_SIZE)) {
+            multiplyBlock();
+            return;
+        }
+        if (rows >= columns) {
+            int middle = fromRow + alignToTile(rows / 2);
+            invokeAll(new BlockedMultiplyTask(a, b, c, innerCount, columnCount, fromRow, middle, fromColumn, toColumn),
+                    new BlockedMultiplyTask(a, b, c, innerCount, columnCount, middle, toRow, fromColumn, toColumn));
+        } else {
+            int middle = fromColumn + alignToTile(columns / 2);
+            invokeAll(new BlockedMultiplyTask(a, b, c, innerCount, columnCount, fromRow, toRow, fromColumn, middle),
+                    new BlockedMultiplyTask(a, b, c, innerCount, columnCount, fromRow, toRow, middle, toColumn));
+        }
+    }
+
+    private static int alignToTile(int length) {
+        return length <= TILE_SIZE ? length : length / TILE_SIZE * TILE_SIZE;
+    }
+
+    private void multiplyBlock() {
+        for (int tileColumn = fromColumn; tileColumn < toColumn; tileColumn += TILE_SIZE) {
+            int lastColumn = Math.min(tileColumn + TILE_SIZE, toColumn);
+            for (int tileInner = 0; tileInner < innerCount; tileInner += TILE_SIZE) {
+                int lastInner = Math.min(tileInner + TILE_SIZE, innerCount);
+                for (int i = fromRow; i < toRow; i++) {
+                    int aRow = i * innerCount;
+                    int cRow = i * columnCount;
+                    for (int k = tileInner; k < lastInner; k++) {
+                        double aik = a[aRow + k];
+                        int bRow = k * columnCount;
+                        for (int j = tileColumn; j < lastColumn; j++) {
+                            c[cRow + j] += aik * b[bRow + j];
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
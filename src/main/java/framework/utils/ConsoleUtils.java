@@ -1,6 +1,10 @@
 package framework.utils;
 
+import framework.console.ConsoleIO;
+import framework.console.FixedPointPrinter;
+import framework.console.StreamConsoleIO;
 import framework.exception.LaboratoryFrameworkException;
+import framework.matrix.CsrMatrix;
 import org.apache.commons.math3.analysis.polynomials.PolynomialFunction;
 import org.apache.commons.math3.complex.Complex;
 import org.apache.commons.math3.geometry.euclidean.oned.Interval;
@@ -9,34 +13,86 @@ import org.apache.commons.math3.linear.ArrayRealVector;
 import org.apache.commons.math3.linear.RealMatrix;
 import org.apache.commons.math3.linear.RealVector;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
-import java.util.Scanner;
 import java.util.function.Function;
 
 public final class ConsoleUtils {
 
+    /**
+     * Count of digits after point used by '%f' pattern
+     */
+    private static final int DEFAULT_NUMBERS_AFTER_POINT = 6;
+
+    private static volatile ConsoleIO consoleIO;
+
+    private static final ThreadLocal<ConsoleIO> THREAD_CONSOLE_IO = new ThreadLocal<>();
+
     private ConsoleUtils() {
     }
 
     /**
-     * Prints string to system output stream
+     * @return console used by this class in the current thread, by default it is console over standard streams
+     */
+    public static ConsoleIO getConsoleIO() {
+        ConsoleIO threadConsole = THREAD_CONSOLE_IO.get();
+        if (threadConsole != null) {
+            return threadConsole;
+        }
+        ConsoleIO current = consoleIO;
+        if (current == null) {
+            synchronized (ConsoleUtils.class) {
+                if (consoleIO == null) {
+                    consoleIO = StreamConsoleIO.ofStandardStreams();
+                }
+                current = consoleIO;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * @throws LaboratoryFrameworkException if given console is null
+     */
+    public static void setConsoleIO(ConsoleIO io) throws LaboratoryFrameworkException {
+        ValidationUtils.requireNonNull(io, "Console must not be null");
+        consoleIO = io;
+    }
+
+    /**
+     * Sets console used by this class in the current thread only, e.g. by a task in a pool
+     *
+     * @param io - console of the current thread, null to use the shared console again
+     */
+    public static void setThreadConsoleIO(ConsoleIO io) {
+        if (io == null) {
+            THREAD_CONSOLE_IO.remove();
+        } else {
+            THREAD_CONSOLE_IO.set(io);
+        }
+    }
+
+    /**
+     * Prints string to console output
      *
      * @throws LaboratoryFrameworkException if given string is null
      */
     public static void print(String s) throws LaboratoryFrameworkException {
-        ValidationUtils.requireNonNull(s);
-        System.out.print(s);
+        getConsoleIO().print(s);
     }
 
     /**
-     * Prints string to system output stream with line breaking char at the end
+     * Prints string to console output with line breaking char at the end
      *
      * @throws LaboratoryFrameworkException if given string is null
      */
     public static void println(String s) throws LaboratoryFrameworkException {
-        ValidationUtils.requireNonNull(s);
-        System.out.println(s);
+        getConsoleIO().println(s);
+    }
+
+    public static void flush() throws LaboratoryFrameworkException {
+        getConsoleIO().flush();
     }
 
     public static void printSystemOfLinearEquations(RealMatrix matrix, RealVector vector, int numbersAfterPoint) throws LaboratoryFrameworkException {
@@ -44,67 +100,97 @@ public final class ConsoleUtils {
         ValidationUtils.requireGreaterOrEqualThan(numbersAfterPoint, 0, "numbersAfterPoint must be >= 0");
         ValidationUtils.requireEquals(matrix.getRowDimension(), vector.getDimension(),
                 "Matrix row dimension and vector length must be equal");
-        String rowTemplate = String.format("%%.%df\t", numbersAfterPoint).repeat(matrix.getColumnDimension())
-                .concat(String.format("|\t%%.%df", numbersAfterPoint));
+        FixedPointPrinter printer = new FixedPointPrinter(getConsoleIO());
         for (int i = 0; i < matrix.getRowDimension(); i++) {
-            double[] rowNumbers = matrix.getRowVector(i).toArray();
-            Double[] args = new Double[rowNumbers.length + 1];
-            for (int j = 0; j < rowNumbers.length; j++) {
-                args[j] = rowNumbers[j];
-            }
-            args[args.length - 1] = vector.getEntry(i);
-            String row = String.format(rowTemplate, (Object[]) args);
-            ConsoleUtils.println(row);
+            appendMatrixRow(printer, matrix, i, numbersAfterPoint);
+            printer.append("|\t").append(vector.getEntry(i), numbersAfterPoint).newLine();
         }
+        printer.flush();
     }
 
     public static void printMatrix(RealMatrix matrix, int numbersAfterPoint) throws LaboratoryFrameworkException {
         ValidationUtils.requireNonNull(matrix);
         ValidationUtils.requireGreaterOrEqualThan(numbersAfterPoint, 0, "numbersAfterPoint must be >= 0");
-        String rowTemplate = String.format("%%.%df\t", numbersAfterPoint).repeat(matrix.getColumnDimension());
+        FixedPointPrinter printer = new FixedPointPrinter(getConsoleIO());
         for (int i = 0; i < matrix.getRowDimension(); i++) {
-            double[] rowNumbers = matrix.getRowVector(i).toArray();
-            Double[] args = new Double[rowNumbers.length + 1];
-            for (int j = 0; j < rowNumbers.length; j++) {
-                args[j] = rowNumbers[j];
+            appendMatrixRow(printer, matrix, i, numbersAfterPoint);
+            printer.newLine();
+        }
+        printer.flush();
+    }
+
+    /**
+     * Appends every entry of the row followed by tab character
+     */
+    private static void appendMatrixRow(FixedPointPrinter printer, RealMatrix matrix, int row, int numbersAfterPoint) {
+        if (matrix instanceof Array2DRowRealMatrix) {
+            double[] rowNumbers = ((Array2DRowRealMatrix) matrix).getDataRef()[row];
+            for (double number : rowNumbers) {
+                printer.append(number, numbersAfterPoint).append('\t');
             }
-            String row = String.format(rowTemplate, (Object[]) args);
-            ConsoleUtils.println(row);
+            return;
+        }
+        for (int j = 0; j < matrix.getColumnDimension(); j++) {
+            printer.append(matrix.getEntry(row, j), numbersAfterPoint).append('\t');
         }
     }
 
-    public static void printVector(RealVector vector, int numbersAfterPoint) throws LaboratoryFrameworkException {
-        ValidationUtils.requireNonNull(vector);
+    /**
+     * Prints every stored entry as 'row column value' line, so output can be used as input of the matrix
+     */
+    public static void printSparseMatrix(CsrMatrix matrix, int numbersAfterPoint) throws LaboratoryFrameworkException {
+        ValidationUtils.requireNonNull(matrix);
         ValidationUtils.requireGreaterOrEqualThan(numbersAfterPoint, 0, "numbersAfterPoint must be >= 0");
-        printVector(vector, ".".concat(String.valueOf(numbersAfterPoint)));
+        int[] rowPointers = matrix.getRowPointersRef();
+        int[] columnIndices = matrix.getColumnIndicesRef();
+        double[] values = matrix.getValuesRef();
+        FixedPointPrinter printer = new FixedPointPrinter(getConsoleIO());
+        for (int i = 0; i < matrix.getRowDimension(); i++) {
+            String row = Integer.toString(i);
+            for (int k = rowPointers[i]; k < rowPointers[i + 1]; k++) {
+                printer.append(row).append(' ')
+                        .append(Integer.toString(columnIndices[k])).append(' ')
+                        .append(values[k], numbersAfterPoint).newLine();
+            }
+        }
+        printer.flush();
     }
 
-    public static void printVector(RealVector vector) throws LaboratoryFrameworkException {
+    public static void printVector(RealVector vector, int numbersAfterPoint) throws LaboratoryFrameworkException {
         ValidationUtils.requireNonNull(vector);
-        printVector(vector, "");
+        ValidationUtils.requireGreaterOrEqualThan(numbersAfterPoint, 0, "numbersAfterPoint must be >= 0");
+        FixedPointPrinter printer = new FixedPointPrinter(getConsoleIO());
+        for (int i = 0; i < vector.getDimension(); i++) {
+            printer.append(vector.getEntry(i), numbersAfterPoint).append('\t');
+        }
+        printer.newLine().flush();
     }
 
-    private static void printVector(RealVector vector, String numbersAfterPointPattern) throws LaboratoryFrameworkException {
-        ValidationUtils.requireNonNull(vector);
-        String rowTemplate = String.format("%%%sf\t", numbersAfterPointPattern).repeat(vector.getDimension());
-        double[] rowNumbers = vector.toArray();
-        Double[] args = new Double[rowNumbers.length];
-        for (int j = 0; j < rowNumbers.length; j++) {
-            args[j] = rowNumbers[j];
-        }
-        String row = String.format(rowTemplate, (Object[]) args);
-        ConsoleUtils.println(row);
+    public static void printVector(RealVector vector) throws LaboratoryFrameworkException {
+        printVector(vector, DEFAULT_NUMBERS_AFTER_POINT);
     }
 
     public static void printInterval(Interval interval) throws LaboratoryFrameworkException {
         ValidationUtils.requireNonNull(interval);
-        String rowTemplate = "[%f - %f]";
-        String row = String.format(rowTemplate, interval.getInf());
-        ConsoleUtils.println(row);
+        new FixedPointPrinter(getConsoleIO())
+                .append('[')
+                .append(interval.getInf(), DEFAULT_NUMBERS_AFTER_POINT)
+                .append(" - ")
+                .append(interval.getSup(), DEFAULT_NUMBERS_AFTER_POINT)
+                .append(']')
+                .newLine()
+                .flush();
     }
 
-    public static String readLine() {
-        return new Scanner(System.in).nextLine();
+    /**
+     * @throws LaboratoryFrameworkException if the end of input has been reached
+     */
+    public static String readLine() throws LaboratoryFrameworkException {
+        String line = getConsoleIO().readLine();
+        if (line == null) {
+            throw new LaboratoryFrameworkException("End of input has been reached");
+        }
+        return line;
     }
 
     public static String askForStringRepeatedly() {
@@ -191,6 +277,47 @@ public final class ConsoleUtils {
         return out;
     }
 
+    /**
+     * Reads nonzero entries as 'row column value' lines with indices starting from 0 until empty line,
+     * or Matrix Market content if the first line is its banner. Invalid Matrix Market content is not asked again,
+     * because lines which follow it cannot be told apart from its entries, its declared entries are skipped instead
+     *
+     * @throws LaboratoryFrameworkException if Matrix Market content is invalid or the end of input has been reached
+     */
+    public static CsrMatrix askForSparseMatrixRepeatedly(int rowCount, int columnCount) {
+        ValidationUtils.requireGreaterOrEqualThan(rowCount, 1, String.format("Row count must be >= %d", 1));
+        ValidationUtils.requireGreaterOrEqualThan(columnCount, 1, String.format("Column count must be >= %d", 1));
+        println(String.format("Input nonzero entries of matrix with row count: %d and column count: %d "
+                + "as 'row column value' lines with indices from 0 and then empty line, "
+                + "or Matrix Market content", rowCount, columnCount));
+        String line = readLine();
+        if (!MatrixMarketUtils.isBanner(line)) {
+            return readSparseMatrixEntries(line, rowCount, columnCount);
+        }
+        try {
+            return MatrixMarketUtils.readMatrix(line, getConsoleIO()::readLine, rowCount, columnCount);
+        } catch (IOException e) {
+            throw new LaboratoryFrameworkException(e);
+        }
+    }
+
+    /**
+     * Invalid entries are skipped, so only the end of input stops reading before empty line
+     *
+     * @param line - the first entry
+     */
+    private static CsrMatrix readSparseMatrixEntries(String line, int rowCount, int columnCount) {
+        CsrMatrix.Builder builder = new CsrMatrix.Builder(rowCount, columnCount);
+        for (; !line.isBlank(); line = readLine()) {
+            try {
+                MatrixMarketUtils.addEntry(builder, line);
+            } catch (LaboratoryFrameworkException e) {
+                println(String.format("%s, the entry is skipped", e.getMessage()));
+            }
+        }
+        return builder.build();
+    }
+
     public static PolynomialFunction askForPolynomialFunctionRepeatedly(int maxDegree) {
         ValidationUtils.requireGreaterOrEqualThan(maxDegree, 0, String.format("Degree must be >= %d", 0));
         double[] coefficients = askForDoubleArrayRepeatedly(maxDegree + 1);
@@ -225,7 +352,12 @@ public final class ConsoleUtils {
         return askForObjectRepeatedly(message, mapper, "Invalid input");
     }
 
-    private static double[] convertStringToDoubleArray(String s, int length) {
+    /**
+     * @param s - numbers split by single space
+     * @throws LaboratoryFrameworkException if string does not contain exactly length numbers
+     * @throws NumberFormatException        if any of numbers cannot be parsed
+     */
+    public static double[] convertStringToDoubleArray(String s, int length) {
         ValidationUtils.requireGreaterOrEqualThan(length, 1, String.format("Array length must be >= %d", 1));
         String message = String.format("String must contain %d numbers", length);
         final String[] split = s.split(" ");
@@ -4,6 +4,8 @@ import framework.exception.LaboratoryFrameworkException;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
 import java.util.function.Function;
 
 public final class ConverterUtils {
@@ -64,6 +66,15 @@ public final class ConverterUtils {
         return convert(s, BigDecimal::new);
     }
 
+    public static Path pathFromString(String s) throws LaboratoryFrameworkException {
+        ValidationUtils.requireNotEmpty(s);
+        try {
+            return Path.of(s);
+        } catch (InvalidPathException e) {
+            throw new LaboratoryFrameworkException(String.format("Invalid path: %s", e.getMessage()));
+        }
+    }
+
     private static <T> T convert(String s, Function<String, T> mapper) throws LaboratoryFrameworkException {
         ValidationUtils.requireNotEmpty(s);
         ValidationUtils.requireNonNull(mapper);
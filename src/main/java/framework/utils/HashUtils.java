@@ -0,0 +1,166 @@
+package framework.utils;
+
+import framework.matrix.CsrMatrix;
+import org.apache.commons.math3.analysis.polynomials.PolynomialFunction;
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
+import org.apache.commons.math3.linear.ArrayRealVector;
+import org.apache.commons.math3.linear.RealMatrix;
+import org.apache.commons.math3.linear.RealVector;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Hashes and equality of values by their contents. Matrices and vectors are equal if they have the same
+ * dimensions and entries, regardless of their classes. Entries are compared by bits, so NaN equals NaN
+ */
+public final class HashUtils {
+
+    private HashUtils() {
+    }
+
+    public static int structuralHash(Object value) {
+        if (value instanceof CsrMatrix) {
+            return sparseMatrixHash((CsrMatrix) value);
+        }
+        if (value instanceof Array2DRowRealMatrix) {
+            double[][] data = ((Array2DRowRealMatrix) value).getDataRef();
+            int out = 31 * data.length + (data.length == 0 ? 0 : data[0].length);
+            for (double[] row : data) {
+                out = 31 * out + Arrays.hashCode(row);
+            }
+            return out;
+        }
+        if (value instanceof RealMatrix) {
+            RealMatrix matrix = (RealMatrix) value;
+            int out = 31 * matrix.getRowDimension() + matrix.getColumnDimension();
+            for (int i = 0; i < matrix.getRowDimension(); i++) {
+                int rowHash = 1;
+                for (int j = 0; j < matrix.getColumnDimension(); j++) {
+                    rowHash = 31 * rowHash + Double.hashCode(matrix.getEntry(i, j));
+                }
+                out = 31 * out + rowHash;
+            }
+            return out;
+        }
+        if (value instanceof ArrayRealVector) {
+            return Arrays.hashCode(((ArrayRealVector) value).getDataRef());
+        }
+        if (value instanceof RealVector) {
+            RealVector vector = (RealVector) value;
+            int out = 1;
+            for (int i = 0; i < vector.getDimension(); i++) {
+                out = 31 * out + Double.hashCode(vector.getEntry(i));
+            }
+            return out;
+        }
+        if (value instanceof PolynomialFunction) {
+            return Arrays.hashCode(((PolynomialFunction) value).getCoefficients());
+        }
+        return Objects.hashCode(value);
+    }
+
+    /**
+     * @return true if values are equal by contents, consistently with {@link #structuralHash(Object)}
+     */
+    public static boolean structuralEquals(Object a, Object b) {
+        if (a == b) {
+            return true;
+        }
+        if (a instanceof RealMatrix && b instanceof RealMatrix) {
+            return matricesEqual((RealMatrix) a, (RealMatrix) b);
+        }
+        if (a instanceof RealVector && b instanceof RealVector) {
+            RealVector x = (RealVector) a;
+            RealVector y = (RealVector) b;
+            if (x.getDimension() != y.getDimension()) {
+                return false;
+            }
+            for (int i = 0; i < x.getDimension(); i++) {
+                if (Double.doubleToLongBits(x.getEntry(i)) != Double.doubleToLongBits(y.getEntry(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (a instanceof PolynomialFunction && b instanceof PolynomialFunction) {
+            return Arrays.equals(((PolynomialFunction) a).getCoefficients(), ((PolynomialFunction) b).getCoefficients());
+        }
+        return Objects.equals(a, b);
+    }
+
+    /**
+     * @return 31 to the power with int overflow, it is the factor by which polynomial hash is multiplied
+     * after exponent elements, so runs of zeros are hashed without visiting them
+     */
+    public static int powerOf31(long exponent) {
+        int out = 1;
+        int base = 31;
+        while (exponent > 0) {
+            if ((exponent & 1) != 0) {
+                out *= base;
+            }
+            base *= base;
+            exponent >>>= 1;
+        }
+        return out;
+    }
+
+    private static boolean matricesEqual(RealMatrix a, RealMatrix b) {
+        if (a.getRowDimension() != b.getRowDimension() || a.getColumnDimension() != b.getColumnDimension()) {
+            return false;
+        }
+        if (a instanceof CsrMatrix && b instanceof CsrMatrix) {
+            CsrMatrix x = (CsrMatrix) a;
+            CsrMatrix y = (CsrMatrix) b;
+            if (Arrays.equals(x.getRowPointersRef(), y.getRowPointersRef())
+                    && Arrays.equals(x.getColumnIndicesRef(), y.getColumnIndicesRef())) {
+                return Arrays.equals(x.getValuesRef(), y.getValuesRef());
+            }
+        }
+        if (a instanceof Array2DRowRealMatrix && b instanceof Array2DRowRealMatrix) {
+            double[][] x = ((Array2DRowRealMatrix) a).getDataRef();
+            double[][] y = ((Array2DRowRealMatrix) b).getDataRef();
+            for (int i = 0; i < x.length; i++) {
+                if (!Arrays.equals(x[i], y[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        for (int i = 0; i < a.getRowDimension(); i++) {
+            for (int j = 0; j < a.getColumnDimension(); j++) {
+                if (Double.doubleToLongBits(a.getEntry(i, j)) != Double.doubleToLongBits(b.getEntry(i, j))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Equals hash of any matrix with the same entries, zero entries are skipped
+     */
+    private static int sparseMatrixHash(CsrMatrix matrix) {
+        int[] rowPointers = matrix.getRowPointersRef();
+        int[] columnIndices = matrix.getColumnIndicesRef();
+        double[] values = matrix.getValuesRef();
+        int columnCount = matrix.getColumnDimension();
+        int emptyRowHash = powerOf31(columnCount);
+        int out = 31 * matrix.getRowDimension() + columnCount;
+        for (int i = 0; i < matrix.getRowDimension(); i++) {
+            int rowHash = emptyRowHash;
+            if (rowPointers[i] < rowPointers[i + 1]) {
+                rowHash = 1;
+                int next = 0;
+                for (int k = rowPointers[i]; k < rowPointers[i + 1]; k++) {
+                    rowHash = rowHash * powerOf31(columnIndices[k] - next) * 31 + Double.hashCode(values[k]);
+                    next = columnIndices[k] + 1;
+                }
+                rowHash *= powerOf31(columnCount - next);
+            }
+            out = 31 * out + rowHash;
+        }
+        return out;
+    }
+}
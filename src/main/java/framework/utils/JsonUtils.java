@@ -0,0 +1,187 @@
+package framework.utils;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import framework.exception.LaboratoryFrameworkException;
+import framework.matrix.CsrMatrix;
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
+import org.apache.commons.math3.linear.ArrayRealVector;
+import org.apache.commons.math3.linear.RealMatrix;
+import org.apache.commons.math3.linear.RealVector;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Shares one configured {@link ObjectMapper}, which is thread-safe and expensive to create,
+ * and writes JSON straight into writers, so values are never serialized into intermediate strings.
+ * Supplied writers are neither closed nor flushed
+ */
+public final class JsonUtils {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+            .disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+
+    private static final ObjectWriter PRETTY_WRITER = OBJECT_MAPPER.writerWithDefaultPrettyPrinter();
+
+    private JsonUtils() {
+    }
+
+    public static ObjectMapper getObjectMapper() {
+        return OBJECT_MAPPER;
+    }
+
+    /**
+     * @return writer which indents output
+     */
+    public static ObjectWriter getPrettyWriter() {
+        return PRETTY_WRITER;
+    }
+
+    /**
+     * Writes indented JSON of value followed by line separator
+     *
+     * @throws LaboratoryFrameworkException if value cannot be serialized or any IOException has occurred
+     */
+    public static void writeValue(Writer writer, Object value) throws LaboratoryFrameworkException {
+        ValidationUtils.requireNonNull(writer);
+        try {
+            PRETTY_WRITER.writeValue(writer, value);
+            writer.write(System.lineSeparator());
+        } catch (IOException e) {
+            throw new LaboratoryFrameworkException(e);
+        }
+    }
+
+    /**
+     * Writes matrix as array of rows, one row per line, followed by line separator
+     *
+     * @throws LaboratoryFrameworkException if matrix is null or any IOException has occurred
+     */
+    public static void writeMatrix(Writer writer, RealMatrix matrix) throws LaboratoryFrameworkException {
+        ValidationUtils.requireNonNull(writer, matrix);
+        try (JsonGenerator generator = OBJECT_MAPPER.createGenerator(writer)) {
+            generator.setPrettyPrinter(new RowPerLinePrettyPrinter());
+            generator.writeStartArray();
+            for (int i = 0; i < matrix.getRowDimension(); i++) {
+                if (matrix instanceof Array2DRowRealMatrix) {
+                    double[] row = ((Array2DRowRealMatrix) matrix).getDataRef()[i];
+                    generator.writeArray(row, 0, row.length);
+                } else {
+                    generator.writeStartArray();
+                    for (int j = 0; j < matrix.getColumnDimension(); j++) {
+                        generator.writeNumber(matrix.getEntry(i, j));
+                    }
+                    generator.writeEndArray();
+                }
+            }
+            generator.writeEndArray();
+            generator.writeRaw(System.lineSeparator());
+        } catch (IOException e) {
+            throw new LaboratoryFrameworkException(e);
+        }
+    }
+
+    /**
+     * Writes dimensions and stored entries as [row, column, value] arrays, one entry per line,
+     * followed by line separator
+     *
+     * @throws LaboratoryFrameworkException if matrix is null or any IOException has occurred
+     */
+    public static void writeSparseMatrix(Writer writer, CsrMatrix matrix) throws LaboratoryFrameworkException {
+        ValidationUtils.requireNonNull(writer, matrix);
+        int[] rowPointers = matrix.getRowPointersRef();
+        int[] columnIndices = matrix.getColumnIndicesRef();
+        double[] values = matrix.getValuesRef();
+        try (JsonGenerator generator = OBJECT_MAPPER.createGenerator(writer)) {
+            generator.setPrettyPrinter(new RowPerLinePrettyPrinter());
+            generator.writeStartObject();
+            generator.writeNumberField("rowCount", matrix.getRowDimension());
+            generator.writeNumberField("columnCount", matrix.getColumnDimension());
+            generator.writeArrayFieldStart("entries");
+            for (int i = 0; i < matrix.getRowDimension(); i++) {
+                for (int k = rowPointers[i]; k < rowPointers[i + 1]; k++) {
+                    generator.writeStartArray();
+                    generator.writeNumber(i);
+                    generator.writeNumber(columnIndices[k]);
+                    generator.writeNumber(values[k]);
+                    generator.writeEndArray();
+                }
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+            generator.writeRaw(System.lineSeparator());
+        } catch (IOException e) {
+            throw new LaboratoryFrameworkException(e);
+        }
+    }
+
+    /**
+     * Writes vector as array on a single line followed by line separator
+     *
+     * @throws LaboratoryFrameworkException if vector is null or any IOException has occurred
+     */
+    public static void writeVector(Writer writer, RealVector vector) throws LaboratoryFrameworkException {
+        ValidationUtils.requireNonNull(writer, vector);
+        try (JsonGenerator generator = OBJECT_MAPPER.createGenerator(writer)) {
+            if (vector instanceof ArrayRealVector) {
+                double[] entries = ((ArrayRealVector) vector).getDataRef();
+                generator.writeArray(entries, 0, entries.length);
+            } else {
+                generator.writeStartArray();
+                for (int i = 0; i < vector.getDimension(); i++) {
+                    generator.writeNumber(vector.getEntry(i));
+                }
+                generator.writeEndArray();
+            }
+            generator.writeRaw(System.lineSeparator());
+        } catch (IOException e) {
+            throw new LaboratoryFrameworkException(e);
+        }
+    }
+
+    /**
+     * Breaks lines only between elements of the outermost array, so every nested array takes a single line
+     */
+    private static final class RowPerLinePrettyPrinter extends MinimalPrettyPrinter {
+
+        private static final long serialVersionUID = 1L;
+
+        private static final String INDENT = "  ";
+
+        private int depth;
+
+        @Override
+        public void writeStartArray(JsonGenerator generator) throws IOException {
+            depth++;
+            generator.writeRaw('[');
+        }
+
+        @Override
+        public void beforeArrayValues(JsonGenerator generator) throws IOException {
+            if (depth == 1) {
+                generator.writeRaw(System.lineSeparator() + INDENT);
+            }
+        }
+
+        @Override
+        public void writeArrayValueSeparator(JsonGenerator generator) throws IOException {
+            generator.writeRaw(',');
+            if (depth == 1) {
+                generator.writeRaw(System.lineSeparator() + INDENT);
+            }
+        }
+
+        @Override
+        public void writeEndArray(JsonGenerator generator, int valueCount) throws IOException {
+            if (depth == 1 && valueCount > 0) {
+                generator.writeRaw(System.lineSeparator());
+            }
+            generator.writeRaw(']');
+            depth--;
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package framework.utils;
+
+import framework.exception.LaboratoryFrameworkException;
+import framework.matrix.CsrMatrix;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Class reads and writes sparse matrices in Matrix Market coordinate format. Real, integer and pattern fields
+ * and general, symmetric and skew-symmetric matrices are supported. Indices in files start from 1.
+ * Lines are split without regular expressions, so files with millions of entries are read quickly
+ */
+public final class MatrixMarketUtils {
+
+    private static final String BANNER = "%%MatrixMarket";
+
+    private static final char COMMENT = '%';
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private MatrixMarketUtils() {
+    }
+
+    /**
+     * @throws LaboratoryFrameworkException if file is not a coordinate Matrix Market matrix of supported kind
+     *                                      or any IOException has occurred
+     */
+    public static CsrMatrix readMatrix(Path path) throws LaboratoryFrameworkException {
+        return readMatrix(path, null);
+    }
+
+    /**
+     * Dimensions are checked by the size line, before entries are read
+     *
+     * @throws LaboratoryFrameworkException if file is not a coordinate Matrix Market matrix of supported kind
+     *                                      with supplied dimensions or any IOException has occurred
+     */
+    public static CsrMatrix readMatrix(Path path, int rowCount, int columnCount) throws LaboratoryFrameworkException {
+        return readMatrix(path, new int[]{rowCount, columnCount});
+    }
+
+    private static CsrMatrix readMatrix(Path path, int[] expectedShape) throws LaboratoryFrameworkException {
+        ValidationUtils.requireNonNull(path, "Path is not specified");
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(Files.newInputStream(path), StandardCharsets.US_ASCII), BUFFER_SIZE)) {
+            String banner = reader.readLine();
+            ValidationUtils.requireTrue(isBanner(banner), String.format("%s is not a Matrix Market file", path));
+            return readMatrix(banner, reader::readLine, expectedShape, false);
+        } catch (IOException e) {
+            throw new LaboratoryFrameworkException(e);
+        }
+    }
+
+    /**
+     * Writes matrix as real general matrix, one stored entry per line
+     *
+     * @throws LaboratoryFrameworkException if any IOException has occurred
+     */
+    public static void writeMatrix(Path path, CsrMatrix matrix) throws LaboratoryFrameworkException {
+        ValidationUtils.requireNonNull(path, matrix);
+        int[] rowPointers = matrix.getRowPointersRef();
+        int[] columnIndices = matrix.getColumnIndicesRef();
+        double[] values = matrix.getValuesRef();
+        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.US_ASCII)) {
+            StringBuilder line = new StringBuilder(BANNER).append(" matrix coordinate real general\n")
+                    .append(matrix.getRowDimension()).append(' ')
+                    .append(matrix.getColumnDimension()).append(' ')
+                    .append(values.length).append('\n');
+            for (int i = 0; i < matrix.getRowDimension(); i++) {
+                for (int k = rowPointers[i]; k < rowPointers[i + 1]; k++) {
+                    line.append(i + 1).append(' ').append(columnIndices[k] + 1).append(' ').append(values[k]).append('\n');
+                    if (line.length() >= BUFFER_SIZE) {
+                        writer.append(line);
+                        line.setLength(0);
+                    }
+                }
+            }
+            writer.append(line);
+        } catch (IOException e) {
+            throw new LaboratoryFrameworkException(e);
+        }
+    }
+
+    static boolean isBanner(String line) {
+        return line != null && line.regionMatches(true, 0, BANNER, 0, BANNER.length());
+    }
+
+    /**
+     * Reads size line and entries which follow the banner. Once the size line is read, all declared entries
+     * are consumed even if the matrix is invalid, so lines which follow the matrix are not taken for its rest
+     *
+     * @throws LaboratoryFrameworkException if data is malformed, dimensions differ from supplied ones
+     *                                      or data ends before all entries are read
+     */
+    static CsrMatrix readMatrix(String banner, LineSource lines, int rowCount, int columnCount)
+            throws IOException, LaboratoryFrameworkException {
+        return readMatrix(banner, lines, new int[]{rowCount, columnCount}, true);
+    }
+
+    /**
+     * @param expectedShape  - row and column count which must be in size line, null if any size is allowed
+     * @param consumeEntries - whether declared entries are skipped when the matrix is found invalid
+     */
+    private static CsrMatrix readMatrix(String banner, LineSource lines, int[] expectedShape, boolean consumeEntries)
+            throws IOException, LaboratoryFrameworkException {
+        String[] header = banner.trim().toLowerCase(Locale.ROOT).split("\\s+");
+        ValidationUtils.requireTrue(header.length == 5 && "matrix".equals(header[1]) && "coordinate".equals(header[2]),
+                "Only coordinate Matrix Market matrices are supported");
+        String field = header[3];
+        String symmetry = header[4];
+        ValidationUtils.requireTrue("real".equals(field) || "integer".equals(field) || "pattern".equals(field),
+                String.format("Unsupported Matrix Market field: %s", field));
+        ValidationUtils.requireTrue("general".equals(symmetry) || "symmetric".equals(symmetry)
+                || "skew-symmetric".equals(symmetry), String.format("Unsupported Matrix Market symmetry: %s", symmetry));
+        boolean pattern = "pattern".equals(field);
+        boolean general = "general".equals(symmetry);
+        double mirrorSign = "skew-symmetric".equals(symmetry) ? -1 : 1;
+
+        String sizeLine = nextDataLine(lines);
+        ValidationUtils.requireNonNull(sizeLine, "Size line is missing");
+        EntryTokenizer tokenizer = new EntryTokenizer(sizeLine);
+        int rowCount = tokenizer.nextInt();
+        int columnCount = tokenizer.nextInt();
+        int entryCount = tokenizer.nextInt();
+        ValidationUtils.requireGreaterOrEqualThan(entryCount, 0, "Count of entries must be >= 0");
+        int readCount = 0;
+        try {
+            if (expectedShape != null) {
+                ValidationUtils.requireEquals(rowCount, expectedShape[0],
+                        String.format("Matrix row count must be %d", expectedShape[0]));
+                ValidationUtils.requireEquals(columnCount, expectedShape[1],
+                        String.format("Matrix column count must be %d", expectedShape[1]));
+            }
+            CsrMatrix.Builder builder = new CsrMatrix.Builder(rowCount, columnCount,
+                    general ? entryCount : (int) Math.min(Integer.MAX_VALUE - 8, 2L * entryCount));
+            while (readCount < entryCount) {
+                String line = nextDataLine(lines);
+                if (line == null) {
+                    throw new LaboratoryFrameworkException(
+                            String.format("Data ends after %d of %d entries", readCount, entryCount));
+                }
+                readCount++;
+                tokenizer = new EntryTokenizer(line);
+                int row = tokenizer.nextInt() - 1;
+                int column = tokenizer.nextInt() - 1;
+                double value = pattern ? 1 : tokenizer.nextDouble();
+                builder.add(row, column, value);
+                if (!general && row != column) {
+                    builder.add(column, row, mirrorSign * value);
+                }
+            }
+            return builder.build();
+        } catch (LaboratoryFrameworkException e) {
+            if (consumeEntries) {
+                skipDataLines(lines, entryCount - readCount);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Stops at the end of data, if it is reached earlier
+     */
+    private static void skipDataLines(LineSource lines, int count) throws IOException {
+        int skipped = 0;
+        while (skipped < count && nextDataLine(lines) != null) {
+            skipped++;
+        }
+    }
+
+    /**
+     * Adds entry from line 'row column value' with indices starting from 0
+     *
+     * @throws LaboratoryFrameworkException if line is malformed or indices are out of matrix
+     */
+    static void addEntry(CsrMatrix.Builder builder, String line) throws LaboratoryFrameworkException {
+        EntryTokenizer tokenizer = new EntryTokenizer(line);
+        int row = tokenizer.nextInt();
+        int column = tokenizer.nextInt();
+        double value = tokenizer.nextDouble();
+        ValidationUtils.requireFalse(tokenizer.hasNext(), String.format("Invalid entry: %s", line));
+        builder.add(row, column, value);
+    }
+
+    /**
+     * @return next line which is neither blank nor comment, or null at the end of data
+     */
+    private static String nextDataLine(LineSource lines) throws IOException {
+        String line = lines.readLine();
+        while (line != null && (line.isBlank() || line.charAt(0) == COMMENT)) {
+            line = lines.readLine();
+        }
+        return line;
+    }
+
+    @FunctionalInterface
+    interface LineSource {
+
+        /**
+         * @return next line or null at the end of data
+         */
+        String readLine() throws IOException;
+    }
+
+    /**
+     * Splits line by whitespace
+     */
+    private static final class EntryTokenizer {
+
+        private final String line;
+
+        private int position;
+
+        private EntryTokenizer(String line) {
+            this.line = line;
+        }
+
+        private boolean hasNext() {
+            skipWhitespace();
+            return position < line.length();
+        }
+
+        private int nextInt() throws LaboratoryFrameworkException {
+            int from = nextTokenStart();
+            try {
+                return Integer.parseInt(line, from, position, 10);
+            } catch (NumberFormatException e) {
+                throw new LaboratoryFrameworkException(String.format("Invalid entry: %s", line));
+            }
+        }
+
+        private double nextDouble() throws LaboratoryFrameworkException {
+            int from = nextTokenStart();
+            try {
+                return Double.parseDouble(line.substring(from, position));
+            } catch (NumberFormatException e) {
+                throw new LaboratoryFrameworkException(String.format("Invalid entry: %s", line));
+            }
+        }
+
+        private int nextTokenStart() throws LaboratoryFrameworkException {
+            ValidationUtils.requireTrue(hasNext(), String.format("Invalid entry: %s", line));
+            int from = position;
+            while (position < line.length() && !Character.isWhitespace(line.charAt(position))) {
+                position++;
+            }
+            return from;
+        }
+
+        private void skipWhitespace() {
+            while (position < line.length() && Character.isWhitespace(line.charAt(position))) {
+                position++;
+            }
+        }
+    }
+}
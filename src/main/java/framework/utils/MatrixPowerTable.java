@@ -0,0 +1,106 @@
+package framework.utils;
+
+import framework.exception.LaboratoryFrameworkException;
+import org.apache.commons.math3.linear.RealMatrix;
+
+import javax.annotation.concurrent.NotThreadSafe;
+import java.util.Arrays;
+
+/**
+ * Lazy table of powers 0..maxPower of a square matrix. Power is computed only when it is requested,
+ * starting from the nearest lower power which is kept in the table, so requesting powers in ascending order
+ * costs one multiplication per power and any other request costs at most 1 + 2 * log2(q) multiplications.
+ * If window size is specified, power q is kept in slot q mod windowSize, so when powers are requested
+ * in ascending order only the last windowSize of them are kept
+ */
+@NotThreadSafe
+public final class MatrixPowerTable {
+
+    private static final int NOT_COMPUTED = -1;
+
+    private final RealMatrix matrix;
+
+    private final int maxPower;
+
+    private final int windowSize;
+
+    private final RealMatrix[] powers;
+
+    /**
+     * Power which is kept in the same slot of {@link #powers}
+     */
+    private final int[] slotToPower;
+
+    /**
+     * Table keeps every requested power
+     *
+     * @throws LaboratoryFrameworkException if matrix is not square or maxPower < 0
+     */
+    public MatrixPowerTable(RealMatrix matrix, int maxPower) throws LaboratoryFrameworkException {
+        this(matrix, maxPower, 0);
+    }
+
+    /**
+     * @param windowSize - count of powers to keep, 0 to keep every requested power
+     * @throws LaboratoryFrameworkException if matrix is not square, maxPower < 0 or windowSize < 0
+     */
+    public MatrixPowerTable(RealMatrix matrix, int maxPower, int windowSize) throws LaboratoryFrameworkException {
+        ValidationUtils.requireNonNull(matrix);
+        ValidationUtils.requireEquals(matrix.getRowDimension(), matrix.getColumnDimension(),
+                "Dimensions of matrix must be equal");
+        ValidationUtils.requireGreaterOrEqualThan(maxPower, 0, "Max power must be >= 0");
+        ValidationUtils.requireGreaterOrEqualThan(windowSize, 0, "Window size must be >= 0");
+        this.matrix = matrix;
+        this.maxPower = maxPower;
+        this.windowSize = windowSize;
+        int slotCount = windowSize == 0 ? maxPower + 1 : Math.min(windowSize, maxPower + 1);
+        this.powers = new RealMatrix[slotCount];
+        this.slotToPower = new int[slotCount];
+        Arrays.fill(slotToPower, NOT_COMPUTED);
+    }
+
+    /**
+     * @return matrix in power q
+     * @throws LaboratoryFrameworkException if q < 0 or q > maxPower
+     */
+    public RealMatrix get(int q) throws LaboratoryFrameworkException {
+        ValidationUtils.requireBetweenClosed(q, 0, maxPower, String.format("Power must be in [0, %d]", maxPower));
+        int slot = q % powers.length;
+        if (slotToPower[slot] == q) {
+            return powers[slot];
+        }
+        int nearestSlot = findNearestLowerSlot(q);
+        RealMatrix out;
+        if (nearestSlot == NOT_COMPUTED || slotToPower[nearestSlot] == 0) {
+            out = MatrixUtils.power(matrix, q);
+        } else {
+            int difference = q - slotToPower[nearestSlot];
+            RealMatrix multiplier = difference == 1 ? matrix : MatrixUtils.power(matrix, difference);
+            out = MatrixUtils.multiplyParallel(powers[nearestSlot], multiplier);
+        }
+        powers[slot] = out;
+        slotToPower[slot] = q;
+        return out;
+    }
+
+    public int getMaxPower() {
+        return maxPower;
+    }
+
+    /**
+     * @return 0 if every requested power is kept
+     */
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    private int findNearestLowerSlot(int q) {
+        int out = NOT_COMPUTED;
+        for (int i = 0; i < slotToPower.length; i++) {
+            if (slotToPower[i] != NOT_COMPUTED && slotToPower[i] < q && (out == NOT_COMPUTED || slotToPower[i] > slotToPower[out])) {
+                out = i;
+            }
+        }
+        return out;
+    }
+}
@@ -1,17 +1,25 @@
 package framework.utils;
 
 import framework.exception.LaboratoryFrameworkException;
+import framework.matrix.CompanionMatrix;
+import framework.matrix.PermutedMatrix;
 import org.apache.commons.math3.linear.*;
 
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 
 public class MatrixUtils {
 
     private MatrixUtils() {
     }
 
+    /**
+     * Computes every power 0..q by q - 1 sequential multiplications and keeps all of them.
+     * Use {@link #power(RealMatrix, int)} if only one power is needed
+     * or {@link MatrixPowerTable} if powers are requested one by one
+     */
     public static Map<Integer, RealMatrix> getPowerToMatrixInThatPower(RealMatrix matrix, int q)
             throws LaboratoryFrameworkException {
         ValidationUtils.requireEquals(matrix.getRowDimension(), matrix.getColumnDimension(),
@@ -22,58 +30,198 @@ public class MatrixUtils {
         iterationStepToMatrix.put(1, matrix);
         for (int i = 2; i <= q; i++) {
             RealMatrix computedOnPreviousStep = iterationStepToMatrix.get(i - 1);
-            RealMatrix computedOnThisStep = computedOnPreviousStep.multiply(matrix);
+            RealMatrix computedOnThisStep = multiplyParallel(computedOnPreviousStep, matrix);
             iterationStepToMatrix.put(i, computedOnThisStep);
         }
         return iterationStepToMatrix;
     }
 
-    public static DiagonalMatrix getElementaryMatrix(int dimension) {
-        double[] arrayOfOnes = new double[dimension];
-        Arrays.fill(arrayOfOnes, 1);
-        return new DiagonalMatrix(arrayOfOnes);
+    /**
+     * Computes matrix in power q by exponentiation by squaring, which takes at most 2 * log2(q) multiplications
+     *
+     * @return new matrix, which is not shared with the argument even if q == 1, identity matrix if q == 0
+     * @throws LaboratoryFrameworkException if matrix is not square or q < 0
+     */
+    public static RealMatrix power(RealMatrix matrix, int q) throws LaboratoryFrameworkException {
+        ValidationUtils.requireNonNull(matrix);
+        ValidationUtils.requireEquals(matrix.getRowDimension(), matrix.getColumnDimension(),
+                "Dimensions of matrix must be equal");
+        ValidationUtils.requireGreaterOrEqualThan(q, 0, "Power must be >= 0");
+        if (q == 0) {
+            return getElementaryMatrix(matrix.getRowDimension());
+        }
+        if (matrix instanceof CompanionMatrix) {
+            return matrix.power(q);
+        }
+        if (q == 1) {
+            return matrix.copy();
+        }
+        RealMatrix out = null;
+        RealMatrix square = matrix;
+        while (true) {
+            if ((q & 1) != 0) {
+                out = out == null ? square : multiplyParallel(out, square);
+            }
+            q >>>= 1;
+            if (q == 0) {
+                return out;
+            }
+            square = multiplyParallel(square, square);
+        }
     }
 
-    public static RealMatrix getFrobeniusMatrix(double[] coefficients) {
-        if (coefficients == null || coefficients.length <= 1) {
-            throw new LaboratoryFrameworkException("Invalid coefficient array");
+    /**
+     * Computes product of matrices via {@link #multiplyParallel(double[], double[], int, int, int)}.
+     * Products with {@link CompanionMatrix} are computed by its structured methods
+     *
+     * @throws LaboratoryFrameworkException if column dimension of a is not equal to row dimension of b
+     */
+    public static RealMatrix multiplyParallel(RealMatrix a, RealMatrix b) throws LaboratoryFrameworkException {
+        ValidationUtils.requireNonNull(a, b);
+        ValidationUtils.requireEquals(a.getColumnDimension(), b.getRowDimension(),
+                "Column dimension of the first matrix must be equal to row dimension of the second one");
+        if (a instanceof CompanionMatrix) {
+            return a.multiply(b);
+        }
+        if (b instanceof CompanionMatrix) {
+            return b.preMultiply(a);
         }
-        Array2DRowRealMatrix out = new Array2DRowRealMatrix(coefficients.length, coefficients.length);
-        for (int i = 0; i < coefficients.length - 1; i++) {
-            double[] row = new double[coefficients.length];
-            Arrays.fill(row, 0);
-            row[i + 1] = 1;
-            out.setRow(i, row);
+        int rowCount = a.getRowDimension();
+        int columnCount = b.getColumnDimension();
+        double[] product = multiplyParallel(toRowMajorArray(a), toRowMajorArray(b),
+                rowCount, a.getColumnDimension(), columnCount);
+        double[][] out = new double[rowCount][];
+        for (int i = 0; i < rowCount; i++) {
+            out[i] = Arrays.copyOfRange(product, i * columnCount, (i + 1) * columnCount);
         }
-        double[] lastRow = new double[coefficients.length];
-        for (int i = 0; i < coefficients.length; i++) {
-            lastRow[i] = -1 * coefficients[i];
+        return new Array2DRowRealMatrix(out, false);
+    }
+
+    /**
+     * Computes product of row-major matrices a (rowCount x innerCount) and b (innerCount x columnCount).
+     * Product is computed by tiles, large products are split between threads of common {@link ForkJoinPool}
+     *
+     * @return row-major product rowCount x columnCount
+     * @throws LaboratoryFrameworkException if length of any array does not correspond with dimensions
+     */
+    public static double[] multiplyParallel(double[] a, double[] b, int rowCount, int innerCount, int columnCount)
+            throws LaboratoryFrameworkException {
+        ValidationUtils.requireNonNull(a, b);
+        ValidationUtils.requireTrue(rowCount >= 0 && innerCount >= 0 && columnCount >= 0, "Dimensions must be >= 0");
+        ValidationUtils.requireEquals((long) a.length, (long) rowCount * innerCount,
+                "Length of the first array does not correspond with dimensions");
+        ValidationUtils.requireEquals((long) b.length, (long) innerCount * columnCount,
+                "Length of the second array does not correspond with dimensions");
+        double[] out = new double[Math.multiplyExact(rowCount, columnCount)];
+        BlockedMultiplyTask task = new BlockedMultiplyTask(a, b, out, innerCount, columnCount,
+                0, rowCount, 0, columnCount);
+        if ((long) rowCount * columnCount * innerCount <= BlockedMultiplyTask.SEQUENTIAL_THRESHOLD) {
+            task.compute();
+        } else {
+            ForkJoinPool.commonPool().invoke(task);
         }
-        out.setRow(coefficients.length - 1, lastRow);
         return out;
     }
 
+    /**
+     * @return copy of matrix entries, row by row
+     */
+    public static double[] toRowMajorArray(RealMatrix matrix) {
+        ValidationUtils.requireNonNull(matrix);
+        int columnCount = matrix.getColumnDimension();
+        double[] out = new double[Math.multiplyExact(matrix.getRowDimension(), columnCount)];
+        if (matrix instanceof Array2DRowRealMatrix) {
+            double[][] data = ((Array2DRowRealMatrix) matrix).getDataRef();
+            for (int i = 0; i < data.length; i++) {
+                System.arraycopy(data[i], 0, out, i * columnCount, columnCount);
+            }
+            return out;
+        }
+        for (int i = 0; i < matrix.getRowDimension(); i++) {
+            for (int j = 0; j < columnCount; j++) {
+                out[i * columnCount + j] = matrix.getEntry(i, j);
+            }
+        }
+        return out;
+    }
+
+    public static DiagonalMatrix getElementaryMatrix(int dimension) {
+        double[] arrayOfOnes = new double[dimension];
+        Arrays.fill(arrayOfOnes, 1);
+        return new DiagonalMatrix(arrayOfOnes);
+    }
+
+    /**
+     * @return dense mutable companion matrix, see {@link #getCompanionMatrix(double[])} for the compact one
+     * @throws LaboratoryFrameworkException if there are less than 2 coefficients
+     */
+    public static RealMatrix getFrobeniusMatrix(double[] coefficients) throws LaboratoryFrameworkException {
+        return getCompanionMatrix(coefficients).materialize();
+    }
+
+    /**
+     * @return companion matrix which stores only its last row, so only the last row can be changed,
+     * see {@link CompanionMatrix}
+     * @throws LaboratoryFrameworkException if there are less than 2 coefficients
+     */
+    public static CompanionMatrix getCompanionMatrix(double[] coefficients) throws LaboratoryFrameworkException {
+        return new CompanionMatrix(coefficients);
+    }
+
+    /**
+     * Swaps rows in O(1) if matrix is {@link PermutedMatrix} or {@link Array2DRowRealMatrix},
+     * otherwise swaps entries one by one. No memory is allocated
+     */
     public static void swapRows(RealMatrix matrix, int index1, int index2) {
         ValidationUtils.requireNonNull(matrix);
         String messageTemplate = "Matrix row dimension must be > index%d";
         ValidationUtils.requireGreaterThan(matrix.getRowDimension(), index1, String.format(messageTemplate, 1));
         ValidationUtils.requireGreaterThan(matrix.getRowDimension(), index2, String.format(messageTemplate, 2));
 
-        RealVector row1 = new ArrayRealVector(matrix.getRowVector(index1));
-        RealVector row2 = new ArrayRealVector(matrix.getRowVector(index2));
-        matrix.setRow(index1, row2.toArray());
-        matrix.setRow(index2, row1.toArray());
+        if (matrix instanceof PermutedMatrix) {
+            ((PermutedMatrix) matrix).swapRows(index1, index2);
+            return;
+        }
+        if (matrix instanceof Array2DRowRealMatrix) {
+            double[][] data = ((Array2DRowRealMatrix) matrix).getDataRef();
+            double[] row1 = data[index1];
+            data[index1] = data[index2];
+            data[index2] = row1;
+            return;
+        }
+        for (int j = 0; j < matrix.getColumnDimension(); j++) {
+            double entry1 = matrix.getEntry(index1, j);
+            matrix.setEntry(index1, j, matrix.getEntry(index2, j));
+            matrix.setEntry(index2, j, entry1);
+        }
     }
 
+    /**
+     * Swaps columns in O(1) if matrix is {@link PermutedMatrix}, otherwise swaps entries one by one.
+     * No memory is allocated
+     */
     public static void swapColumns(RealMatrix matrix, int index1, int index2) {
         ValidationUtils.requireNonNull(matrix);
         String messageTemplate = "Matrix column dimension must be > index%d";
         ValidationUtils.requireGreaterThan(matrix.getColumnDimension(), index1, String.format(messageTemplate, 1));
         ValidationUtils.requireGreaterThan(matrix.getColumnDimension(), index2, String.format(messageTemplate, 2));
 
-        RealVector column1 = new ArrayRealVector(matrix.getColumn(index1));
-        RealVector column2 = new ArrayRealVector(matrix.getColumn(index2));
-        matrix.setColumn(index1, column2.toArray());
-        matrix.setColumn(index2, column1.toArray());
+        if (matrix instanceof PermutedMatrix) {
+            ((PermutedMatrix) matrix).swapColumns(index1, index2);
+            return;
+        }
+        if (matrix instanceof Array2DRowRealMatrix) {
+            for (double[] row : ((Array2DRowRealMatrix) matrix).getDataRef()) {
+                double entry1 = row[index1];
+                row[index1] = row[index2];
+                row[index2] = entry1;
+            }
+            return;
+        }
+        for (int i = 0; i < matrix.getRowDimension(); i++) {
+            double entry1 = matrix.getEntry(i, index1);
+            matrix.setEntry(i, index1, matrix.getEntry(i, index2));
+            matrix.setEntry(i, index2, entry1);
+        }
     }
 }
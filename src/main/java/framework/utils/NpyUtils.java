@@ -0,0 +1,430 @@
+package framework.utils;
+
+import framework.exception.LaboratoryFrameworkException;
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
+import org.apache.commons.math3.linear.ArrayRealVector;
+import org.apache.commons.math3.linear.RealMatrix;
+import org.apache.commons.math3.linear.RealVector;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Class reads and writes matrices and vectors of doubles in .npy format
+ * (little-endian 'f8' arrays in C order) via memory-mapped files.
+ * Files are mapped by chunks, so their size is not limited by the maximal size of a single mapping
+ */
+public final class NpyUtils {
+
+    private static final byte[] MAGIC = {(byte) 0x93, 'N', 'U', 'M', 'P', 'Y'};
+
+    private static final int HEADER_ALIGNMENT = 64;
+
+    private static final int MAX_CHUNK_SIZE = 1 << 30;
+
+    private static final int MAX_HEADER_LENGTH_V1 = 0xFFFF;
+
+    private static final Pattern DESCR_REGEX = Pattern.compile("'descr'\\s*:\\s*'([<>|=])f8'");
+
+    private static final Pattern FORTRAN_ORDER_REGEX = Pattern.compile("'fortran_order'\\s*:\\s*(True|False)");
+
+    private static final Pattern SHAPE_REGEX = Pattern.compile("'shape'\\s*:\\s*\\(([^)]*)\\)");
+
+    private NpyUtils() {
+    }
+
+    /**
+     * @throws LaboratoryFrameworkException if file is not a two-dimensional .npy array of doubles
+     *                                      or any IOException has occurred
+     */
+    public static Array2DRowRealMatrix readMatrix(Path path) throws LaboratoryFrameworkException {
+        return readMatrix(path, null, MAX_CHUNK_SIZE);
+    }
+
+    /**
+     * Shape is checked by the header, before data is read
+     *
+     * @throws LaboratoryFrameworkException if file is not a .npy matrix of doubles with supplied dimensions
+     *                                      or any IOException has occurred
+     */
+    public static Array2DRowRealMatrix readMatrix(Path path, int rowCount, int columnCount)
+            throws LaboratoryFrameworkException {
+        return readMatrix(path, new int[]{rowCount, columnCount}, MAX_CHUNK_SIZE);
+    }
+
+    /**
+     * @param expectedShape - row and column count which must be in header, null if any shape is allowed
+     * @param chunkSize     - maximal size of mapped part of file, multiple of {@link Double#BYTES}
+     */
+    static Array2DRowRealMatrix readMatrix(Path path, int[] expectedShape, int chunkSize)
+            throws LaboratoryFrameworkException {
+        ValidationUtils.requireNonNull(path, "Path is not specified");
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            Header header = readHeader(channel);
+            ValidationUtils.requireEquals(header.shape.length, 2,
+                    String.format("Array in %s is not a matrix, shape: %s", path, Arrays.toString(header.shape)));
+            int rowCount = header.shape[0];
+            int columnCount = header.shape[1];
+            if (expectedShape != null) {
+                ValidationUtils.requireEquals(rowCount, expectedShape[0],
+                        String.format("Matrix row count must be %d", expectedShape[0]));
+                ValidationUtils.requireEquals(columnCount, expectedShape[1],
+                        String.format("Matrix column count must be %d", expectedShape[1]));
+            }
+            double[][] data = new double[rowCount][columnCount];
+            MappedDoubleReader reader =
+                    new MappedDoubleReader(channel, header.dataOffset, header.byteOrder, chunkSize);
+            if (header.fortranOrder) {
+                double[] column = new double[rowCount];
+                for (int j = 0; j < columnCount; j++) {
+                    reader.read(column);
+                    for (int i = 0; i < rowCount; i++) {
+                        data[i][j] = column[i];
+                    }
+                }
+            } else {
+                for (double[] row : data) {
+                    reader.read(row);
+                }
+            }
+            return new Array2DRowRealMatrix(data, false);
+        } catch (IOException e) {
+            throw new LaboratoryFrameworkException(e);
+        }
+    }
+
+    /**
+     * @throws LaboratoryFrameworkException if file is not a one-dimensional .npy array of doubles
+     *                                      or any IOException has occurred
+     */
+    public static ArrayRealVector readVector(Path path) throws LaboratoryFrameworkException {
+        return readVector(path, -1, MAX_CHUNK_SIZE);
+    }
+
+    /**
+     * Length is checked by the header, before data is read
+     *
+     * @throws LaboratoryFrameworkException if file is not a .npy vector of doubles with supplied length
+     *                                      or any IOException has occurred
+     */
+    public static ArrayRealVector readVector(Path path, int length) throws LaboratoryFrameworkException {
+        return readVector(path, length, MAX_CHUNK_SIZE);
+    }
+
+    /**
+     * @param length    - length which must be in header, negative if any length is allowed
+     * @param chunkSize - maximal size of mapped part of file, multiple of {@link Double#BYTES}
+     */
+    static ArrayRealVector readVector(Path path, int length, int chunkSize) throws LaboratoryFrameworkException {
+        ValidationUtils.requireNonNull(path, "Path is not specified");
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            Header header = readHeader(channel);
+            ValidationUtils.requireEquals(header.shape.length, 1,
+                    String.format("Array in %s is not a vector, shape: %s", path, Arrays.toString(header.shape)));
+            if (length >= 0) {
+                ValidationUtils.requireEquals(header.shape[0], length, String.format("Vector length must be %d", length));
+            }
+            double[] data = new double[header.shape[0]];
+            new MappedDoubleReader(channel, header.dataOffset, header.byteOrder, chunkSize).read(data);
+            return new ArrayRealVector(data, false);
+        } catch (IOException e) {
+            throw new LaboratoryFrameworkException(e);
+        }
+    }
+
+    /**
+     * Writes matrix to file, replacing it if it exists
+     *
+     * @throws LaboratoryFrameworkException if any IOException has occurred
+     */
+    public static void writeMatrix(Path path, RealMatrix matrix) throws LaboratoryFrameworkException {
+        writeMatrix(path, matrix, MAX_CHUNK_SIZE);
+    }
+
+    /**
+     * @param chunkSize - maximal size of mapped part of file, multiple of {@link Double#BYTES}
+     */
+    static void writeMatrix(Path path, RealMatrix matrix, int chunkSize) throws LaboratoryFrameworkException {
+        ValidationUtils.requireNonNull(path, matrix);
+        int rowCount = matrix.getRowDimension();
+        int columnCount = matrix.getColumnDimension();
+        try (FileChannel channel = openForWriting(path)) {
+            long dataOffset = writeHeader(channel, rowCount, columnCount);
+            MappedDoubleWriter writer = new MappedDoubleWriter(channel, dataOffset,
+                    (long) rowCount * columnCount * Double.BYTES, chunkSize);
+            if (matrix instanceof Array2DRowRealMatrix) {
+                for (double[] row : ((Array2DRowRealMatrix) matrix).getDataRef()) {
+                    writer.write(row);
+                }
+            } else {
+                for (int i = 0; i < rowCount; i++) {
+                    writer.write(matrix.getRow(i));
+                }
+            }
+        } catch (IOException e) {
+            throw new LaboratoryFrameworkException(e);
+        }
+    }
+
+    /**
+     * Writes vector to file, replacing it if it exists
+     *
+     * @throws LaboratoryFrameworkException if any IOException has occurred
+     */
+    public static void writeVector(Path path, RealVector vector) throws LaboratoryFrameworkException {
+        writeVector(path, vector, MAX_CHUNK_SIZE);
+    }
+
+    /**
+     * @param chunkSize - maximal size of mapped part of file, multiple of {@link Double#BYTES}
+     */
+    static void writeVector(Path path, RealVector vector, int chunkSize) throws LaboratoryFrameworkException {
+        ValidationUtils.requireNonNull(path, vector);
+        double[] data = vector instanceof ArrayRealVector ? ((ArrayRealVector) vector).getDataRef() : vector.toArray();
+        try (FileChannel channel = openForWriting(path)) {
+            long dataOffset = writeHeader(channel, data.length);
+            new MappedDoubleWriter(channel, dataOffset, (long) data.length * Double.BYTES, chunkSize).write(data);
+        } catch (IOException e) {
+            throw new LaboratoryFrameworkException(e);
+        }
+    }
+
+    private static FileChannel openForWriting(Path path) throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    private static Header readHeader(FileChannel channel) throws IOException {
+        ByteBuffer prefix = ByteBuffer.allocate(12).order(ByteOrder.LITTLE_ENDIAN);
+        channel.read(prefix, 0);
+        prefix.flip();
+        if (prefix.remaining() < 10) {
+            throw new LaboratoryFrameworkException("File is too short to be .npy file");
+        }
+        for (byte b : MAGIC) {
+            if (prefix.get() != b) {
+                throw new LaboratoryFrameworkException("File is not .npy file");
+            }
+        }
+        int majorVersion = prefix.get();
+        prefix.get();
+        long headerLength;
+        int headerOffset;
+        if (majorVersion == 1) {
+            headerLength = Short.toUnsignedInt(prefix.getShort());
+            headerOffset = 10;
+        } else if (majorVersion == 2 || majorVersion == 3) {
+            ValidationUtils.requireTrue(prefix.remaining() >= 4, "File is too short to be .npy file");
+            headerLength = Integer.toUnsignedLong(prefix.getInt());
+            headerOffset = 12;
+        } else {
+            throw new LaboratoryFrameworkException(String.format("Unsupported .npy version: %d", majorVersion));
+        }
+        ValidationUtils.requireTrue(headerLength <= Integer.MAX_VALUE, "Header of .npy file is too long");
+        ByteBuffer headerBytes = ByteBuffer.allocate((int) headerLength);
+        channel.read(headerBytes, headerOffset);
+        String header = new String(headerBytes.array(), 0, headerBytes.position(), StandardCharsets.ISO_8859_1);
+
+        Matcher descr = DESCR_REGEX.matcher(header);
+        if (!descr.find()) {
+            throw new LaboratoryFrameworkException("Only arrays of 8-byte floats ('f8') are supported");
+        }
+        ByteOrder byteOrder = ">".equals(descr.group(1)) ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
+        Matcher fortranOrder = FORTRAN_ORDER_REGEX.matcher(header);
+        Matcher shape = SHAPE_REGEX.matcher(header);
+        if (!fortranOrder.find() || !shape.find()) {
+            throw new LaboratoryFrameworkException(String.format("Invalid .npy header: %s", header.trim()));
+        }
+        long dataOffset = headerOffset + headerLength;
+        Header out = new Header(parseShape(shape.group(1)), "True".equals(fortranOrder.group(1)), byteOrder, dataOffset);
+        long dataSize = channel.size() - dataOffset;
+        ValidationUtils.requireTrue(dataSize >= 0 && out.getElementCount() <= dataSize / Double.BYTES,
+                "File is shorter than its header states");
+        return out;
+    }
+
+    /**
+     * @throws LaboratoryFrameworkException if any dimension is not a positive int
+     */
+    private static int[] parseShape(String shape) throws LaboratoryFrameworkException {
+        return Arrays.stream(shape.split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .mapToInt(s -> {
+                    long dimension;
+                    try {
+                        dimension = Long.parseLong(s.endsWith("L") ? s.substring(0, s.length() - 1) : s);
+                    } catch (NumberFormatException e) {
+                        throw new LaboratoryFrameworkException(String.format("Invalid dimension in .npy header: %s", s));
+                    }
+                    ValidationUtils.requireTrue(dimension > 0,
+                            String.format("Dimension must be > 0, but it is %d", dimension));
+                    ValidationUtils.requireTrue(dimension <= Integer.MAX_VALUE,
+                            String.format("Dimension %d is too large", dimension));
+                    return (int) dimension;
+                })
+                .toArray();
+    }
+
+    /**
+     * Writes header padded with spaces so that data starts at 64-byte boundary
+     *
+     * @return offset of the data
+     */
+    private static long writeHeader(FileChannel channel, int... shape) throws IOException {
+        StringBuilder dictionary = new StringBuilder("{'descr': '<f8', 'fortran_order': False, 'shape': (");
+        for (int dimension : shape) {
+            dictionary.append(dimension).append(", ");
+        }
+        if (shape.length > 1) {
+            dictionary.setLength(dictionary.length() - 2);
+        } else {
+            dictionary.setLength(dictionary.length() - 1);
+        }
+        dictionary.append("), }");
+        boolean versionOne = dictionary.length() + HEADER_ALIGNMENT < MAX_HEADER_LENGTH_V1;
+        int prefixLength = MAGIC.length + 2 + (versionOne ? 2 : 4);
+        int padding = HEADER_ALIGNMENT - (prefixLength + dictionary.length() + 1) % HEADER_ALIGNMENT;
+        if (padding < HEADER_ALIGNMENT) {
+            dictionary.append(" ".repeat(padding));
+        }
+        dictionary.append('\n');
+        byte[] dictionaryBytes = dictionary.toString().getBytes(StandardCharsets.ISO_8859_1);
+
+        ByteBuffer header = ByteBuffer.allocate(prefixLength + dictionaryBytes.length).order(ByteOrder.LITTLE_ENDIAN);
+        header.put(MAGIC);
+        header.put((byte) (versionOne ? 1 : 2));
+        header.put((byte) 0);
+        if (versionOne) {
+            header.putShort((short) dictionaryBytes.length);
+        } else {
+            header.putInt(dictionaryBytes.length);
+        }
+        header.put(dictionaryBytes);
+        header.flip();
+        long position = 0;
+        while (header.hasRemaining()) {
+            position += channel.write(header, position);
+        }
+        return position;
+    }
+
+    private static final class Header {
+
+        private final int[] shape;
+
+        private final boolean fortranOrder;
+
+        private final ByteOrder byteOrder;
+
+        private final long dataOffset;
+
+        private Header(int[] shape, boolean fortranOrder, ByteOrder byteOrder, long dataOffset) {
+            this.shape = shape;
+            this.fortranOrder = fortranOrder;
+            this.byteOrder = byteOrder;
+            this.dataOffset = dataOffset;
+        }
+
+        /**
+         * @return count of elements or Long.MAX_VALUE if it overflows
+         */
+        private long getElementCount() {
+            long count = 1;
+            for (int dimension : shape) {
+                if (count > Long.MAX_VALUE / dimension) {
+                    return Long.MAX_VALUE;
+                }
+                count *= dimension;
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Reads consecutive doubles, mapping the next chunk of file when the current one is exhausted
+     */
+    private static final class MappedDoubleReader {
+
+        private final FileChannel channel;
+
+        private final ByteOrder byteOrder;
+
+        private final int chunkSize;
+
+        private long position;
+
+        private DoubleBuffer chunk = DoubleBuffer.allocate(0);
+
+        private MappedDoubleReader(FileChannel channel, long position, ByteOrder byteOrder, int chunkSize) {
+            this.channel = channel;
+            this.position = position;
+            this.byteOrder = byteOrder;
+            this.chunkSize = chunkSize;
+        }
+
+        private void read(double[] destination) throws IOException {
+            int offset = 0;
+            while (offset < destination.length) {
+                if (!chunk.hasRemaining()) {
+                    long size = Math.min(chunkSize, channel.size() - position);
+                    size -= size % Double.BYTES;
+                    ValidationUtils.requireTrue(size > 0, "Unexpected end of file");
+                    chunk = channel.map(FileChannel.MapMode.READ_ONLY, position, size).order(byteOrder).asDoubleBuffer();
+                    position += size;
+                }
+                int count = Math.min(chunk.remaining(), destination.length - offset);
+                chunk.get(destination, offset, count);
+                offset += count;
+            }
+        }
+    }
+
+    /**
+     * Writes consecutive doubles in little-endian order, mapping the next chunk of file
+     * when the current one is full
+     */
+    private static final class MappedDoubleWriter {
+
+        private final FileChannel channel;
+
+        private final long end;
+
+        private final int chunkSize;
+
+        private long position;
+
+        private DoubleBuffer chunk = DoubleBuffer.allocate(0);
+
+        private MappedDoubleWriter(FileChannel channel, long position, long size, int chunkSize) {
+            this.channel = channel;
+            this.position = position;
+            this.end = position + size;
+            this.chunkSize = chunkSize;
+        }
+
+        private void write(double[] source) throws IOException {
+            int offset = 0;
+            while (offset < source.length) {
+                if (!chunk.hasRemaining()) {
+                    long size = Math.min(chunkSize, end - position);
+                    chunk = channel.map(FileChannel.MapMode.READ_WRITE, position, size)
+                            .order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+                    position += size;
+                }
+                int count = Math.min(chunk.remaining(), source.length - offset);
+                chunk.put(source, offset, count);
+                offset += count;
+            }
+        }
+    }
+}
@@ -3,9 +3,12 @@ package framework.utils;
 import framework.exception.LaboratoryFrameworkException;
 
 import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Properties;
 
 public final class PropertyUtils {
@@ -53,4 +56,58 @@ public final class PropertyUtils {
             throw new LaboratoryFrameworkException(e);
         }
     }
+
+    /**
+     * @param path - path to .properties file in file system
+     * @throws LaboratoryFrameworkException if path is null or any IOException has occurred
+     */
+    public static Properties readFromPath(Path path) throws LaboratoryFrameworkException {
+        return readFromContent(readContentFromPath(path));
+    }
+
+    /**
+     * @param path - path to .properties file in file system
+     * @throws LaboratoryFrameworkException if path is null or any IOException has occurred
+     */
+    public static byte[] readContentFromPath(Path path) throws LaboratoryFrameworkException {
+        ValidationUtils.requireNonNull(path, "Path to property file is not specified");
+        try {
+            return Files.readAllBytes(path);
+        } catch (IOException e) {
+            throw new LaboratoryFrameworkException(e);
+        }
+    }
+
+    /**
+     * @param pathInResources - path in classpath resources directory, must start with {@link java.io.File#separator}
+     * @throws LaboratoryFrameworkException if path is null, InputStream for resource is null
+     *                                      or any IOException has occurred
+     */
+    public static byte[] readContentFromFile(String pathInResources) throws LaboratoryFrameworkException {
+        ValidationUtils.requireNotEmpty(pathInResources, "Path to property file is not specified");
+        if (!pathInResources.startsWith(File.separator)) {
+            pathInResources = File.separator.concat(pathInResources);
+        }
+        try (InputStream resourceAsStream = PropertyUtils.class.getResourceAsStream(pathInResources)) {
+            String message = String.format("InputStream for resource %s is null", pathInResources);
+            ValidationUtils.requireNonNull(resourceAsStream, message);
+            return resourceAsStream.readAllBytes();
+        } catch (IOException e) {
+            throw new LaboratoryFrameworkException(e);
+        }
+    }
+
+    /**
+     * @param content - content of .properties file in ISO 8859-1 encoding
+     */
+    public static Properties readFromContent(byte[] content) throws LaboratoryFrameworkException {
+        ValidationUtils.requireNonNull(content, "Content of property file is not specified");
+        Properties out = new Properties();
+        try {
+            out.load(new ByteArrayInputStream(content));
+        } catch (IOException e) {
+            throw new LaboratoryFrameworkException(e);
+        }
+        return out;
+    }
 }
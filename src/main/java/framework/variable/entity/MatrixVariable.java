@@ -6,6 +6,7 @@ import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
+import org.apache.commons.math3.linear.RealMatrix;
 
 @Getter
 @Setter
@@ -26,4 +27,11 @@ public class MatrixVariable extends Variable {
         this.columnCount = columnCount;
     }
 
+    @Override
+    public boolean isCompatibleWith(Object value) {
+        return super.isCompatibleWith(value) && (value == null
+                || ((RealMatrix) value).getRowDimension() == rowCount
+                && ((RealMatrix) value).getColumnDimension() == columnCount);
+    }
+
 }
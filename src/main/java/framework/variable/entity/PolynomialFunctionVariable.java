@@ -6,6 +6,7 @@ import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
+import org.apache.commons.math3.analysis.polynomials.PolynomialFunction;
 
 @Getter
 @Setter
@@ -22,4 +23,9 @@ public class PolynomialFunctionVariable extends Variable {
         this.maxDegree = maxDegree;
     }
 
+    @Override
+    public boolean isCompatibleWith(Object value) {
+        return super.isCompatibleWith(value) && (value == null || ((PolynomialFunction) value).degree() <= maxDegree);
+    }
+
 }
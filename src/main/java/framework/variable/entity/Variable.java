@@ -26,4 +26,11 @@ public class Variable {
         this.cannotBeSetFromInput = cannotBeSetFromInput;
         this.constraintViolationMessage = constraintViolationMessage;
     }
+
+    /**
+     * @return true if value is null or may be value of this variable
+     */
+    public boolean isCompatibleWith(Object value) {
+        return value == null || type.getValueClass().isInstance(value);
+    }
 }
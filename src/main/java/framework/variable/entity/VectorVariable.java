@@ -6,6 +6,7 @@ import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
+import org.apache.commons.math3.linear.RealVector;
 
 @Getter
 @Setter
@@ -23,4 +24,9 @@ public class VectorVariable extends Variable {
         this.length = length;
     }
 
+    @Override
+    public boolean isCompatibleWith(Object value) {
+        return super.isCompatibleWith(value) && (value == null || ((RealVector) value).getDimension() == length);
+    }
+
 }
@@ -1,29 +1,119 @@
 package framework.variable.holder;
 
+import framework.state.slot.BooleanSlot;
+import framework.state.slot.DoubleSlot;
+import framework.state.slot.IntSlot;
+import framework.state.slot.LongSlot;
+import framework.state.slot.ObjectSlot;
+import framework.state.slot.SlotLayout;
+import framework.utils.ValidationUtils;
 import framework.variable.parser.VariablesParser;
 import framework.variable.entity.Variable;
-import lombok.Getter;
 
+import javax.annotation.concurrent.Immutable;
 import javax.annotation.concurrent.ThreadSafe;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
 
-@Getter
+/**
+ * Holds definitions of variables as immutable snapshot, so reads are wait-free
+ * and definitions are replaced by atomic swap of the snapshot
+ */
 @ThreadSafe
 public class VariableHolder {
 
-    private final Map<String, Variable> variables;
-
-    private final Object lock = new Object();
+    private final AtomicReference<Definitions> definitions;
 
     public VariableHolder(Properties applicationProperties) {
-        this.variables = VariablesParser.getVariableNameToVariable(applicationProperties);
+        this(VariablesParser.getVariableNameToVariable(applicationProperties));
+    }
+
+    /**
+     * @param variables - already parsed definitions, e.g. loaded by {@link framework.variable.parser.VariablesCache}
+     */
+    public VariableHolder(Map<String, Variable> variables) {
+        ValidationUtils.requireNonNull(variables);
+        this.definitions = new AtomicReference<>(new Definitions(variables, new SlotLayout(variables)));
     }
 
     public Variable getVariable(String variableName) {
-        synchronized (lock) {
-            return variables.get(variableName);
-        }
+        return definitions.get().variables.get(variableName);
+    }
+
+    /**
+     * @return unmodifiable snapshot of definitions, which is not affected by later replacements
+     */
+    public Map<String, Variable> getVariables() {
+        return definitions.get().variables;
+    }
+
+    /**
+     * @return layout corresponding with the current definitions
+     */
+    public SlotLayout getSlotLayout() {
+        return definitions.get().slotLayout;
+    }
+
+    /**
+     * Atomically replaces all definitions. Variables whose type has not changed keep their slots
+     */
+    public void replaceVariables(Map<String, Variable> variables) {
+        ValidationUtils.requireNonNull(variables);
+        updateVariables(current -> variables);
+    }
+
+    /**
+     * Atomically replaces definitions with the result of the function applied to the current ones.
+     * Function may be applied several times if definitions are replaced concurrently, so it must be side-effect free
+     *
+     * @param update - receives unmodifiable current definitions and returns new ones
+     */
+    public void updateVariables(UnaryOperator<Map<String, Variable>> update) {
+        ValidationUtils.requireNonNull(update);
+        Definitions current;
+        Definitions next;
+        do {
+            current = definitions.get();
+            Map<String, Variable> variables = update.apply(current.variables);
+            ValidationUtils.requireNonNull(variables, "Variables must not be null");
+            next = new Definitions(variables, current.slotLayout.extend(variables));
+        } while (!definitions.compareAndSet(current, next));
+    }
+
+    public DoubleSlot getDoubleSlot(String variableName) {
+        return getSlotLayout().getDoubleSlot(variableName);
     }
 
+    public IntSlot getIntSlot(String variableName) {
+        return getSlotLayout().getIntSlot(variableName);
+    }
+
+    public LongSlot getLongSlot(String variableName) {
+        return getSlotLayout().getLongSlot(variableName);
+    }
+
+    public BooleanSlot getBooleanSlot(String variableName) {
+        return getSlotLayout().getBooleanSlot(variableName);
+    }
+
+    public <T> ObjectSlot<T> getObjectSlot(String variableName, Class<T> valueClass) {
+        return getSlotLayout().getObjectSlot(variableName, valueClass);
+    }
+
+    @Immutable
+    private static final class Definitions {
+
+        private final Map<String, Variable> variables;
+
+        private final SlotLayout slotLayout;
+
+        private Definitions(Map<String, Variable> variables, SlotLayout slotLayout) {
+            this.variables = Collections.unmodifiableMap(new HashMap<>(variables));
+            this.slotLayout = slotLayout;
+        }
+    }
 }
@@ -0,0 +1,190 @@
+package framework.variable.parser;
+
+import framework.enums.VariableType;
+import framework.exception.LaboratoryFrameworkException;
+import framework.utils.ValidationUtils;
+import framework.variable.entity.MatrixVariable;
+import framework.variable.entity.PolynomialFunctionVariable;
+import framework.variable.entity.Variable;
+import framework.variable.entity.VectorVariable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Keeps parsed variables in binary files named after SHA-256 hash of the properties file content,
+ * so unchanged schema is loaded without parsing. Corrupted or outdated files are ignored and rewritten
+ */
+public final class VariablesCache {
+
+    private static final int MAGIC = 0x4C564152;
+
+    private static final int VERSION = 1;
+
+    private static final String FILE_EXTENSION = ".vars";
+
+    private static final byte KIND_PLAIN = 0;
+
+    private static final byte KIND_VECTOR = 1;
+
+    private static final byte KIND_MATRIX = 2;
+
+    private static final byte KIND_POLYNOMIAL = 3;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private VariablesCache() {
+    }
+
+    /**
+     * @param propertiesContent     - content of the properties file, which the cache file is keyed by
+     * @param applicationProperties - properties loaded from propertiesContent, parsed on cache miss
+     * @param cacheDirectory        - directory of cache files, created if it does not exist
+     * @throws LaboratoryFrameworkException if properties cannot be parsed, see {@link VariablesParser}
+     */
+    public static Map<String, Variable> getVariableNameToVariable(byte[] propertiesContent,
+                                                                  Properties applicationProperties,
+                                                                  Path cacheDirectory)
+            throws LaboratoryFrameworkException {
+        ValidationUtils.requireNonNull(propertiesContent, applicationProperties, cacheDirectory);
+        Path cacheFile = cacheDirectory.resolve(hash(propertiesContent) + FILE_EXTENSION);
+        if (Files.isRegularFile(cacheFile)) {
+            try {
+                return read(cacheFile);
+            } catch (IOException | RuntimeException e) {
+                // file is corrupted or has been written by another version, it is rewritten below
+            }
+        }
+        Map<String, Variable> out = VariablesParser.getVariableNameToVariable(applicationProperties);
+        try {
+            Files.createDirectories(cacheDirectory);
+            write(cacheDirectory, cacheFile, out);
+        } catch (IOException e) {
+            // cache is optional, parsed variables are returned anyway
+        }
+        return out;
+    }
+
+    /**
+     * @return hex SHA-256 of content
+     */
+    private static String hash(byte[] content) {
+        byte[] digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256").digest(content);
+        } catch (NoSuchAlgorithmException e) {
+            throw new LaboratoryFrameworkException(e);
+        }
+        StringBuilder out = new StringBuilder();
+        for (byte b : digest) {
+            out.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return out.toString();
+    }
+
+    /**
+     * Writes into temporary file first, so concurrently started labs never read half-written file
+     */
+    private static void write(Path cacheDirectory, Path cacheFile, Map<String, Variable> variables) throws IOException {
+        Path temporaryFile = Files.createTempFile(cacheDirectory, "variables", ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temporaryFile), BUFFER_SIZE))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(variables.size());
+                for (Map.Entry<String, Variable> entry : variables.entrySet()) {
+                    out.writeUTF(entry.getKey());
+                    writeVariable(out, entry.getValue());
+                }
+            }
+            Files.move(temporaryFile, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    private static void writeVariable(DataOutputStream out, Variable variable) throws IOException {
+        if (variable instanceof VectorVariable) {
+            out.writeByte(KIND_VECTOR);
+        } else if (variable instanceof MatrixVariable) {
+            out.writeByte(KIND_MATRIX);
+        } else if (variable instanceof PolynomialFunctionVariable) {
+            out.writeByte(KIND_POLYNOMIAL);
+        } else {
+            out.writeByte(KIND_PLAIN);
+        }
+        out.writeUTF(variable.getName());
+        out.writeUTF(variable.getType().name());
+        writeNullableString(out, variable.getDescription());
+        out.writeBoolean(variable.isCannotBeSetFromInput());
+        writeNullableString(out, variable.getConstraintViolationMessage());
+        if (variable instanceof VectorVariable) {
+            out.writeInt(((VectorVariable) variable).getLength());
+        } else if (variable instanceof MatrixVariable) {
+            out.writeInt(((MatrixVariable) variable).getRowCount());
+            out.writeInt(((MatrixVariable) variable).getColumnCount());
+        } else if (variable instanceof PolynomialFunctionVariable) {
+            out.writeInt(((PolynomialFunctionVariable) variable).getMaxDegree());
+        }
+    }
+
+    private static Map<String, Variable> read(Path cacheFile) throws IOException {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(cacheFile), BUFFER_SIZE))) {
+            ValidationUtils.requireTrue(in.readInt() == MAGIC && in.readInt() == VERSION, "Unsupported cache file");
+            int count = in.readInt();
+            Map<String, Variable> out = new HashMap<>(count * 2);
+            for (int i = 0; i < count; i++) {
+                out.put(in.readUTF(), readVariable(in));
+            }
+            return out;
+        }
+    }
+
+    private static Variable readVariable(DataInputStream in) throws IOException {
+        byte kind = in.readByte();
+        String name = in.readUTF();
+        VariableType type = VariableType.valueOf(in.readUTF());
+        String description = readNullableString(in);
+        boolean cannotBeSetFromInput = in.readBoolean();
+        String constraintViolationMessage = readNullableString(in);
+        switch (kind) {
+            case KIND_VECTOR:
+                return new VectorVariable(name, type, description, cannotBeSetFromInput, constraintViolationMessage,
+                        in.readInt());
+            case KIND_MATRIX:
+                return new MatrixVariable(name, type, description, cannotBeSetFromInput, constraintViolationMessage,
+                        in.readInt(), in.readInt());
+            case KIND_POLYNOMIAL:
+                return new PolynomialFunctionVariable(name, type, description, cannotBeSetFromInput,
+                        constraintViolationMessage, in.readInt());
+            case KIND_PLAIN:
+                return new Variable(name, type, description, cannotBeSetFromInput, constraintViolationMessage);
+            default:
+                throw new IOException(String.format("Unknown kind of variable: %d", kind));
+        }
+    }
+
+    private static void writeNullableString(DataOutputStream out, String s) throws IOException {
+        out.writeBoolean(s != null);
+        if (s != null) {
+            out.writeUTF(s);
+        }
+    }
+
+    private static String readNullableString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
@@ -10,40 +10,58 @@ import framework.variable.entity.Variable;
 import framework.variable.entity.VectorVariable;
 import lombok.Data;
 
-import java.util.*;
-import java.util.stream.Collectors;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.function.BiConsumer;
 
 public class VariablesParser {
 
-    private VariablesParser() {
+    private static final Map<String, BiConsumer<MutableVariableDto, String>> SUFFIX_TO_SETTER = new HashMap<>();
+
+    static {
+        SUFFIX_TO_SETTER.put(PropertyName.VARIABLE_SUFFIX_NAME.getName(), (dto, value) -> {
+            ValidationUtils.requireNotEmpty(value, "Name must be specified");
+            dto.setName(value);
+        });
+        SUFFIX_TO_SETTER.put(PropertyName.VARIABLE_SUFFIX_DESCRIPTION.getName(), (dto, value) -> {
+            ValidationUtils.requireNotEmpty(value, "Description must be provided");
+            dto.setDescription(value);
+        });
+        SUFFIX_TO_SETTER.put(PropertyName.VARIABLE_SUFFIX_CONSTRAINT_VIOLATION_MESSAGE.getName(),
+                MutableVariableDto::setConstraintViolationMessage);
+        SUFFIX_TO_SETTER.put(PropertyName.VARIABLE_SUFFIX_TYPE.getName(), VariablesParser::setType);
+        SUFFIX_TO_SETTER.put(PropertyName.VARIABLE_SUFFIX_CANNOT_BE_SET_FROM_INPUT.getName(),
+                (dto, value) -> dto.setCannotBeSetFromInput(Boolean.parseBoolean(value)));
+        SUFFIX_TO_SETTER.put(PropertyName.VARIABLE_SUFFIX_VECTOR_LENGTH.getName(),
+                (dto, value) -> dto.setVectorLength(Integer.parseInt(value)));
+        SUFFIX_TO_SETTER.put(PropertyName.VARIABLE_SUFFIX_POLYNOMIAL_MAX_DEGREE.getName(),
+                (dto, value) -> dto.setMaxPolynomialDegree(Integer.parseInt(value)));
+        SUFFIX_TO_SETTER.put(PropertyName.VARIABLE_SUFFIX_MATRIX_ROW_COUNT.getName(),
+                (dto, value) -> dto.setMatrixRowCount(Integer.parseInt(value)));
+        SUFFIX_TO_SETTER.put(PropertyName.VARIABLE_SUFFIX_MATRIX_COLUMN_COUNT.getName(),
+                (dto, value) -> dto.setMatrixColumnCount(Integer.parseInt(value)));
     }
 
-    public static Map<String, Variable> getVariableNameToVariable(Properties applicationProperties) {
-        Map<String, List<String>> variableNameToListOfKeysForIt =
-                applicationProperties.stringPropertyNames()
-                        .stream()
-                        .filter(key -> key.startsWith(PropertyName.VARIABLE_PREFIX.getName()))
-                        .collect(Collectors.groupingBy(PropertyName::extractVariableName));
-        return fromVariableNameToListOfKeysForIt(variableNameToListOfKeysForIt, applicationProperties);
+    private VariablesParser() {
     }
 
     /**
-     * Method builds map of variable name to variable dto.
+     * Parses all 'variable' groups in a single pass over the keys
+     *
+     * @throws LaboratoryFrameworkException if any key is unknown or any value violates constraints
      */
-    private static Map<String, Variable> fromVariableNameToListOfKeysForIt(
-            Map<String, List<String>> variableNameToListOfKeysForIt,
-            Properties applicationProperties) {
+    public static Map<String, Variable> getVariableNameToVariable(Properties applicationProperties) {
         Map<String, MutableVariableDto> container = new HashMap<>();
-        for (String variableName : variableNameToListOfKeysForIt.keySet()) {
-            final List<String> listOfKeys = variableNameToListOfKeysForIt.get(variableName);
-            MutableVariableDto dto = new MutableVariableDto();
-            container.putIfAbsent(variableName, dto);
-            for (String variableKey : listOfKeys) {
-                String value = applicationProperties.getProperty(variableKey);
-                setParamToMutableDto(dto, variableKey, value);
+        for (String key : applicationProperties.stringPropertyNames()) {
+            if (key.startsWith(PropertyName.VARIABLE_PREFIX.getName())) {
+                MutableVariableDto dto = container.computeIfAbsent(PropertyName.extractVariableName(key),
+                        k -> new MutableVariableDto());
+                setParamToMutableDto(dto, key, applicationProperties.getProperty(key));
             }
         }
-        Map<String, Variable> out = new HashMap<>();
+        Map<String, Variable> out = new HashMap<>(container.size() * 2);
         container.forEach((key, value) -> out.put(key, mapMutableVariableDtoToVariableDto(value)));
         return out;
     }
@@ -58,6 +76,7 @@ public class VariablesParser {
                         dto.getConstraintViolationMessage(),
                         dto.getVectorLength());
             case MATRIX:
+            case SPARSE_MATRIX:
                 return new MatrixVariable(dto.getName(),
                         dto.getType(),
                         dto.getDescription(),
@@ -84,7 +103,7 @@ public class VariablesParser {
     }
 
     /**
-     * Method sets value to dto's field that corresponds with variableKey
+     * Method sets value to dto's field that corresponds with the suffix of variableKey
      *
      * @param dto      - dto which will be mutated by this method
      * @param variable - variable key in property file
@@ -94,36 +113,22 @@ public class VariablesParser {
      */
     private static void setParamToMutableDto(MutableVariableDto dto, String variable, String value)
             throws LaboratoryFrameworkException {
-        if (variable.endsWith(PropertyName.VARIABLE_SUFFIX_NAME.getName())) {
-            ValidationUtils.requireNotEmpty(value, "Name must be specified");
-            dto.setName(value);
-        } else if (variable.endsWith(PropertyName.VARIABLE_SUFFIX_DESCRIPTION.getName())) {
-            ValidationUtils.requireNotEmpty(value, "Description must be provided");
-            dto.setDescription(value);
-        } else if (variable.endsWith(PropertyName.VARIABLE_SUFFIX_CONSTRAINT_VIOLATION_MESSAGE.getName())) {
-            dto.setConstraintViolationMessage(value);
-        } else if (variable.endsWith(PropertyName.VARIABLE_SUFFIX_TYPE.getName())) {
-            try {
-                final VariableType type = VariableType.valueOf(value.toUpperCase(Locale.ROOT));
-                dto.setType(type);
-            } catch (Throwable e) {
-                throw new LaboratoryFrameworkException(String.format("Unknown type: %s", value));
-            }
-        } else if (variable.endsWith(PropertyName.VARIABLE_SUFFIX_CANNOT_BE_SET_FROM_INPUT.getName())) {
-            dto.setCannotBeSetFromInput(Boolean.parseBoolean(value));
-        } else if (variable.endsWith(PropertyName.VARIABLE_SUFFIX_VECTOR_LENGTH.getName())) {
-            dto.setVectorLength(Integer.parseInt(value));
-        } else if (variable.endsWith(PropertyName.VARIABLE_SUFFIX_POLYNOMIAL_MAX_DEGREE.getName())) {
-            dto.setMaxPolynomialDegree(Integer.parseInt(value));
-        } else if (variable.endsWith(PropertyName.VARIABLE_SUFFIX_MATRIX_ROW_COUNT.getName())) {
-            dto.setMatrixRowCount(Integer.parseInt(value));
-        } else if (variable.endsWith(PropertyName.VARIABLE_SUFFIX_MATRIX_COLUMN_COUNT.getName())) {
-            dto.setMatrixColumnCount(Integer.parseInt(value));
-        } else {
+        String suffix = variable.substring(variable.lastIndexOf('.') + 1);
+        BiConsumer<MutableVariableDto, String> setter = SUFFIX_TO_SETTER.get(suffix);
+        if (setter == null) {
             throw new LaboratoryFrameworkException(String.format("Unknown key: %s", variable));
         }
+        setter.accept(dto, value);
     }
 
+    private static void setType(MutableVariableDto dto, String value) throws LaboratoryFrameworkException {
+        try {
+            final VariableType type = VariableType.valueOf(value.toUpperCase(Locale.ROOT));
+            dto.setType(type);
+        } catch (Throwable e) {
+            throw new LaboratoryFrameworkException(String.format("Unknown type: %s", value));
+        }
+    }
 
     @Data
     private static class MutableVariableDto {
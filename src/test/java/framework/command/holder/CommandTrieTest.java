@@ -0,0 +1,126 @@
+package framework.command.holder;
+
+import framework.exception.LaboratoryFrameworkException;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CommandTrieTest {
+
+    private static final String SET = "set";
+
+    private static final String SNAPSHOT = "snapshot";
+
+    private static final String STATS = "stats";
+
+    private static final String SAVE = "save";
+
+    private static final String GET = "get";
+
+    private final CommandTrie<String> trie = new CommandTrie<>(Map.of(
+            "set", SET,
+            "settings", "settings",
+            "snapshot", SNAPSHOT,
+            "stats", STATS,
+            "save", SAVE,
+            "get", GET,
+            "show", GET));
+
+    @Test
+    void findsExactName() {
+        assertEquals(SNAPSHOT, trie.find("snapshot"));
+        assertEquals(STATS, trie.find("stats"));
+    }
+
+    @Test
+    void findsUniquePrefix() {
+        assertEquals(SNAPSHOT, trie.find("sn"));
+        assertEquals(STATS, trie.find("st"));
+        assertEquals(SAVE, trie.find("sa"));
+        assertEquals(GET, trie.find("g"));
+    }
+
+    @Test
+    void exactNameWinsOverLongerName() {
+        assertEquals(SET, trie.find("set"));
+        assertEquals("settings", trie.find("sett"));
+    }
+
+    @Test
+    void ambiguousPrefixIsNotResolved() {
+        assertNull(trie.find("s"));
+        assertNull(trie.find("se"));
+    }
+
+    @Test
+    void aliasResolvesToCommand() {
+        assertEquals(GET, trie.find("show"));
+        assertEquals(GET, trie.find("sh"));
+    }
+
+    @Test
+    void nameAndAliasOfOneCommandDoNotMakePrefixAmbiguous() {
+        CommandTrie<String> aliased = new CommandTrie<>(Map.of("status", STATS, "stats", STATS, "set", SET));
+        assertEquals(STATS, aliased.find("st"));
+        assertEquals(STATS, aliased.find("stat"));
+        assertNull(aliased.find("s"));
+    }
+
+    @Test
+    void unknownAndEmptyKeysAreNotResolved() {
+        assertNull(trie.find("setx"));
+        assertNull(trie.find("x"));
+        assertNull(trie.find(""));
+    }
+
+    @Test
+    void findsKeyInsideLine() {
+        String line = "  sn --file=state.bin";
+        assertEquals(SNAPSHOT, trie.find(line, 2, 4));
+        assertNull(trie.find(line, 2, 2));
+    }
+
+    @Test
+    void lookupIsCaseSensitive() {
+        assertNull(trie.find("GET"));
+    }
+
+    @Test
+    void candidatesAreSortedKeysWithPrefix() {
+        assertEquals(List.of("save", "set", "settings", "show", "snapshot", "stats"), trie.getCandidates("s"));
+        assertEquals(List.of("set", "settings"), trie.getCandidates("se"));
+        assertEquals(List.of(), trie.getCandidates("x"));
+    }
+
+    @Test
+    void sparseLabelsAreResolved() {
+        CommandTrie<String> wide = new CommandTrie<>(Map.of("a", "a", "~", "tilde", "\u0416", "cyrillic"));
+        assertEquals("a", wide.find("a"));
+        assertEquals("tilde", wide.find("~"));
+        assertEquals("cyrillic", wide.find("\u0416"));
+        assertNull(wide.find("b"));
+    }
+
+    @Test
+    void emptyTrieResolvesNothing() {
+        assertNull(new CommandTrie<String>(Map.of()).find("get"));
+    }
+
+    @Test
+    void emptyNameIsRejected() {
+        assertThrows(LaboratoryFrameworkException.class, () -> new CommandTrie<>(Map.of("", SET)));
+    }
+
+    @Test
+    void nullCommandIsRejected() {
+        Map<String, String> keyToValue = new HashMap<>();
+        keyToValue.put("set", null);
+        assertThrows(LaboratoryFrameworkException.class, () -> new CommandTrie<>(keyToValue));
+    }
+}
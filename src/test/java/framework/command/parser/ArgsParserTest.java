@@ -0,0 +1,121 @@
+package framework.command.parser;
+
+import framework.exception.LaboratoryFrameworkException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ArgsParserTest {
+
+    @Test
+    void tokenizeSplitsByAnyWhitespace() {
+        assertArrayEquals(new String[]{"get", "--var=x", "--precision=5"},
+                ArgsParser.tokenize("  get\t--var=x   --precision=5 "));
+    }
+
+    @Test
+    void tokenizeReturnsNoTokensForBlankLine() {
+        assertArrayEquals(new String[0], ArgsParser.tokenize("   "));
+    }
+
+    @Test
+    void tokenizeKeepsQuotedValueWithSpacesInOneToken() {
+        assertArrayEquals(new String[]{"sweep", "--values=1, 2, 3", "--collect=y"},
+                ArgsParser.tokenize("sweep --values=\"1, 2, 3\" --collect=y"));
+    }
+
+    @Test
+    void tokenizeKeepsOtherQuoteInsideQuotes() {
+        assertArrayEquals(new String[]{"--file=it's a file", "--name=say \"hi\""},
+                ArgsParser.tokenize("--file=\"it's a file\" --name='say \"hi\"'"));
+    }
+
+    @Test
+    void tokenizeJoinsQuotedAndUnquotedPartsOfToken() {
+        assertArrayEquals(new String[]{"--file=/tmp/my file.npy"},
+                ArgsParser.tokenize("--file=/tmp/'my file'.npy"));
+    }
+
+    @Test
+    void tokenizeKeepsEmptyQuotedToken() {
+        assertArrayEquals(new String[]{"set", "--var="}, ArgsParser.tokenize("set --var=\"\""));
+    }
+
+    @Test
+    void tokenizeStartsFromIndex() {
+        assertArrayEquals(new String[]{"--var=x"}, ArgsParser.tokenize("get --var=x", 3));
+    }
+
+    @Test
+    void tokenizeKeepsOperatorsInTokens() {
+        assertArrayEquals(new String[]{"a;b", "c|d"}, ArgsParser.tokenize("a;b c|d"));
+    }
+
+    @Test
+    void tokenizeRejectsUnterminatedQuote() {
+        assertThrows(LaboratoryFrameworkException.class, () -> ArgsParser.tokenize("--values=\"1, 2"));
+    }
+
+    @Test
+    void tokenizeRejectsNull() {
+        assertThrows(LaboratoryFrameworkException.class, () -> ArgsParser.tokenize(null));
+    }
+
+    @Test
+    void tokenizeReturnsNewArrayOnEveryCall() {
+        String[] first = ArgsParser.tokenize("a b c d e f g h i j k l m n o p q r s t");
+        String[] second = ArgsParser.tokenize("x");
+        assertEquals(20, first.length);
+        assertEquals("t", first[19]);
+        assertArrayEquals(new String[]{"x"}, second);
+        assertNotSame(first, second);
+    }
+
+    @Test
+    void tokenizeAfterFailureIsNotAffectedByIt() {
+        assertThrows(LaboratoryFrameworkException.class, () -> ArgsParser.tokenize("a b 'c"));
+        assertArrayEquals(new String[]{"d"}, ArgsParser.tokenize("d"));
+    }
+
+    @Test
+    void parseLineSplitsSequencesAndPipelines() {
+        List<CommandInvocation> invocations = ArgsParser.parseLine("set --var=x; run | get --precision=2 ;");
+        assertEquals(3, invocations.size());
+        assertInvocation(invocations.get(0), "set", false, "--var=x");
+        assertInvocation(invocations.get(1), "run", false);
+        assertInvocation(invocations.get(2), "get", true, "--precision=2");
+    }
+
+    @Test
+    void parseLineKeepsOperatorsInQuotes() {
+        List<CommandInvocation> invocations = ArgsParser.parseLine("sweep --values=\"1;2|3\" --collect=y");
+        assertEquals(1, invocations.size());
+        assertInvocation(invocations.get(0), "sweep", false, "--values=1;2|3", "--collect=y");
+    }
+
+    @Test
+    void parseLineSkipsEmptyCommands() {
+        assertTrue(ArgsParser.parseLine(" ;; ").isEmpty());
+        assertEquals(1, ArgsParser.parseLine(";get;").size());
+    }
+
+    @Test
+    void parseLineRejectsPipeWithoutCommand() {
+        assertThrows(LaboratoryFrameworkException.class, () -> ArgsParser.parseLine("| get"));
+        assertThrows(LaboratoryFrameworkException.class, () -> ArgsParser.parseLine("run |"));
+        assertThrows(LaboratoryFrameworkException.class, () -> ArgsParser.parseLine("run | ; get"));
+    }
+
+    private static void assertInvocation(CommandInvocation invocation, String commandName, boolean piped,
+                                         String... args) {
+        assertEquals(commandName, invocation.getCommandName());
+        assertArrayEquals(args, invocation.getArgs());
+        assertEquals(piped, invocation.isPiped());
+    }
+}
@@ -0,0 +1,166 @@
+package framework.command.parser;
+
+import framework.enums.OptionType;
+import framework.exception.LaboratoryFrameworkException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OptionTableTest {
+
+    private final OptionTable table = new OptionTable(
+            new OptionSpec("var"),
+            new OptionSpec("precision", OptionType.INTEGER, "3"),
+            new OptionSpec("timeout", OptionType.LONG),
+            new OptionSpec("step", OptionType.DOUBLE, "0.5"),
+            new OptionSpec("reset", OptionType.BOOLEAN));
+
+    @Test
+    void parseConvertsTypedValues() {
+        ParsedArgs parsedArgs = table.parse(
+                new String[]{"--var=x", "--precision=5", "--timeout=10000000000", "--step=1e-3"});
+        assertEquals("x", parsedArgs.get("var"));
+        assertEquals(5, parsedArgs.getInt("precision"));
+        assertEquals(10_000_000_000L, parsedArgs.getLong("timeout"));
+        assertEquals(1e-3, parsedArgs.getDouble("step"));
+        assertEquals("5", parsedArgs.get("precision"));
+    }
+
+    @Test
+    void parseUsesTypedDefaultsOfMissingOptions() {
+        ParsedArgs parsedArgs = table.parse(new String[0]);
+        assertEquals(3, parsedArgs.getInt("precision"));
+        assertEquals(0.5, parsedArgs.getDouble("step"));
+        assertFalse(parsedArgs.isPresent("precision"));
+        assertNull(parsedArgs.get("var"));
+        assertThrows(LaboratoryFrameworkException.class, () -> parsedArgs.getLong("timeout"));
+        assertTrue(parsedArgs.asMap().isEmpty());
+    }
+
+    @Test
+    void parseKeepsQuotedValueWithSpaces() {
+        ParsedArgs parsedArgs = table.parse(ArgsParser.tokenize("--var=\"my variable\" --precision=2"));
+        assertEquals("my variable", parsedArgs.get("var"));
+        assertEquals(2, parsedArgs.getInt("precision"));
+    }
+
+    @Test
+    void parseRejectsUnknownOption() {
+        LaboratoryFrameworkException e = assertThrows(LaboratoryFrameworkException.class,
+                () -> table.parse(new String[]{"--variable=x"}));
+        assertEquals("Unknown option: variable", e.getMessage());
+    }
+
+    @Test
+    void parseRejectsOptionWhichIsPrefixOfKnownOne() {
+        assertThrows(LaboratoryFrameworkException.class, () -> table.parse(new String[]{"--va=x"}));
+    }
+
+    @Test
+    void parseRejectsArgumentsWithoutOptionSyntax() {
+        assertThrows(LaboratoryFrameworkException.class, () -> table.parse(new String[]{"x"}));
+        assertThrows(LaboratoryFrameworkException.class, () -> table.parse(new String[]{"--"}));
+        assertThrows(LaboratoryFrameworkException.class, () -> table.parse(new String[]{"--=x"}));
+        assertThrows(LaboratoryFrameworkException.class, () -> table.parse(new String[]{"--var="}));
+    }
+
+    @Test
+    void parseRejectsValueWhichCannotBeConverted() {
+        assertThrows(LaboratoryFrameworkException.class, () -> table.parse(new String[]{"--precision=x"}));
+        assertThrows(LaboratoryFrameworkException.class, () -> table.parse(new String[]{"--precision=1.5"}));
+        assertThrows(LaboratoryFrameworkException.class, () -> table.parse(new String[]{"--reset=yes"}));
+    }
+
+    @Test
+    void parseTakesTheLastOfRepeatedOptions() {
+        ParsedArgs parsedArgs = table.parse(new String[]{"--var=x", "--precision=1", "--var=y", "--precision=7"});
+        assertEquals("y", parsedArgs.get("var"));
+        assertEquals(7, parsedArgs.getInt("precision"));
+        assertEquals(Map.of("var", "y", "precision", "7"), parsedArgs.asMap());
+    }
+
+    @Test
+    void flagWithoutValueIsTrue() {
+        ParsedArgs parsedArgs = table.parse(new String[]{"--reset"});
+        assertTrue(parsedArgs.getBoolean("reset"));
+        assertTrue(parsedArgs.isPresent("reset"));
+    }
+
+    @Test
+    void flagWithExplicitValueIsConverted() {
+        ParsedArgs parsedArgs = table.parse(new String[]{"--reset=false"});
+        assertFalse(parsedArgs.getBoolean("reset"));
+        assertTrue(parsedArgs.isPresent("reset"));
+        assertTrue(table.parse(new String[]{"--reset=TRUE"}).getBoolean("reset"));
+    }
+
+    @Test
+    void missingFlagIsFalse() {
+        ParsedArgs parsedArgs = table.parse(new String[]{"--var=x"});
+        assertFalse(parsedArgs.getBoolean("reset"));
+        assertFalse(parsedArgs.isPresent("reset"));
+    }
+
+    @Test
+    void onlyBooleanOptionMayBeSuppliedWithoutValue() {
+        assertThrows(LaboratoryFrameworkException.class, () -> table.parse(new String[]{"--precision"}));
+    }
+
+    @Test
+    void getterOfAnotherTypeIsRejected() {
+        ParsedArgs parsedArgs = table.parse(new String[]{"--var=x"});
+        assertThrows(LaboratoryFrameworkException.class, () -> parsedArgs.getInt("var"));
+        assertThrows(LaboratoryFrameworkException.class, () -> parsedArgs.getBoolean("precision"));
+        assertThrows(LaboratoryFrameworkException.class, () -> parsedArgs.get("unknown"));
+    }
+
+    @Test
+    void reusedStructureDiscardsValuesOfPreviousCall() {
+        ParsedArgs reused = table.newParsedArgs();
+        assertSame(reused, table.parse(new String[]{"--var=x", "--precision=9", "--reset", "--timeout=5"}, reused));
+        assertSame(reused, table.parse(new String[]{"--step=2"}, reused));
+        assertNull(reused.get("var"));
+        assertFalse(reused.isPresent("var"));
+        assertEquals(3, reused.getInt("precision"));
+        assertFalse(reused.getBoolean("reset"));
+        assertThrows(LaboratoryFrameworkException.class, () -> reused.getLong("timeout"));
+        assertEquals(2, reused.getDouble("step"));
+        assertEquals(Map.of("step", "2"), reused.asMap());
+    }
+
+    @Test
+    void reusedStructureKeepsDefaultsAfterFailedCall() {
+        ParsedArgs reused = table.newParsedArgs();
+        assertThrows(LaboratoryFrameworkException.class,
+                () -> table.parse(new String[]{"--precision=4", "--unknown=1"}, reused));
+        table.parse(new String[0], reused);
+        assertEquals(3, reused.getInt("precision"));
+        assertFalse(reused.isPresent("precision"));
+    }
+
+    @Test
+    void structureOfAnotherTableIsRejected() {
+        ParsedArgs foreign = OptionTable.ofNames(List.of("var")).newParsedArgs();
+        assertThrows(LaboratoryFrameworkException.class, () -> table.parse(new String[0], foreign));
+    }
+
+    @Test
+    void invalidDefaultIsRejectedWhenTableIsCompiled() {
+        assertThrows(LaboratoryFrameworkException.class,
+                () -> new OptionTable(new OptionSpec("precision", OptionType.INTEGER, "three")));
+    }
+
+    @Test
+    void optionDeclaredTwiceIsRejected() {
+        assertThrows(LaboratoryFrameworkException.class,
+                () -> new OptionTable(new OptionSpec("var"), new OptionSpec("var", OptionType.INTEGER)));
+    }
+}
@@ -0,0 +1,377 @@
+package framework.snapshot;
+
+import framework.exception.LaboratoryFrameworkException;
+import framework.matrix.CsrMatrix;
+import framework.state.AbstractApplicationState;
+import framework.variable.holder.VariableHolder;
+import org.apache.commons.math3.analysis.polynomials.PolynomialFunction;
+import org.apache.commons.math3.complex.Complex;
+import org.apache.commons.math3.geometry.euclidean.oned.Interval;
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
+import org.apache.commons.math3.linear.ArrayRealVector;
+import org.apache.commons.math3.linear.RealMatrix;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class StateSnapshotTest {
+
+    /**
+     * Offset of the length of value in snapshot of single STRING variable named s: magic, version, section count,
+     * type name, entry count and variable name precede it
+     */
+    private static final int STRING_VALUE_LENGTH_OFFSET = Long.BYTES + 3 * Integer.BYTES + "STRING".length()
+            + 2 * Integer.BYTES + "s".length();
+
+    @TempDir
+    Path directory;
+
+    private Path snapshot;
+
+    @BeforeEach
+    void setUp() {
+        snapshot = directory.resolve("state.bin");
+    }
+
+    @Test
+    void roundTripRestoresValueOfEveryType() {
+        VariableHolder holder = newHolder(allTypesProperties());
+        TestState saved = newState(holder);
+        saved.setVariable("bigDecimal", new BigDecimal("-12345678901234567890.125"));
+        saved.setVariable("bigInteger", new BigInteger("-98765432109876543210"));
+        saved.setVariable("byte", (byte) -7);
+        saved.setVariable("short", (short) 300);
+        saved.setVariable("integer", Integer.MIN_VALUE);
+        saved.setVariable("long", Long.MAX_VALUE);
+        saved.setVariable("boolean", true);
+        saved.setVariable("character", '\u0416');
+        saved.setVariable("float", 1.5f);
+        saved.setVariable("double", Double.NaN);
+        saved.setVariable("string", "multi\nline \u00e9");
+        saved.setVariable("vector", new ArrayRealVector(new double[]{1, -0.0, Double.POSITIVE_INFINITY}));
+        saved.setVariable("matrix", new Array2DRowRealMatrix(new double[][]{{1, 2, 3}, {4, 5, 6}}));
+        saved.setVariable("sparse", new CsrMatrix(3, 3, new int[]{0, 1, 1, 3}, new int[]{2, 0, 1},
+                new double[]{7, 8, 9}));
+        saved.setVariable("polynomial", new PolynomialFunction(new double[]{1, 0, -2}));
+        saved.setVariable("complex", new Complex(1.5, -2.5));
+        saved.setVariable("interval", new Interval(-1, 3));
+        saved.setVariable("object", new Point(3, -4));
+
+        assertEquals(18, StateSnapshot.save(snapshot, saved, holder));
+        TestState restored = newState(holder);
+        assertEquals(18, StateSnapshot.restore(snapshot, restored, holder));
+
+        for (String name : holder.getVariables().keySet()) {
+            if (!"derived".equals(name)) {
+                assertValueEquals(saved.getVariable(name), restored.getVariable(name), name);
+            }
+        }
+    }
+
+    @Test
+    void objectIsRestoredAsInstanceOfSavedClass() {
+        VariableHolder holder = newHolder(allTypesProperties());
+        TestState saved = newState(holder);
+        saved.setVariable("object", new Point(1, 2));
+        StateSnapshot.save(snapshot, saved, holder);
+
+        TestState restored = newState(holder);
+        StateSnapshot.restore(snapshot, restored, holder);
+        assertEquals(new Point(1, 2), restored.getVariable("object"));
+    }
+
+    @Test
+    void objectOfClassIncompatibleWithCurrentValueIsSkipped() {
+        VariableHolder holder = newHolder(allTypesProperties());
+        TestState saved = newState(holder);
+        saved.setVariable("object", new Point(1, 2));
+        StateSnapshot.save(snapshot, saved, holder);
+
+        TestState restored = newState(holder);
+        restored.setVariable("object", "current");
+        assertEquals(0, StateSnapshot.restore(snapshot, restored, holder));
+        assertEquals("current", restored.getVariable("object"));
+    }
+
+    @Test
+    void derivedVariableIsNotSavedAndIsComputedAfterRestore() throws IOException {
+        VariableHolder holder = newHolder(allTypesProperties());
+        TestState saved = newState(holder);
+        saved.setVariable("double", 2.5);
+        saved.setVariable("integer", 4);
+        assertEquals(6.5, saved.getVariable("derived"));
+        assertEquals(2, StateSnapshot.save(snapshot, saved, holder));
+        assertEquals(-1, indexOf(Files.readAllBytes(snapshot), "derived"));
+
+        TestState restored = newState(holder);
+        assertEquals(2, StateSnapshot.restore(snapshot, restored, holder));
+        assertEquals(6.5, restored.getVariable("derived"));
+    }
+
+    @Test
+    void variableWithChangedDimensionsIsSkipped() {
+        Properties properties = allTypesProperties();
+        VariableHolder holder = newHolder(properties);
+        TestState saved = newState(holder);
+        saved.setVariable("vector", new ArrayRealVector(new double[]{1, 2, 3}));
+        saved.setVariable("long", 5L);
+        StateSnapshot.save(snapshot, saved, holder);
+
+        properties.setProperty("variable.vector.vector-length", "4");
+        VariableHolder changedHolder = newHolder(properties);
+        TestState restored = newState(changedHolder);
+        assertEquals(1, StateSnapshot.restore(snapshot, restored, changedHolder));
+        assertEquals(5L, restored.getVariable("long"));
+    }
+
+    @Test
+    void variableWithChangedTypeIsSkipped() {
+        Properties properties = allTypesProperties();
+        VariableHolder holder = newHolder(properties);
+        TestState saved = newState(holder);
+        saved.setVariable("string", "text");
+        saved.setVariable("long", 5L);
+        StateSnapshot.save(snapshot, saved, holder);
+
+        properties.setProperty("variable.string.type", "DOUBLE");
+        VariableHolder changedHolder = newHolder(properties);
+        assertEquals(1, StateSnapshot.restore(snapshot, newState(changedHolder), changedHolder));
+    }
+
+    @Test
+    void failedSaveKeepsPreviousSnapshot() throws IOException {
+        VariableHolder holder = newHolder(allTypesProperties());
+        TestState state = newState(holder);
+        state.setVariable("long", 1L);
+        StateSnapshot.save(snapshot, state, holder);
+        byte[] previous = Files.readAllBytes(snapshot);
+
+        state.setVariable("object", new Unserializable());
+        assertThrows(LaboratoryFrameworkException.class, () -> StateSnapshot.save(snapshot, state, holder));
+        assertArrayEquals(previous, Files.readAllBytes(snapshot));
+        try (var files = Files.list(directory)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void fileWhichIsNotSnapshotIsRejected() throws IOException {
+        Files.write(snapshot, "not a snapshot at all".getBytes());
+        VariableHolder holder = newHolder(allTypesProperties());
+        assertThrows(LaboratoryFrameworkException.class,
+                () -> StateSnapshot.restore(snapshot, newState(holder), holder));
+    }
+
+    @Test
+    void truncatedSnapshotIsRejected() throws IOException {
+        VariableHolder holder = newHolder(allTypesProperties());
+        TestState saved = newState(holder);
+        saved.setVariable("matrix", new Array2DRowRealMatrix(new double[][]{{1, 2, 3}, {4, 5, 6}}));
+        StateSnapshot.save(snapshot, saved, holder);
+        byte[] bytes = Files.readAllBytes(snapshot);
+        for (int length : new int[]{0, 4, 12, bytes.length / 2, bytes.length - 1}) {
+            Files.write(snapshot, Arrays.copyOf(bytes, length));
+            assertThrows(LaboratoryFrameworkException.class,
+                    () -> StateSnapshot.restore(snapshot, newState(holder), holder), "length " + length);
+        }
+    }
+
+    @Test
+    void lengthBeyondTheEndOfFileIsRejectedWithoutAllocation() throws IOException {
+        VariableHolder holder = newHolder(singleStringProperties());
+        TestState saved = newState(holder);
+        saved.setVariable("s", "value");
+        StateSnapshot.save(snapshot, saved, holder);
+        for (int length : new int[]{Integer.MAX_VALUE, -1, 6}) {
+            patchInt(snapshot, STRING_VALUE_LENGTH_OFFSET, length);
+            LaboratoryFrameworkException e = assertThrows(LaboratoryFrameworkException.class,
+                    () -> StateSnapshot.restore(snapshot, newState(holder), holder), "length " + length);
+            assertNotNull(e.getMessage());
+        }
+    }
+
+    @Test
+    void corruptedArrayLengthsAreRejectedWithoutAllocation() throws IOException {
+        VariableHolder holder = newHolder(allTypesProperties());
+        TestState saved = newState(holder);
+        saved.setVariable("vector", new ArrayRealVector(new double[]{1, 2, 3}));
+        StateSnapshot.save(snapshot, saved, holder);
+        int lengthOffset = indexOf(Files.readAllBytes(snapshot), "vector") + "vector".length();
+        for (int length : new int[]{Integer.MAX_VALUE, -3, 4}) {
+            patchInt(snapshot, lengthOffset, length);
+            assertThrows(LaboratoryFrameworkException.class,
+                    () -> StateSnapshot.restore(snapshot, newState(holder), holder), "length " + length);
+        }
+
+        saved = newState(holder);
+        saved.setVariable("matrix", new Array2DRowRealMatrix(new double[][]{{1, 2, 3}, {4, 5, 6}}));
+        StateSnapshot.save(snapshot, saved, holder);
+        int dimensionsOffset = indexOf(Files.readAllBytes(snapshot), "matrix") + "matrix".length();
+        for (int[] dimensions : new int[][]{{Integer.MAX_VALUE, 0}, {0, 3}, {65536, 65536}, {3, 3}}) {
+            patchInt(snapshot, dimensionsOffset, dimensions[0]);
+            patchInt(snapshot, dimensionsOffset + Integer.BYTES, dimensions[1]);
+            assertThrows(LaboratoryFrameworkException.class,
+                    () -> StateSnapshot.restore(snapshot, newState(holder), holder), Arrays.toString(dimensions));
+        }
+    }
+
+    @Test
+    void unknownTypeIsRejected() throws IOException {
+        VariableHolder holder = newHolder(singleStringProperties());
+        TestState saved = newState(holder);
+        saved.setVariable("s", "value");
+        StateSnapshot.save(snapshot, saved, holder);
+        byte[] bytes = Files.readAllBytes(snapshot);
+        int typeOffset = indexOf(bytes, "STRING");
+        bytes[typeOffset] = 'X';
+        Files.write(snapshot, bytes);
+        LaboratoryFrameworkException e = assertThrows(LaboratoryFrameworkException.class,
+                () -> StateSnapshot.restore(snapshot, newState(holder), holder));
+        assertEquals("Unknown variable type in snapshot: XTRING", e.getMessage());
+    }
+
+    private static void assertValueEquals(Object expected, Object actual, String name) {
+        assertNotNull(actual, name);
+        if (expected instanceof CsrMatrix) {
+            CsrMatrix expectedMatrix = (CsrMatrix) expected;
+            CsrMatrix actualMatrix = (CsrMatrix) actual;
+            assertArrayEquals(expectedMatrix.getRowPointersRef(), actualMatrix.getRowPointersRef(), name);
+            assertArrayEquals(expectedMatrix.getColumnIndicesRef(), actualMatrix.getColumnIndicesRef(), name);
+            assertArrayEquals(expectedMatrix.getValuesRef(), actualMatrix.getValuesRef(), name);
+        } else if (expected instanceof RealMatrix) {
+            assertArrayEquals(((RealMatrix) expected).getData(), ((RealMatrix) actual).getData(), name);
+        } else if (expected instanceof Interval) {
+            assertEquals(((Interval) expected).getInf(), ((Interval) actual).getInf(), name);
+            assertEquals(((Interval) expected).getSup(), ((Interval) actual).getSup(), name);
+        } else {
+            assertEquals(expected, actual, name);
+        }
+    }
+
+    private static void patchInt(Path path, int offset, int value) throws IOException {
+        byte[] bytes = Files.readAllBytes(path);
+        ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).putInt(offset, value);
+        Files.write(path, bytes);
+    }
+
+    private static int indexOf(byte[] bytes, String ascii) {
+        byte[] pattern = ascii.getBytes();
+        for (int i = 0; i + pattern.length <= bytes.length; i++) {
+            if (Arrays.equals(bytes, i, i + pattern.length, pattern, 0, pattern.length)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static VariableHolder newHolder(Properties properties) {
+        return new VariableHolder(properties);
+    }
+
+    private static TestState newState(VariableHolder holder) {
+        TestState state = new TestState();
+        state.setVariableHolder(holder);
+        return state;
+    }
+
+    private static Properties singleStringProperties() {
+        Properties properties = new Properties();
+        addVariable(properties, "s", "STRING");
+        return properties;
+    }
+
+    private static Properties allTypesProperties() {
+        Properties properties = new Properties();
+        addVariable(properties, "bigDecimal", "BIG_DECIMAL");
+        addVariable(properties, "bigInteger", "BIG_INTEGER");
+        addVariable(properties, "byte", "BYTE");
+        addVariable(properties, "short", "SHORT");
+        addVariable(properties, "integer", "INTEGER");
+        addVariable(properties, "long", "LONG");
+        addVariable(properties, "boolean", "BOOLEAN");
+        addVariable(properties, "character", "CHARACTER");
+        addVariable(properties, "float", "FLOAT");
+        addVariable(properties, "double", "DOUBLE");
+        addVariable(properties, "string", "STRING");
+        addVariable(properties, "vector", "VECTOR");
+        properties.setProperty("variable.vector.vector-length", "3");
+        addVariable(properties, "matrix", "MATRIX");
+        properties.setProperty("variable.matrix.matrix-row-count", "2");
+        properties.setProperty("variable.matrix.matrix-column-count", "3");
+        addVariable(properties, "sparse", "SPARSE_MATRIX");
+        properties.setProperty("variable.sparse.matrix-row-count", "3");
+        properties.setProperty("variable.sparse.matrix-column-count", "3");
+        addVariable(properties, "polynomial", "POLYNOMIAL_FUNCTION");
+        properties.setProperty("variable.polynomial.polynomial-max-degree", "2");
+        addVariable(properties, "complex", "COMPLEX_NUMBER");
+        addVariable(properties, "interval", "INTERVAL");
+        addVariable(properties, "object", "OBJECT");
+        addVariable(properties, "derived", "DOUBLE");
+        return properties;
+    }
+
+    private static void addVariable(Properties properties, String name, String type) {
+        properties.setProperty(String.format("variable.%s.name", name), name);
+        properties.setProperty(String.format("variable.%s.type", name), type);
+        properties.setProperty(String.format("variable.%s.description", name), name);
+    }
+
+    /**
+     * Values of variables are kept in slots, derived variable is the sum of double and integer
+     */
+    static final class TestState extends AbstractApplicationState {
+
+        @Override
+        protected void initDerivedVariables() {
+            defineDerivedVariable("derived", List.of("double", "integer"),
+                    () -> (Double) getVariable("double") + (Integer) getVariable("integer"));
+        }
+    }
+
+    public static final class Point {
+
+        public double x;
+
+        public double y;
+
+        public Point() {
+        }
+
+        Point(double x, double y) {
+            this.x = x;
+            this.y = y;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Point && ((Point) o).x == x && ((Point) o).y == y;
+        }
+
+        @Override
+        public int hashCode() {
+            return Double.hashCode(x) * 31 + Double.hashCode(y);
+        }
+    }
+
+    /**
+     * Jackson fails on beans without properties
+     */
+    public static final class Unserializable {
+    }
+}
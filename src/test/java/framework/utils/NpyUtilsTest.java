@@ -0,0 +1,241 @@
+package framework.utils;
+
+import framework.exception.LaboratoryFrameworkException;
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
+import org.apache.commons.math3.linear.ArrayRealVector;
+import org.apache.commons.math3.linear.BlockRealMatrix;
+import org.apache.commons.math3.linear.OpenMapRealVector;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class NpyUtilsTest {
+
+    private static final double[][] MATRIX = {{1, 2, 3}, {4, 5, 6}};
+
+    /**
+     * Header written by numpy.save for float64 array of shape (2, 3): version 1.0, header length 118,
+     * dictionary padded with spaces so that data starts at 128
+     */
+    private static final String NUMPY_MATRIX_HEADER = "\u0093NUMPY\u0001\u0000v\u0000"
+            + "{'descr': '<f8', 'fortran_order': False, 'shape': (2, 3), }" + " ".repeat(58) + "\n";
+
+    /**
+     * Header written by numpy.save for float64 array of shape (3,)
+     */
+    private static final String NUMPY_VECTOR_HEADER = "\u0093NUMPY\u0001\u0000v\u0000"
+            + "{'descr': '<f8', 'fortran_order': False, 'shape': (3,), }" + " ".repeat(60) + "\n";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void writtenMatrixIsIdenticalToNumpyFile() throws IOException {
+        Path path = directory.resolve("m.npy");
+        NpyUtils.writeMatrix(path, new Array2DRowRealMatrix(MATRIX));
+        assertArrayEquals(concat(NUMPY_MATRIX_HEADER.getBytes(StandardCharsets.ISO_8859_1),
+                doubles(ByteOrder.LITTLE_ENDIAN, 1, 2, 3, 4, 5, 6)), Files.readAllBytes(path));
+    }
+
+    @Test
+    void writtenVectorIsIdenticalToNumpyFile() throws IOException {
+        Path path = directory.resolve("v.npy");
+        NpyUtils.writeVector(path, new ArrayRealVector(new double[]{-1.5, 0, 1e300}));
+        assertArrayEquals(concat(NUMPY_VECTOR_HEADER.getBytes(StandardCharsets.ISO_8859_1),
+                doubles(ByteOrder.LITTLE_ENDIAN, -1.5, 0, 1e300)), Files.readAllBytes(path));
+    }
+
+    @Test
+    void numpyMatrixFileIsRead() throws IOException {
+        Path path = write(concat(NUMPY_MATRIX_HEADER.getBytes(StandardCharsets.ISO_8859_1),
+                doubles(ByteOrder.LITTLE_ENDIAN, 1, 2, 3, 4, 5, 6)));
+        assertArrayEquals(MATRIX, NpyUtils.readMatrix(path).getDataRef());
+        assertArrayEquals(MATRIX, NpyUtils.readMatrix(path, 2, 3).getDataRef());
+    }
+
+    @Test
+    void headersOfEveryVersionAreRead() throws IOException {
+        for (int version = 1; version <= 3; version++) {
+            Path path = write(npy(version, "{'descr': '<f8', 'fortran_order': False, 'shape': (2, 3), }",
+                    doubles(ByteOrder.LITTLE_ENDIAN, 1, 2, 3, 4, 5, 6)));
+            assertArrayEquals(MATRIX, NpyUtils.readMatrix(path).getDataRef(), "version " + version);
+        }
+    }
+
+    @Test
+    void unsupportedVersionIsRejected() throws IOException {
+        Path path = write(npy(4, "{'descr': '<f8', 'fortran_order': False, 'shape': (1,), }",
+                doubles(ByteOrder.LITTLE_ENDIAN, 1)));
+        assertThrows(LaboratoryFrameworkException.class, () -> NpyUtils.readVector(path));
+    }
+
+    @Test
+    void fortranOrderedMatrixIsTransposedWhileRead() throws IOException {
+        Path path = write(npy(1, "{'descr': '<f8', 'fortran_order': True, 'shape': (2, 3), }",
+                doubles(ByteOrder.LITTLE_ENDIAN, 1, 4, 2, 5, 3, 6)));
+        assertArrayEquals(MATRIX, NpyUtils.readMatrix(path).getDataRef());
+    }
+
+    @Test
+    void bigEndianArraysAreRead() throws IOException {
+        Path matrixPath = write(npy(1, "{'descr': '>f8', 'fortran_order': False, 'shape': (2, 3), }",
+                doubles(ByteOrder.BIG_ENDIAN, 1, 2, 3, 4, 5, 6)));
+        assertArrayEquals(MATRIX, NpyUtils.readMatrix(matrixPath).getDataRef());
+        Path vectorPath = write(npy(1, "{'descr': '>f8', 'fortran_order': True, 'shape': (2,), }",
+                doubles(ByteOrder.BIG_ENDIAN, Math.PI, -0.0)));
+        assertArrayEquals(new double[]{Math.PI, -0.0}, NpyUtils.readVector(vectorPath).getDataRef());
+    }
+
+    @Test
+    void headerWithKeysInAnotherOrderAndLongDimensionsIsRead() throws IOException {
+        Path path = write(npy(1, "{'shape': (2L, 3L), 'fortran_order': False, 'descr': '<f8'}",
+                doubles(ByteOrder.LITTLE_ENDIAN, 1, 2, 3, 4, 5, 6)));
+        assertArrayEquals(MATRIX, NpyUtils.readMatrix(path).getDataRef());
+    }
+
+    @Test
+    void arraysOfOtherTypesAreRejected() throws IOException {
+        Path path = write(npy(1, "{'descr': '<f4', 'fortran_order': False, 'shape': (2,), }", new byte[8]));
+        assertThrows(LaboratoryFrameworkException.class, () -> NpyUtils.readVector(path));
+    }
+
+    @Test
+    void nonPositiveAndInvalidDimensionsAreRejected() throws IOException {
+        for (String shape : new String[]{"(-2, 3)", "(2, 0)", "(0,)", "(2, x)", "(-1, -1)"}) {
+            Path path = write(npy(1, "{'descr': '<f8', 'fortran_order': False, 'shape': " + shape + ", }",
+                    doubles(ByteOrder.LITTLE_ENDIAN, 1, 2, 3, 4, 5, 6)));
+            assertThrows(LaboratoryFrameworkException.class, () -> NpyUtils.readMatrix(path), shape);
+            assertThrows(LaboratoryFrameworkException.class, () -> NpyUtils.readVector(path), shape);
+        }
+    }
+
+    @Test
+    void shapeLargerThanFileIsRejectedBeforeAllocation() throws IOException {
+        for (String shape : new String[]{"(2147483647, 2147483647)", "(3, 3)", "(7,)", "(2147483648,)"}) {
+            Path path = write(npy(1, "{'descr': '<f8', 'fortran_order': False, 'shape': " + shape + ", }",
+                    doubles(ByteOrder.LITTLE_ENDIAN, 1, 2, 3, 4, 5, 6)));
+            assertThrows(LaboratoryFrameworkException.class, () -> NpyUtils.readMatrix(path), shape);
+            assertThrows(LaboratoryFrameworkException.class, () -> NpyUtils.readVector(path), shape);
+        }
+    }
+
+    @Test
+    void unexpectedShapeIsRejected() throws IOException {
+        Path path = write(concat(NUMPY_MATRIX_HEADER.getBytes(StandardCharsets.ISO_8859_1),
+                doubles(ByteOrder.LITTLE_ENDIAN, 1, 2, 3, 4, 5, 6)));
+        LaboratoryFrameworkException e = assertThrows(LaboratoryFrameworkException.class,
+                () -> NpyUtils.readMatrix(path, 3, 2));
+        assertEquals("Matrix row count must be 3", e.getMessage());
+        assertThrows(LaboratoryFrameworkException.class, () -> NpyUtils.readMatrix(path, 2, 2));
+        assertThrows(LaboratoryFrameworkException.class, () -> NpyUtils.readVector(path));
+
+        Path vectorPath = directory.resolve("v.npy");
+        NpyUtils.writeVector(vectorPath, new ArrayRealVector(new double[]{1, 2, 3}));
+        assertThrows(LaboratoryFrameworkException.class, () -> NpyUtils.readVector(vectorPath, 4));
+        assertThrows(LaboratoryFrameworkException.class, () -> NpyUtils.readMatrix(vectorPath));
+    }
+
+    @Test
+    void filesWhichAreNotNpyAreRejected() throws IOException {
+        Path empty = write(new byte[0]);
+        assertThrows(LaboratoryFrameworkException.class, () -> NpyUtils.readMatrix(empty));
+        Path text = write("just some text, not an array".getBytes(StandardCharsets.US_ASCII));
+        assertThrows(LaboratoryFrameworkException.class, () -> NpyUtils.readMatrix(text));
+        Path noShape = write(npy(1, "{'descr': '<f8', 'fortran_order': False, }", new byte[0]));
+        assertThrows(LaboratoryFrameworkException.class, () -> NpyUtils.readVector(noShape));
+    }
+
+    @Test
+    void truncatedDataIsRejected() throws IOException {
+        byte[] bytes = concat(NUMPY_MATRIX_HEADER.getBytes(StandardCharsets.ISO_8859_1),
+                doubles(ByteOrder.LITTLE_ENDIAN, 1, 2, 3, 4, 5, 6));
+        Path path = write(Arrays.copyOf(bytes, bytes.length - 1));
+        assertThrows(LaboratoryFrameworkException.class, () -> NpyUtils.readMatrix(path));
+    }
+
+    @Test
+    void arraysSpanningSeveralChunksAreWrittenAndRead() throws IOException {
+        double[][] data = new double[7][5];
+        for (int i = 0; i < data.length; i++) {
+            for (int j = 0; j < data[i].length; j++) {
+                data[i][j] = i * 10 + j + 0.25;
+            }
+        }
+        Path matrixPath = directory.resolve("chunked-m.npy");
+        Path vectorPath = directory.resolve("chunked-v.npy");
+        for (int chunkSize : new int[]{Double.BYTES, 3 * Double.BYTES, 64, 1 << 20}) {
+            NpyUtils.writeMatrix(matrixPath, new BlockRealMatrix(data), chunkSize);
+            assertArrayEquals(data, NpyUtils.readMatrix(matrixPath, null, chunkSize).getDataRef(), "chunk " + chunkSize);
+            assertArrayEquals(data, NpyUtils.readMatrix(matrixPath).getDataRef(), "chunk " + chunkSize);
+
+            NpyUtils.writeVector(vectorPath, new OpenMapRealVector(data[3]), chunkSize);
+            assertArrayEquals(data[3], NpyUtils.readVector(vectorPath, 5, chunkSize).getDataRef(), "chunk " + chunkSize);
+        }
+    }
+
+    @Test
+    void fortranOrderedMatrixSpanningSeveralChunksIsRead() throws IOException {
+        Path path = write(npy(1, "{'descr': '>f8', 'fortran_order': True, 'shape': (2, 3), }",
+                doubles(ByteOrder.BIG_ENDIAN, 1, 4, 2, 5, 3, 6)));
+        assertArrayEquals(MATRIX, NpyUtils.readMatrix(path, new int[]{2, 3}, 3 * Double.BYTES).getDataRef());
+    }
+
+    @Test
+    void existingFileIsReplaced() throws IOException {
+        Path path = write(new byte[4096]);
+        NpyUtils.writeVector(path, new ArrayRealVector(new double[]{-1.5, 0, 1e300}));
+        assertEquals(128 + 3 * Double.BYTES, Files.size(path));
+        assertArrayEquals(new double[]{-1.5, 0, 1e300}, NpyUtils.readVector(path, 3).getDataRef());
+    }
+
+    private Path write(byte[] bytes) throws IOException {
+        return Files.write(Files.createTempFile(directory, "array", ".npy"), bytes);
+    }
+
+    /**
+     * Builds file as described by .npy format: magic, version, little-endian header length,
+     * dictionary padded with spaces and ended by new line so that data starts at 64-byte boundary, then data
+     */
+    private static byte[] npy(int majorVersion, String dictionary, byte[] data) {
+        int lengthSize = majorVersion == 1 ? Short.BYTES : Integer.BYTES;
+        int prefixLength = 8 + lengthSize;
+        int padding = (64 - (prefixLength + dictionary.length() + 1) % 64) % 64;
+        byte[] header = (dictionary + " ".repeat(padding) + "\n").getBytes(StandardCharsets.UTF_8);
+        ByteBuffer prefix = ByteBuffer.allocate(prefixLength).order(ByteOrder.LITTLE_ENDIAN);
+        prefix.put(new byte[]{(byte) 0x93, 'N', 'U', 'M', 'P', 'Y', (byte) majorVersion, 0});
+        if (majorVersion == 1) {
+            prefix.putShort((short) header.length);
+        } else {
+            prefix.putInt(header.length);
+        }
+        return concat(prefix.array(), header, data);
+    }
+
+    private static byte[] doubles(ByteOrder order, double... values) {
+        ByteBuffer out = ByteBuffer.allocate(values.length * Double.BYTES).order(order);
+        for (double value : values) {
+            out.putDouble(value);
+        }
+        return out.array();
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (byte[] part : parts) {
+            out.writeBytes(part);
+        }
+        return out.toByteArray();
+    }
+}